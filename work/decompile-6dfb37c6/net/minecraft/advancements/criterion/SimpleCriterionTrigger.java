@@ -10,6 +10,7 @@ import java.util.Set;
 import java.util.function.Predicate;
 import net.minecraft.advancements.CriterionTrigger;
 import net.minecraft.advancements.CriterionTriggerInstance;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.PlayerAdvancements;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.storage.loot.LootContext;
@@ -70,14 +71,29 @@ public abstract class SimpleCriterionTrigger<T extends SimpleCriterionTrigger.Si
             }
 
             if (list != null) {
-                for (CriterionTrigger.Listener<T> criteriontrigger_listener1 : list) {
-                    criteriontrigger_listener1.run(playeradvancements);
+                MinecraftServer minecraftserver = player.level().getServer();
+
+                if (minecraftserver.isTickingLevelsInParallel()) {
+                    List<CriterionTrigger.Listener<T>> list1 = list;
+
+                    minecraftserver.executeAtTickBarrier(() -> {
+                        this.runListeners(playeradvancements, list1);
+                    });
+                } else {
+                    this.runListeners(playeradvancements, list);
                 }
             }
 
         }
     }
 
+    private void runListeners(PlayerAdvancements player, List<CriterionTrigger.Listener<T>> listeners) {
+        for (CriterionTrigger.Listener<T> criteriontrigger_listener : listeners) {
+            criteriontrigger_listener.run(player);
+        }
+
+    }
+
     public interface SimpleInstance extends CriterionTriggerInstance {
 
         @Override
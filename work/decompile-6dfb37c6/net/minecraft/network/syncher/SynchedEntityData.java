@@ -21,6 +21,7 @@ public class SynchedEntityData {
     private final SyncedDataHolder entity;
     private final SynchedEntityData.DataItem<?>[] itemsById;
     private boolean isDirty;
+    private int dirtyItemCount;
 
     private SynchedEntityData(SyncedDataHolder entity, SynchedEntityData.DataItem<?>[] itemsById) {
         this.entity = entity;
@@ -67,7 +68,11 @@ public class SynchedEntityData {
         if (forceDirty || ObjectUtils.notEqual(value, synchedentitydata_dataitem.getValue())) {
             synchedentitydata_dataitem.setValue(value);
             this.entity.onSyncedDataUpdated(accessor);
-            synchedentitydata_dataitem.setDirty(true);
+            if (!synchedentitydata_dataitem.isDirty()) {
+                synchedentitydata_dataitem.setDirty(true);
+                ++this.dirtyItemCount;
+            }
+
             this.isDirty = true;
         }
 
@@ -82,15 +87,18 @@ public class SynchedEntityData {
             return null;
         } else {
             this.isDirty = false;
-            List<SynchedEntityData.DataValue<?>> list = new ArrayList();
+            List<SynchedEntityData.DataValue<?>> list = new ArrayList(this.dirtyItemCount);
+
+            for (int i = 0; i < this.itemsById.length && list.size() < this.dirtyItemCount; ++i) {
+                SynchedEntityData.DataItem<?> synchedentitydata_dataitem = this.itemsById[i];
 
-            for (SynchedEntityData.DataItem<?> synchedentitydata_dataitem : this.itemsById) {
                 if (synchedentitydata_dataitem.isDirty()) {
                     synchedentitydata_dataitem.setDirty(false);
                     list.add(synchedentitydata_dataitem.value());
                 }
             }
 
+            this.dirtyItemCount = 0;
             return list;
         }
     }
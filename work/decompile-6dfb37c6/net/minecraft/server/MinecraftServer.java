@@ -4,6 +4,7 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
 import com.mojang.datafixers.DataFixer;
@@ -33,9 +34,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
@@ -81,6 +84,7 @@ import net.minecraft.server.bossevents.CustomBossEvents;
 import net.minecraft.server.level.ChunkLoadCounter;
 import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.DemoMode;
+import net.minecraft.server.level.EntityIslandTicker;
 import net.minecraft.server.level.PlayerSpawnFinder;
 import net.minecraft.server.level.ServerChunkCache;
 import net.minecraft.server.level.ServerLevel;
@@ -282,6 +286,8 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
     private final SuppressedExceptionCollector suppressedExceptions;
     private final DiscontinuousFrame tickFrame;
     private final PacketProcessor packetProcessor;
+    private final Queue<Runnable> levelTickBarrierTasks;
+    private volatile boolean tickingLevelsInParallel;
 
     public static <S extends MinecraftServer> S spin(Function<Thread, S> factory) {
         AtomicReference<S> atomicreference = new AtomicReference();
@@ -327,6 +333,7 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
         this.debugSubscribers = new ServerDebugSubscribers(this);
         this.effectiveRespawnData = LevelData.RespawnData.DEFAULT;
         this.suppressedExceptions = new SuppressedExceptionCollector();
+        this.levelTickBarrierTasks = Queues.newConcurrentLinkedQueue();
         this.registries = worldStem.registries();
         this.worldData = worldStem.worldData();
         if (!this.registries.compositeAccess().lookupOrThrow(Registries.LEVEL_STEM).containsKey(LevelStem.OVERWORLD)) {
@@ -1197,32 +1204,26 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
         this.getFunctions().tick();
         profilerfiller.popPush("levels");
         this.updateEffectiveRespawnData();
+        if (this.isParallelLevelTicking() && this.levels.size() > 1) {
+            this.tickLevelsInParallel(haveTime);
+        } else {
+            for (ServerLevel serverlevel : this.getAllLevels()) {
+                profilerfiller.push(() -> {
+                    String s = String.valueOf(serverlevel);
 
-        for (ServerLevel serverlevel : this.getAllLevels()) {
-            profilerfiller.push(() -> {
-                String s = String.valueOf(serverlevel);
+                    return s + " " + String.valueOf(serverlevel.dimension().identifier());
+                });
+                if (this.tickCount % 20 == 0) {
+                    profilerfiller.push("timeSync");
+                    this.synchronizeTime(serverlevel);
+                    profilerfiller.pop();
+                }
 
-                return s + " " + String.valueOf(serverlevel.dimension().identifier());
-            });
-            if (this.tickCount % 20 == 0) {
-                profilerfiller.push("timeSync");
-                this.synchronizeTime(serverlevel);
+                profilerfiller.push("tick");
+                this.tickLevel(serverlevel, haveTime);
+                profilerfiller.pop();
                 profilerfiller.pop();
             }
-
-            profilerfiller.push("tick");
-
-            try {
-                serverlevel.tick(haveTime);
-            } catch (Throwable throwable) {
-                CrashReport crashreport = CrashReport.forThrowable(throwable, "Exception ticking world");
-
-                serverlevel.fillReportDetails(crashreport);
-                throw new ReportedException(crashreport);
-            }
-
-            profilerfiller.pop();
-            profilerfiller.pop();
         }
 
         profilerfiller.popPush("connection");
@@ -1249,6 +1250,10 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
             serverplayer.connection.resumeFlushing();
         }
 
+        for (ServerLevel serverlevel1 : this.getAllLevels()) {
+            serverlevel1.getChunkSource().chunkMap.clearChunkPackets();
+        }
+
         profilerfiller.pop();
         this.serverActivityMonitor.tick();
     }
@@ -1264,6 +1269,132 @@ public abstract class MinecraftServer extends ReentrantBlockableEventLoop<TickTa
         this.getConnection().tick();
     }
 
+    private void tickLevel(ServerLevel level, BooleanSupplier haveTime) {
+        try {
+            level.tick(haveTime);
+        } catch (Throwable throwable) {
+            CrashReport crashreport = CrashReport.forThrowable(throwable, "Exception ticking world");
+
+            level.fillReportDetails(crashreport);
+            throw new ReportedException(crashreport);
+        }
+    }
+
+    private void tickLevelsInParallel(BooleanSupplier haveTime) {
+        ProfilerFiller profilerfiller = Profiler.get();
+
+        if (this.tickCount % 20 == 0) {
+            profilerfiller.push("timeSync");
+
+            for (ServerLevel serverlevel : this.getAllLevels()) {
+                this.synchronizeTime(serverlevel);
+            }
+
+            profilerfiller.pop();
+        }
+
+        profilerfiller.push("parallelTick");
+        List<CompletableFuture<Void>> list = Lists.newArrayListWithCapacity(this.levels.size());
+
+        this.tickingLevelsInParallel = true;
+
+        try {
+            for (ServerLevel serverlevel : this.getAllLevels()) {
+                list.add(CompletableFuture.runAsync(() -> {
+                    ServerChunkCache serverchunkcache = serverlevel.getChunkSource();
+                    Thread thread = serverchunkcache.getOwnerThread();
+
+                    serverchunkcache.setOwnerThread(Thread.currentThread());
+
+                    try {
+                        this.tickLevel(serverlevel, haveTime);
+                    } finally {
+                        serverchunkcache.setOwnerThread(thread);
+                    }
+
+                }, Util.tickExecutor()));
+            }
+
+            CompletableFuture.allOf((CompletableFuture[]) list.toArray((i) -> {
+                return new CompletableFuture[i];
+            })).join();
+        } catch (CompletionException completionexception) {
+            Throwable throwable = completionexception.getCause();
+
+            if (throwable instanceof ReportedException reportedexception) {
+                throw reportedexception;
+            }
+
+            throw completionexception;
+        } finally {
+            this.tickingLevelsInParallel = false;
+        }
+
+        profilerfiller.popPush("tickBarrier");
+        this.runLevelTickBarrierTasks();
+        profilerfiller.pop();
+    }
+
+    private void runLevelTickBarrierTasks() {
+        Runnable runnable;
+
+        while ((runnable = (Runnable) this.levelTickBarrierTasks.poll()) != null) {
+            runnable.run();
+        }
+
+    }
+
+    public boolean isRegionFileMemoryMappedReads() {
+        return false;
+    }
+
+    public boolean isParallelLevelTicking() {
+        return false;
+    }
+
+    public boolean isParallelRandomTickSampling() {
+        return false;
+    }
+
+    public boolean isParallelEntityTicking() {
+        return false;
+    }
+
+    public boolean isAsyncPathfinding() {
+        return false;
+    }
+
+    public boolean isParallelLightEngine() {
+        return false;
+    }
+
+    public boolean isRedstoneGraphEvaluator() {
+        return false;
+    }
+
+    public boolean isSharedSensorQueries() {
+        return false;
+    }
+
+    public boolean isTickingLevelsInParallel() {
+        return this.tickingLevelsInParallel || EntityIslandTicker.currentIsland() != null;
+    }
+
+    public void executeAtTickBarrier(Runnable task) {
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            entityislandticker_island.defer(() -> {
+                this.executeAtTickBarrier(task);
+            });
+        } else if (this.tickingLevelsInParallel && !this.isSameThread()) {
+            this.levelTickBarrierTasks.add(task);
+        } else {
+            task.run();
+        }
+
+    }
+
     private void synchronizeTime(ServerLevel level) {
         this.playerList.broadcastAll(new ClientboundSetTimePacket(level.getGameTime(), level.getDayTime(), (Boolean) level.getGameRules().get(GameRules.ADVANCE_TIME)), level.dimension());
     }
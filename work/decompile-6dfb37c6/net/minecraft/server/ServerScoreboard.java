@@ -2,10 +2,15 @@ package net.minecraft.server;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.numbers.NumberFormat;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundResetScorePacket;
 import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
@@ -14,14 +19,18 @@ import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
 import net.minecraft.network.protocol.game.ClientboundSetScorePacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.scores.DisplaySlot;
 import net.minecraft.world.scores.Objective;
 import net.minecraft.world.scores.PlayerScoreEntry;
 import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.ReadOnlyScoreInfo;
 import net.minecraft.world.scores.Score;
+import net.minecraft.world.scores.ScoreAccess;
 import net.minecraft.world.scores.ScoreHolder;
 import net.minecraft.world.scores.Scoreboard;
 import net.minecraft.world.scores.ScoreboardSaveData;
+import net.minecraft.world.scores.criteria.ObjectiveCriteria;
 import org.jspecify.annotations.Nullable;
 
 public class ServerScoreboard extends Scoreboard {
@@ -55,6 +64,109 @@ public class ServerScoreboard extends Scoreboard {
         return new ScoreboardSaveData.Packed(this.packObjectives(), this.packPlayerScores(), this.packDisplaySlots(), this.packPlayerTeams());
     }
 
+    @Override
+    public void forAllObjectives(ObjectiveCriteria criteria, ScoreHolder name, Consumer<ScoreAccess> operation) {
+        if (this.server.isTickingLevelsInParallel()) {
+            this.server.executeAtTickBarrier(() -> {
+                super.forAllObjectives(criteria, name, operation);
+            });
+        } else {
+            super.forAllObjectives(criteria, name, operation);
+        }
+
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        if (this.server.isTickingLevelsInParallel()) {
+            this.server.executeAtTickBarrier(() -> {
+                super.entityRemoved(entity);
+            });
+        } else {
+            super.entityRemoved(entity);
+        }
+
+    }
+
+    @Override
+    public ScoreAccess getOrCreatePlayerScore(ScoreHolder scoreHolder, Objective objective, boolean forceWritable) {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                return new ServerScoreboard.LockedScoreAccess(this, super.getOrCreatePlayerScore(scoreHolder, objective, forceWritable));
+            }
+        } else {
+            return super.getOrCreatePlayerScore(scoreHolder, objective, forceWritable);
+        }
+    }
+
+    @Override
+    public @Nullable ReadOnlyScoreInfo getPlayerScoreInfo(ScoreHolder name, Objective objective) {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                return super.getPlayerScoreInfo(name, objective);
+            }
+        } else {
+            return super.getPlayerScoreInfo(name, objective);
+        }
+    }
+
+    @Override
+    public Collection<PlayerScoreEntry> listPlayerScores(Objective objective) {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                return super.listPlayerScores(objective);
+            }
+        } else {
+            return super.listPlayerScores(objective);
+        }
+    }
+
+    @Override
+    public Object2IntMap<Objective> listPlayerScores(ScoreHolder player) {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                return super.listPlayerScores(player);
+            }
+        } else {
+            return super.listPlayerScores(player);
+        }
+    }
+
+    @Override
+    public Collection<ScoreHolder> getTrackedPlayers() {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                return super.getTrackedPlayers();
+            }
+        } else {
+            return super.getTrackedPlayers();
+        }
+    }
+
+    @Override
+    public void resetAllPlayerScores(ScoreHolder player) {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                super.resetAllPlayerScores(player);
+            }
+        } else {
+            super.resetAllPlayerScores(player);
+        }
+
+    }
+
+    @Override
+    public void resetSinglePlayerScore(ScoreHolder player, Objective objective) {
+        if (this.server.isTickingLevelsInParallel()) {
+            synchronized (this) {
+                super.resetSinglePlayerScore(player, objective);
+            }
+        } else {
+            super.resetSinglePlayerScore(player, objective);
+        }
+
+    }
+
     @Override
     protected void onScoreChanged(ScoreHolder owner, Objective objective, Score score) {
         super.onScoreChanged(owner, objective, score);
@@ -280,4 +392,77 @@ public class ServerScoreboard extends Scoreboard {
         }
 
     }
+
+    private static record LockedScoreAccess(Scoreboard scoreboard, ScoreAccess scoreAccess) implements ScoreAccess {
+
+        @Override
+        public int get() {
+            synchronized (this.scoreboard) {
+                return this.scoreAccess.get();
+            }
+        }
+
+        @Override
+        public void set(int value) {
+            synchronized (this.scoreboard) {
+                this.scoreAccess.set(value);
+            }
+        }
+
+        @Override
+        public int add(int count) {
+            synchronized (this.scoreboard) {
+                return this.scoreAccess.add(count);
+            }
+        }
+
+        @Override
+        public void reset() {
+            synchronized (this.scoreboard) {
+                this.scoreAccess.reset();
+            }
+        }
+
+        @Override
+        public boolean locked() {
+            synchronized (this.scoreboard) {
+                return this.scoreAccess.locked();
+            }
+        }
+
+        @Override
+        public void unlock() {
+            synchronized (this.scoreboard) {
+                this.scoreAccess.unlock();
+            }
+        }
+
+        @Override
+        public void lock() {
+            synchronized (this.scoreboard) {
+                this.scoreAccess.lock();
+            }
+        }
+
+        @Override
+        public @Nullable Component display() {
+            synchronized (this.scoreboard) {
+                return this.scoreAccess.display();
+            }
+        }
+
+        @Override
+        public void display(@Nullable Component display) {
+            synchronized (this.scoreboard) {
+                this.scoreAccess.display(display);
+            }
+        }
+
+        @Override
+        public void numberFormatOverride(@Nullable NumberFormat numberFormat) {
+            synchronized (this.scoreboard) {
+                this.scoreAccess.numberFormatOverride(numberFormat);
+            }
+        }
+    }
 }
@@ -24,6 +24,7 @@ import net.minecraft.core.component.DataComponentMap;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
 import net.minecraft.util.ProblemReporter;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -179,19 +180,8 @@ public class CloneCommands {
                         }
 
                         int k1 = 2 | (strict ? 816 : 0);
-
-                        if (mode == CloneCommands.Mode.MOVE) {
-                            for (BlockPos blockpos7 : deque) {
-                                serverlevel.setBlock(blockpos7, Blocks.BARRIER.defaultBlockState(), k1 | 816);
-                            }
-
-                            int l1 = strict ? k1 : 3;
-
-                            for (BlockPos blockpos8 : deque) {
-                                serverlevel.setBlock(blockpos8, Blocks.AIR.defaultBlockState(), l1);
-                            }
-                        }
-
+                        ThreadedLevelLightEngine threadedlevellightengine = serverlevel.getChunkSource().getLightEngine();
+                        ThreadedLevelLightEngine threadedlevellightengine1 = serverlevel1.getChunkSource().getLightEngine();
                         List<CloneCommands.CloneBlockInfo> list3 = Lists.newArrayList();
 
                         list3.addAll(list);
@@ -199,26 +189,46 @@ public class CloneCommands {
                         list3.addAll(list2);
                         List<CloneCommands.CloneBlockInfo> list4 = Lists.reverse(list3);
 
-                        for (CloneCommands.CloneBlockInfo clonecommands_cloneblockinfo : list4) {
-                            serverlevel1.setBlock(clonecommands_cloneblockinfo.pos, Blocks.BARRIER.defaultBlockState(), k1 | 816);
-                        }
+                        threadedlevellightengine.startBulkUpdate();
+                        threadedlevellightengine1.startBulkUpdate();
+
+                        try {
+                            if (mode == CloneCommands.Mode.MOVE) {
+                                for (BlockPos blockpos7 : deque) {
+                                    serverlevel.setBlock(blockpos7, Blocks.BARRIER.defaultBlockState(), k1 | 816);
+                                }
+
+                                int l1 = strict ? k1 : 3;
 
-                        for (CloneCommands.CloneBlockInfo clonecommands_cloneblockinfo1 : list3) {
-                            if (serverlevel1.setBlock(clonecommands_cloneblockinfo1.pos, clonecommands_cloneblockinfo1.state, k1)) {
-                                ++k;
+                                for (BlockPos blockpos8 : deque) {
+                                    serverlevel.setBlock(blockpos8, Blocks.AIR.defaultBlockState(), l1);
+                                }
                             }
-                        }
 
-                        for (CloneCommands.CloneBlockInfo clonecommands_cloneblockinfo2 : list1) {
-                            BlockEntity blockentity1 = serverlevel1.getBlockEntity(clonecommands_cloneblockinfo2.pos);
+                            for (CloneCommands.CloneBlockInfo clonecommands_cloneblockinfo : list4) {
+                                serverlevel1.setBlock(clonecommands_cloneblockinfo.pos, Blocks.BARRIER.defaultBlockState(), k1 | 816);
+                            }
 
-                            if (clonecommands_cloneblockinfo2.blockEntityInfo != null && blockentity1 != null) {
-                                blockentity1.loadCustomOnly(TagValueInput.create(problemreporter_scopedcollector.forChild(blockentity1.problemPath()), serverlevel1.registryAccess(), clonecommands_cloneblockinfo2.blockEntityInfo.tag));
-                                blockentity1.setComponents(clonecommands_cloneblockinfo2.blockEntityInfo.components);
-                                blockentity1.setChanged();
+                            for (CloneCommands.CloneBlockInfo clonecommands_cloneblockinfo1 : list3) {
+                                if (serverlevel1.setBlock(clonecommands_cloneblockinfo1.pos, clonecommands_cloneblockinfo1.state, k1)) {
+                                    ++k;
+                                }
                             }
 
-                            serverlevel1.setBlock(clonecommands_cloneblockinfo2.pos, clonecommands_cloneblockinfo2.state, k1);
+                            for (CloneCommands.CloneBlockInfo clonecommands_cloneblockinfo2 : list1) {
+                                BlockEntity blockentity1 = serverlevel1.getBlockEntity(clonecommands_cloneblockinfo2.pos);
+
+                                if (clonecommands_cloneblockinfo2.blockEntityInfo != null && blockentity1 != null) {
+                                    blockentity1.loadCustomOnly(TagValueInput.create(problemreporter_scopedcollector.forChild(blockentity1.problemPath()), serverlevel1.registryAccess(), clonecommands_cloneblockinfo2.blockEntityInfo.tag));
+                                    blockentity1.setComponents(clonecommands_cloneblockinfo2.blockEntityInfo.components);
+                                    blockentity1.setChanged();
+                                }
+
+                                serverlevel1.setBlock(clonecommands_cloneblockinfo2.pos, clonecommands_cloneblockinfo2.state, k1);
+                            }
+                        } finally {
+                            threadedlevellightengine1.endBulkUpdate();
+                            threadedlevellightengine.endBulkUpdate();
                         }
 
                         if (!strict) {
@@ -22,6 +22,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.pattern.BlockInWorld;
@@ -97,34 +98,41 @@ public class FillCommand {
                 throw FillCommand.ERROR_FAILED.create();
             } else {
                 int k = 0;
+                ThreadedLevelLightEngine threadedlevellightengine = serverlevel.getChunkSource().getLightEngine();
 
-                for(BlockPos blockpos : BlockPos.betweenClosed(region.minX(), region.minY(), region.minZ(), region.maxX(), region.maxY(), region.maxZ())) {
-                    if (predicate == null || predicate.test(new BlockInWorld(serverlevel, blockpos, true))) {
-                        BlockState blockstate = serverlevel.getBlockState(blockpos);
-                        boolean flag1 = false;
+                threadedlevellightengine.startBulkUpdate();
 
-                        if (mode.affector.affect(serverlevel, blockpos)) {
-                            flag1 = true;
-                        }
-
-                        BlockInput blockinput1 = mode.filter.filter(region, blockpos, target, serverlevel);
+                try {
+                    for(BlockPos blockpos : BlockPos.betweenClosed(region.minX(), region.minY(), region.minZ(), region.maxX(), region.maxY(), region.maxZ())) {
+                        if (predicate == null || predicate.test(new BlockInWorld(serverlevel, blockpos, true))) {
+                            BlockState blockstate = serverlevel.getBlockState(blockpos);
+                            boolean flag1 = false;
 
-                        if (blockinput1 == null) {
-                            if (flag1) {
-                                ++k;
+                            if (mode.affector.affect(serverlevel, blockpos)) {
+                                flag1 = true;
                             }
-                        } else if (!blockinput1.place(serverlevel, blockpos, 2 | (strict ? 816 : 256))) {
-                            if (flag1) {
+
+                            BlockInput blockinput1 = mode.filter.filter(region, blockpos, target, serverlevel);
+
+                            if (blockinput1 == null) {
+                                if (flag1) {
+                                    ++k;
+                                }
+                            } else if (!blockinput1.place(serverlevel, blockpos, 2 | (strict ? 816 : 256))) {
+                                if (flag1) {
+                                    ++k;
+                                }
+                            } else {
+                                if (!strict) {
+                                    list.add(new 1UpdatedPosition(blockpos.immutable(), blockstate));
+                                }
+
                                 ++k;
                             }
-                        } else {
-                            if (!strict) {
-                                list.add(new 1UpdatedPosition(blockpos.immutable(), blockstate));
-                            }
-
-                            ++k;
                         }
                     }
+                } finally {
+                    threadedlevellightengine.endBulkUpdate();
                 }
 
                 for(1UpdatedPosition 1updatedposition : list) {
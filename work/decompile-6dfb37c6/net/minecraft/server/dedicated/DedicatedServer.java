@@ -425,6 +425,14 @@ public class DedicatedServer extends MinecraftServer implements ServerInterface
 
         try (Writer writer = Files.newBufferedWriter(path)) {
             writer.write(String.format(Locale.ROOT, "sync-chunk-writes=%s%n", dedicatedserverproperties.syncChunkWrites));
+            writer.write(String.format(Locale.ROOT, "parallel-level-ticking=%s%n", dedicatedserverproperties.parallelLevelTicking));
+            writer.write(String.format(Locale.ROOT, "parallel-random-tick-sampling=%s%n", dedicatedserverproperties.parallelRandomTickSampling));
+            writer.write(String.format(Locale.ROOT, "parallel-entity-ticking=%s%n", dedicatedserverproperties.parallelEntityTicking));
+            writer.write(String.format(Locale.ROOT, "async-pathfinding=%s%n", dedicatedserverproperties.asyncPathfinding));
+            writer.write(String.format(Locale.ROOT, "parallel-light-engine=%s%n", dedicatedserverproperties.parallelLightEngine));
+            writer.write(String.format(Locale.ROOT, "redstone-graph-evaluator=%s%n", dedicatedserverproperties.redstoneGraphEvaluator));
+            writer.write(String.format(Locale.ROOT, "shared-sensor-queries=%s%n", dedicatedserverproperties.sharedSensorQueries));
+            writer.write(String.format(Locale.ROOT, "region-file-memory-mapped-reads=%s%n", dedicatedserverproperties.regionFileMemoryMappedReads));
             writer.write(String.format(Locale.ROOT, "gamemode=%s%n", dedicatedserverproperties.gameMode.get()));
             writer.write(String.format(Locale.ROOT, "entity-broadcast-range-percentage=%d%n", dedicatedserverproperties.entityBroadcastRangePercentage.get()));
             writer.write(String.format(Locale.ROOT, "max-world-size=%d%n", dedicatedserverproperties.maxWorldSize));
@@ -805,6 +813,46 @@ public class DedicatedServer extends MinecraftServer implements ServerInterface
         return this.settings.getProperties().syncChunkWrites;
     }
 
+    @Override
+    public boolean isRegionFileMemoryMappedReads() {
+        return this.settings.getProperties().regionFileMemoryMappedReads;
+    }
+
+    @Override
+    public boolean isParallelLevelTicking() {
+        return this.settings.getProperties().parallelLevelTicking;
+    }
+
+    @Override
+    public boolean isParallelRandomTickSampling() {
+        return this.settings.getProperties().parallelRandomTickSampling;
+    }
+
+    @Override
+    public boolean isParallelEntityTicking() {
+        return this.settings.getProperties().parallelEntityTicking;
+    }
+
+    @Override
+    public boolean isAsyncPathfinding() {
+        return this.settings.getProperties().asyncPathfinding;
+    }
+
+    @Override
+    public boolean isParallelLightEngine() {
+        return this.settings.getProperties().parallelLightEngine;
+    }
+
+    @Override
+    public boolean isRedstoneGraphEvaluator() {
+        return this.settings.getProperties().redstoneGraphEvaluator;
+    }
+
+    @Override
+    public boolean isSharedSensorQueries() {
+        return this.settings.getProperties().sharedSensorQueries;
+    }
+
     @Override
     public TextFilter createTextFilterForPlayer(ServerPlayer player) {
         return this.serverTextFilter != null ? this.serverTextFilter.createContext(player.getGameProfile()) : TextFilter.DUMMY;
@@ -100,6 +100,14 @@ public class DedicatedServerProperties extends Settings<DedicatedServerPropertie
     public final int maxWorldSize;
     public final boolean syncChunkWrites;
     public final String regionFileComression;
+    public final boolean regionFileMemoryMappedReads;
+    public final boolean parallelLevelTicking;
+    public final boolean parallelRandomTickSampling;
+    public final boolean parallelEntityTicking;
+    public final boolean asyncPathfinding;
+    public final boolean parallelLightEngine;
+    public final boolean redstoneGraphEvaluator;
+    public final boolean sharedSensorQueries;
     public final boolean enableJmxMonitoring;
     public final Settings<DedicatedServerProperties>.MutableValue<Boolean> enableStatus;
     public final Settings<DedicatedServerProperties>.MutableValue<Boolean> hideOnlinePlayers;
@@ -157,6 +165,14 @@ public class DedicatedServerProperties extends Settings<DedicatedServerPropertie
         }, 29999984);
         this.syncChunkWrites = this.get("sync-chunk-writes", true);
         this.regionFileComression = this.get("region-file-compression", "deflate");
+        this.regionFileMemoryMappedReads = this.get("region-file-memory-mapped-reads", false);
+        this.parallelLevelTicking = this.get("parallel-level-ticking", false);
+        this.parallelRandomTickSampling = this.get("parallel-random-tick-sampling", false);
+        this.parallelEntityTicking = this.get("parallel-entity-ticking", false);
+        this.asyncPathfinding = this.get("async-pathfinding", false);
+        this.parallelLightEngine = this.get("parallel-light-engine", false);
+        this.redstoneGraphEvaluator = this.get("redstone-graph-evaluator", false);
+        this.sharedSensorQueries = this.get("shared-sensor-queries", false);
         this.enableJmxMonitoring = this.get("enable-jmx-monitoring", false);
         this.enableStatus = this.getMutable("enable-status", true);
         this.hideOnlinePlayers = this.getMutable("hide-online-players", false);
@@ -12,6 +12,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientboundBlockUpdatePacket;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.ClientboundLightUpdatePacket;
 import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
 import net.minecraft.util.Util;
@@ -50,6 +51,7 @@ public class ChunkHolder extends GenerationChunkHolder {
     private CompletableFuture<?> pendingFullStateConfirmation;
     private CompletableFuture<?> sendSync;
     private CompletableFuture<?> saveSync;
+    private @Nullable ClientboundLevelChunkWithLightPacket chunkPacket;
 
     public ChunkHolder(ChunkPos pos, int ticketLevel, LevelHeightAccessor levelHeightAccessor, LevelLightEngine lightEngine, ChunkHolder.LevelChangeListener onLevelChange, ChunkHolder.PlayerProvider playerProvider) {
         super(pos);
@@ -92,6 +94,18 @@ public class ChunkHolder extends GenerationChunkHolder {
         return !this.sendSync.isDone() ? null : this.getTickingChunk();
     }
 
+    public @Nullable ClientboundLevelChunkWithLightPacket getChunkPacket() {
+        return this.chunkPacket;
+    }
+
+    public void setChunkPacket(ClientboundLevelChunkWithLightPacket packet) {
+        this.chunkPacket = packet;
+    }
+
+    public void invalidateChunkPacket() {
+        this.chunkPacket = null;
+    }
+
     public CompletableFuture<?> getSendSyncFuture() {
         return this.sendSync;
     }
@@ -188,6 +202,8 @@ public class ChunkHolder extends GenerationChunkHolder {
         if (this.hasChangesToBroadcast()) {
             Level level = chunk.getLevel();
 
+            this.invalidateChunkPacket();
+
             if (!this.skyChangedLightSectionFilter.isEmpty() || !this.blockChangedLightSectionFilter.isEmpty()) {
                 List<ServerPlayer> list = this.playerProvider.getPlayers(this.pos, true);
 
@@ -3,8 +3,8 @@ package net.minecraft.server.level;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Queues;
-import com.google.common.collect.Sets;
 import com.mojang.datafixers.DataFixer;
+import com.mojang.datafixers.util.Either;
 import com.mojang.logging.LogUtils;
 import com.mojang.serialization.MapCodec;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
@@ -22,10 +22,19 @@ import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -50,15 +59,21 @@ import java.util.stream.Stream;
 import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
 import net.minecraft.ReportedException;
+import net.minecraft.SharedConstants;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.SectionPos;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
 import net.minecraft.nbt.NbtException;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtUtils;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.network.protocol.game.ClientboundChunksBiomesPacket;
+import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.network.protocol.game.ClientboundSetChunkCacheCenterPacket;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.network.ServerPlayerConnection;
@@ -94,6 +109,7 @@ import net.minecraft.world.level.chunk.status.WorldGenContext;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.chunk.storage.SerializableChunkData;
 import net.minecraft.world.level.chunk.storage.SimpleRegionStorage;
+import net.minecraft.world.level.chunk.storage.StreamingChunkDecoder;
 import net.minecraft.world.level.entity.ChunkStatusUpdateListener;
 import net.minecraft.world.level.entity.EntityAccess;
 import net.minecraft.world.level.gamerules.GameRules;
@@ -146,6 +162,10 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
     private final String storageName;
     private final PlayerMap playerMap;
     public final Int2ObjectMap<ChunkMap.TrackedEntity> entityMap;
+    private final EntityTrackingIndex entityTrackingIndex;
+    private final Reference2ObjectMap<ServerPlayerConnection, List<Packet<? super ClientGamePacketListener>>> pendingTrackerPackets;
+    private final List<ChunkHolder> chunkPacketHolders;
+    private boolean batchingTrackerPackets;
     private final Long2ByteMap chunkTypeCache;
     private final Long2LongMap nextChunkSaveTime;
     private final LongSet chunksToEagerlySave;
@@ -155,13 +175,16 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
     private final WorldGenContext worldGenContext;
 
     public ChunkMap(ServerLevel level, LevelStorageSource.LevelStorageAccess levelStorage, DataFixer dataFixer, StructureTemplateManager structureManager, Executor executor, BlockableEventLoop<Runnable> mainThreadExecutor, LightChunkGetter chunkGetter, ChunkGenerator generator, ChunkStatusUpdateListener chunkStatusListener, Supplier<DimensionDataStorage> overworldDataStorage, TicketStorage ticketStorage, int serverViewDistance, boolean syncWrites) {
-        super(new RegionStorageInfo(levelStorage.getLevelId(), level.dimension(), "chunk"), levelStorage.getDimensionPath(level.dimension()).resolve("region"), dataFixer, syncWrites, DataFixTypes.CHUNK, LegacyStructureDataHandler.getLegacyTagFixer(level.dimension(), overworldDataStorage, dataFixer));
+        super(new RegionStorageInfo(levelStorage.getLevelId(), level.dimension(), "chunk"), levelStorage.getDimensionPath(level.dimension()).resolve("region"), dataFixer, syncWrites, level.getServer().isRegionFileMemoryMappedReads(), DataFixTypes.CHUNK, LegacyStructureDataHandler.getLegacyTagFixer(level.dimension(), overworldDataStorage, dataFixer));
         this.visibleChunkMap = this.updatingChunkMap.clone();
         this.pendingUnloads = new Long2ObjectLinkedOpenHashMap();
         this.pendingGenerationTasks = new ArrayList();
         this.toDrop = new LongOpenHashSet();
         this.playerMap = new PlayerMap();
         this.entityMap = new Int2ObjectOpenHashMap();
+        this.entityTrackingIndex = new EntityTrackingIndex();
+        this.pendingTrackerPackets = new Reference2ObjectOpenHashMap();
+        this.chunkPacketHolders = new ArrayList();
         this.chunkTypeCache = new Long2ByteOpenHashMap();
         this.nextChunkSaveTime = new Long2LongOpenHashMap();
         this.chunksToEagerlySave = new LongLinkedOpenHashSet();
@@ -189,10 +212,10 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
 
         this.worldgenTaskDispatcher = new ChunkTaskDispatcher(consecutiveexecutor, executor);
         this.lightTaskDispatcher = new ChunkTaskDispatcher(consecutiveexecutor1, executor);
-        this.lightEngine = new ThreadedLevelLightEngine(chunkGetter, this, this.level.dimensionType().hasSkyLight(), consecutiveexecutor1, this.lightTaskDispatcher);
+        this.lightEngine = new ThreadedLevelLightEngine(chunkGetter, this, this.level.dimensionType().hasSkyLight(), level.getServer().isParallelLightEngine(), consecutiveexecutor1, this.lightTaskDispatcher);
         this.distanceManager = new ChunkMap.DistanceManager(ticketStorage, executor, mainThreadExecutor);
         this.ticketStorage = ticketStorage;
-        this.poiManager = new PoiManager(new RegionStorageInfo(levelStorage.getLevelId(), level.dimension(), "poi"), path.resolve("poi"), dataFixer, syncWrites, registryaccess, level.getServer(), level);
+        this.poiManager = new PoiManager(new RegionStorageInfo(levelStorage.getLevelId(), level.dimension(), "poi"), path.resolve("poi"), dataFixer, syncWrites, level.getServer().isRegionFileMemoryMappedReads(), registryaccess, level.getServer(), level);
         this.setServerViewDistance(serverViewDistance);
         this.worldGenContext = new WorldGenContext(level, generator, structureManager, this.lightEngine, mainThreadExecutor, this::setChunkUnsaved);
     }
@@ -575,15 +598,13 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
     }
 
     private CompletableFuture<ChunkAccess> scheduleChunkLoad(ChunkPos pos) {
-        CompletableFuture<Optional<SerializableChunkData>> completablefuture = this.readChunk(pos).thenApplyAsync((optional) -> {
-            return optional.map((compoundtag) -> {
-                SerializableChunkData serializablechunkdata = SerializableChunkData.parse(this.level, this.level.palettedContainerFactory(), compoundtag);
-
-                if (serializablechunkdata == null) {
-                    ChunkMap.LOGGER.error("Chunk file at {} is missing level data, skipping", pos);
-                }
-
-                return serializablechunkdata;
+        CompletableFuture<Optional<SerializableChunkData>> completablefuture = this.readRaw(pos).thenApplyAsync((optional) -> {
+            return optional.map((either) -> {
+                return (SerializableChunkData) either.map((compoundtag) -> {
+                    return this.parseChunkData(pos, this.upgradeChunkTag(compoundtag), (List) null);
+                }, (abyte) -> {
+                    return this.decodeChunkData(pos, abyte);
+                });
             });
         }, Util.backgroundExecutor().forName("parseChunk"));
         CompletableFuture<?> completablefuture1 = this.poiManager.prefetch(pos);
@@ -605,6 +626,35 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
         }, this.mainThreadExecutor);
     }
 
+    private @Nullable SerializableChunkData decodeChunkData(ChunkPos pos, byte[] data) {
+        try {
+            StreamingChunkDecoder streamingchunkdecoder = new StreamingChunkDecoder(this.level.registryAccess().lookupOrThrow(Registries.BIOME));
+
+            NbtIo.parse(new DataInputStream(new ByteArrayInputStream(data)), streamingchunkdecoder, NbtAccounter.unlimitedHeap());
+            CompoundTag compoundtag = streamingchunkdecoder.getChunkTag();
+
+            if (compoundtag != null && streamingchunkdecoder.isComplete() && NbtUtils.getDataVersion(compoundtag, -1) == SharedConstants.getCurrentVersion().dataVersion().version()) {
+                return this.parseChunkData(pos, compoundtag, streamingchunkdecoder.getSections());
+            } else {
+                CompoundTag compoundtag1 = NbtIo.read((DataInput) (new DataInputStream(new ByteArrayInputStream(data))));
+
+                return this.parseChunkData(pos, this.upgradeChunkTag(compoundtag1), (List) null);
+            }
+        } catch (IOException ioexception) {
+            throw new CompletionException(ioexception);
+        }
+    }
+
+    private @Nullable SerializableChunkData parseChunkData(ChunkPos pos, CompoundTag tag, @Nullable List<StreamingChunkDecoder.Section> decodedSections) {
+        SerializableChunkData serializablechunkdata = SerializableChunkData.parse(this.level, this.level.palettedContainerFactory(), tag, decodedSections);
+
+        if (serializablechunkdata == null) {
+            ChunkMap.LOGGER.error("Chunk file at {} is missing level data, skipping", pos);
+        }
+
+        return serializablechunkdata;
+    }
+
     private ChunkAccess handleChunkLoadFailure(Throwable throwable, ChunkPos pos) {
         Throwable throwable1;
 
@@ -933,6 +983,32 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
         return chunkholder == null ? null : chunkholder.getChunkToSend();
     }
 
+    public ClientboundLevelChunkWithLightPacket getChunkPacket(LevelChunk chunk) {
+        ChunkHolder chunkholder = this.getVisibleChunkIfPresent(chunk.getPos().toLong());
+
+        if (chunkholder == null) {
+            return new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet) null, (BitSet) null);
+        } else {
+            ClientboundLevelChunkWithLightPacket clientboundlevelchunkwithlightpacket = chunkholder.getChunkPacket();
+
+            if (clientboundlevelchunkwithlightpacket == null) {
+                clientboundlevelchunkwithlightpacket = new ClientboundLevelChunkWithLightPacket(chunk, this.lightEngine, (BitSet) null, (BitSet) null);
+                chunkholder.setChunkPacket(clientboundlevelchunkwithlightpacket);
+                this.chunkPacketHolders.add(chunkholder);
+            }
+
+            return clientboundlevelchunkwithlightpacket;
+        }
+    }
+
+    public void clearChunkPackets() {
+        for (ChunkHolder chunkholder : this.chunkPacketHolders) {
+            chunkholder.invalidateChunkPacket();
+        }
+
+        this.chunkPacketHolders.clear();
+    }
+
     public int size() {
         return this.visibleChunkMap.size();
     }
@@ -1130,6 +1206,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             }
 
             this.applyChunkTrackingView(player, ChunkTrackingView.EMPTY);
+            player.connection.chunkSender.clearBatchSendTimes();
         }
 
     }
@@ -1141,18 +1218,14 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
     }
 
     public void move(ServerPlayer player) {
-        ObjectIterator objectiterator = this.entityMap.values().iterator();
+        this.entityTrackingIndex.updatePlayer(player);
+        ChunkMap.TrackedEntity chunkmap_trackedentity = (ChunkMap.TrackedEntity) this.entityMap.get(player.getId());
 
-        while (objectiterator.hasNext()) {
-            ChunkMap.TrackedEntity chunkmap_trackedentity = (ChunkMap.TrackedEntity) objectiterator.next();
-
-            if (chunkmap_trackedentity.entity == player) {
-                chunkmap_trackedentity.updatePlayers(this.level.players());
-            } else {
-                chunkmap_trackedentity.updatePlayer(player);
-            }
+        if (chunkmap_trackedentity != null) {
+            chunkmap_trackedentity.updatePlayers();
         }
 
+        this.updateTrackedEntities(player);
         SectionPos sectionpos = player.getLastSectionPos();
         SectionPos sectionpos1 = SectionPos.of((EntityAccess) player);
         boolean flag = this.playerMap.ignored(player);
@@ -1254,20 +1327,19 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
                     ChunkMap.TrackedEntity chunkmap_trackedentity = new ChunkMap.TrackedEntity(entity, i, j, entitytype.trackDeltas());
 
                     this.entityMap.put(entity.getId(), chunkmap_trackedentity);
-                    chunkmap_trackedentity.updatePlayers(this.level.players());
+                    this.entityTrackingIndex.addEntity(chunkmap_trackedentity, chunkmap_trackedentity.lastSectionPos.chunk().toLong());
                     if (entity instanceof ServerPlayer) {
                         ServerPlayer serverplayer = (ServerPlayer) entity;
 
-                        this.updatePlayerStatus(serverplayer, true);
-                        ObjectIterator objectiterator = this.entityMap.values().iterator();
+                        this.entityTrackingIndex.addPlayer(serverplayer);
+                    }
 
-                        while (objectiterator.hasNext()) {
-                            ChunkMap.TrackedEntity chunkmap_trackedentity1 = (ChunkMap.TrackedEntity) objectiterator.next();
+                    chunkmap_trackedentity.updatePlayers();
+                    if (entity instanceof ServerPlayer) {
+                        ServerPlayer serverplayer1 = (ServerPlayer) entity;
 
-                            if (chunkmap_trackedentity1.entity != serverplayer) {
-                                chunkmap_trackedentity1.updatePlayer(serverplayer);
-                            }
-                        }
+                        this.updatePlayerStatus(serverplayer1, true);
+                        this.updateTrackedEntities(serverplayer1);
                     }
 
                 }
@@ -1278,18 +1350,18 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
     protected void removeEntity(Entity entity) {
         if (entity instanceof ServerPlayer serverplayer) {
             this.updatePlayerStatus(serverplayer, false);
-            ObjectIterator objectiterator = this.entityMap.values().iterator();
-
-            while (objectiterator.hasNext()) {
-                ChunkMap.TrackedEntity chunkmap_trackedentity = (ChunkMap.TrackedEntity) objectiterator.next();
 
+            for (ChunkMap.TrackedEntity chunkmap_trackedentity : new ReferenceArrayList<ChunkMap.TrackedEntity>(this.entityTrackingIndex.getTrackedBy(serverplayer))) {
                 chunkmap_trackedentity.removePlayer(serverplayer);
             }
+
+            this.entityTrackingIndex.removePlayer(serverplayer);
         }
 
         ChunkMap.TrackedEntity chunkmap_trackedentity1 = (ChunkMap.TrackedEntity) this.entityMap.remove(entity.getId());
 
         if (chunkmap_trackedentity1 != null) {
+            this.entityTrackingIndex.removeEntity(chunkmap_trackedentity1, chunkmap_trackedentity1.lastSectionPos.chunk().toLong());
             chunkmap_trackedentity1.broadcastRemoved();
         }
 
@@ -1300,42 +1372,121 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             this.updateChunkTracking(serverplayer);
         }
 
-        List<ServerPlayer> list = Lists.newArrayList();
-        List<ServerPlayer> list1 = this.level.players();
+        List<ServerPlayer> list = this.level.players();
+
+        for (ServerPlayer serverplayer1 : list) {
+            this.entityTrackingIndex.updatePlayer(serverplayer1);
+        }
+
+        List<ServerPlayer> list1 = Lists.newArrayList();
         ObjectIterator objectiterator = this.entityMap.values().iterator();
 
-        while (objectiterator.hasNext()) {
-            ChunkMap.TrackedEntity chunkmap_trackedentity = (ChunkMap.TrackedEntity) objectiterator.next();
-            SectionPos sectionpos = chunkmap_trackedentity.lastSectionPos;
-            SectionPos sectionpos1 = SectionPos.of((EntityAccess) chunkmap_trackedentity.entity);
-            boolean flag = !Objects.equals(sectionpos, sectionpos1);
+        this.batchingTrackerPackets = true;
 
-            if (flag) {
-                chunkmap_trackedentity.updatePlayers(list1);
-                Entity entity = chunkmap_trackedentity.entity;
+        try {
+            while (objectiterator.hasNext()) {
+                ChunkMap.TrackedEntity chunkmap_trackedentity = (ChunkMap.TrackedEntity) objectiterator.next();
+                SectionPos sectionpos = chunkmap_trackedentity.lastSectionPos;
+                SectionPos sectionpos1 = SectionPos.of((EntityAccess) chunkmap_trackedentity.entity);
+                boolean flag = !Objects.equals(sectionpos, sectionpos1);
+
+                if (flag) {
+                    this.entityTrackingIndex.moveEntity(chunkmap_trackedentity, sectionpos.chunk().toLong(), sectionpos1.chunk().toLong());
+                    chunkmap_trackedentity.lastSectionPos = sectionpos1;
+                    chunkmap_trackedentity.updatePlayers();
+                    Entity entity = chunkmap_trackedentity.entity;
 
-                if (entity instanceof ServerPlayer) {
-                    list.add((ServerPlayer) entity);
+                    if (entity instanceof ServerPlayer) {
+                        list1.add((ServerPlayer) entity);
+                    }
                 }
 
-                chunkmap_trackedentity.lastSectionPos = sectionpos1;
+                if (flag || chunkmap_trackedentity.entity.needsSync || this.distanceManager.inEntityTickingRange(sectionpos1.chunk().toLong())) {
+                    chunkmap_trackedentity.serverEntity.sendChanges();
+                }
             }
+        } finally {
+            this.batchingTrackerPackets = false;
+            this.flushTrackerPackets();
+        }
+
+        for (ServerPlayer serverplayer2 : list1) {
+            this.updateTrackedEntities(serverplayer2);
+        }
+
+    }
 
-            if (flag || chunkmap_trackedentity.entity.needsSync || this.distanceManager.inEntityTickingRange(sectionpos1.chunk().toLong())) {
-                chunkmap_trackedentity.serverEntity.sendChanges();
+    private void updateTrackedEntities(ServerPlayer player) {
+        for (ChunkMap.TrackedEntity chunkmap_trackedentity : new ReferenceArrayList<ChunkMap.TrackedEntity>(this.entityTrackingIndex.getTrackedBy(player))) {
+            chunkmap_trackedentity.updatePlayer(player);
+        }
+
+        int i = Math.min(this.level.getServer().getScaledTrackingDistance(this.entityTrackingIndex.getMaxTrackingRange()), this.getPlayerViewDistance(player) * 16);
+        List<ChunkMap.TrackedEntity> list = new ReferenceArrayList();
+        ChunkPos chunkpos = player.chunkPosition();
+
+        this.entityTrackingIndex.collectEntities(chunkpos.x, chunkpos.z, (i >> 4) + 1, list);
+
+        for (ChunkMap.TrackedEntity chunkmap_trackedentity1 : list) {
+            if (!chunkmap_trackedentity1.seenBy.contains(player.connection)) {
+                chunkmap_trackedentity1.updatePlayer(player);
             }
         }
 
+    }
+
+    public void onChunkSentToPlayer(ServerPlayer player, ChunkPos pos) {
+        List<ChunkMap.TrackedEntity> list = this.entityTrackingIndex.getEntitiesInChunk(pos.toLong());
+
         if (!list.isEmpty()) {
-            objectiterator = this.entityMap.values().iterator();
+            for (ChunkMap.TrackedEntity chunkmap_trackedentity : new ReferenceArrayList<ChunkMap.TrackedEntity>(list)) {
+                if (!chunkmap_trackedentity.seenBy.contains(player.connection)) {
+                    chunkmap_trackedentity.updatePlayer(player);
+                }
+            }
+        }
 
-            while (objectiterator.hasNext()) {
-                ChunkMap.TrackedEntity chunkmap_trackedentity1 = (ChunkMap.TrackedEntity) objectiterator.next();
+    }
+
+    private void sendTrackerPacket(ServerPlayerConnection connection, Packet<? super ClientGamePacketListener> packet) {
+        if (this.batchingTrackerPackets) {
+            List<Packet<? super ClientGamePacketListener>> list = (List) this.pendingTrackerPackets.computeIfAbsent(connection, (serverplayerconnection1) -> {
+                return new ArrayList();
+            });
+
+            if (packet instanceof ClientboundBundlePacket) {
+                ClientboundBundlePacket clientboundbundlepacket = (ClientboundBundlePacket) packet;
+
+                for (Packet<? super ClientGamePacketListener> packet1 : clientboundbundlepacket.subPackets()) {
+                    list.add(packet1);
+                }
+            } else {
+                list.add(packet);
+            }
+        } else {
+            connection.send(packet);
+        }
+
+    }
+
+    private void flushTrackerPackets() {
+        ObjectIterator objectiterator = Reference2ObjectMaps.fastIterable(this.pendingTrackerPackets).iterator();
+
+        while (objectiterator.hasNext()) {
+            Reference2ObjectMap.Entry<ServerPlayerConnection, List<Packet<? super ClientGamePacketListener>>> reference2objectmap_entry = (Reference2ObjectMap.Entry) objectiterator.next();
+            ServerPlayerConnection serverplayerconnection = (ServerPlayerConnection) reference2objectmap_entry.getKey();
+            List<Packet<? super ClientGamePacketListener>> list = (List) reference2objectmap_entry.getValue();
 
-                chunkmap_trackedentity1.updatePlayers(list);
+            if (list.size() == 1) {
+                serverplayerconnection.send((Packet) list.get(0));
+            } else {
+                for (int i = 0; i < list.size(); i += 4096) {
+                    serverplayerconnection.send(new ClientboundBundlePacket(list.subList(i, Math.min(i + 4096, list.size()))));
+                }
             }
         }
 
+        this.pendingTrackerPackets.clear();
     }
 
     public void sendToTrackingPlayers(Entity entity, Packet<? super ClientGamePacketListener> packet) {
@@ -1372,14 +1523,8 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
     }
 
     public void forEachEntityTrackedBy(ServerPlayer player, Consumer<Entity> consumer) {
-        ObjectIterator objectiterator = this.entityMap.values().iterator();
-
-        while (objectiterator.hasNext()) {
-            ChunkMap.TrackedEntity chunkmap_trackedentity = (ChunkMap.TrackedEntity) objectiterator.next();
-
-            if (chunkmap_trackedentity.seenBy.contains(player.connection)) {
-                consumer.accept(chunkmap_trackedentity.entity);
-            }
+        for (ChunkMap.TrackedEntity chunkmap_trackedentity : this.entityTrackingIndex.getTrackedBy(player)) {
+            consumer.accept(chunkmap_trackedentity.entity);
         }
 
     }
@@ -1397,6 +1542,12 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
                 levelchunk = this.level.getChunk(chunkpos.x, chunkpos.z);
             }
 
+            ChunkHolder chunkholder = this.getVisibleChunkIfPresent(chunkpos.toLong());
+
+            if (chunkholder != null) {
+                chunkholder.invalidateChunkPacket();
+            }
+
             for (ServerPlayer serverplayer : this.getPlayers(chunkpos, false)) {
                 ((List) map.computeIfAbsent(serverplayer, (serverplayer1) -> {
                     return new ArrayList();
@@ -1476,7 +1627,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
         private final Entity entity;
         private final int range;
         private SectionPos lastSectionPos;
-        public final Set<ServerPlayerConnection> seenBy = Sets.newIdentityHashSet();
+        public final Set<ServerPlayerConnection> seenBy = new ReferenceOpenHashSet();
 
         public TrackedEntity(Entity entity, int range, int updateInterval, boolean trackDelta) {
             this.serverEntity = new ServerEntity(ChunkMap.this.level, entity, updateInterval, trackDelta, this);
@@ -1496,7 +1647,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
         @Override
         public void sendToTrackingPlayers(Packet<? super ClientGamePacketListener> packet) {
             for (ServerPlayerConnection serverplayerconnection : this.seenBy) {
-                serverplayerconnection.send(packet);
+                ChunkMap.this.sendTrackerPacket(serverplayerconnection, packet);
             }
 
         }
@@ -1507,16 +1658,21 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             Entity entity = this.entity;
 
             if (entity instanceof ServerPlayer serverplayer) {
-                serverplayer.connection.send(packet);
+                ChunkMap.this.sendTrackerPacket(serverplayer.connection, packet);
             }
 
         }
 
+        @Override
+        public void sendToPlayer(ServerPlayer player, Packet<? super ClientGamePacketListener> packet) {
+            ChunkMap.this.sendTrackerPacket(player.connection, packet);
+        }
+
         @Override
         public void sendToTrackingPlayersFiltered(Packet<? super ClientGamePacketListener> packet, Predicate<ServerPlayer> targetPredicate) {
             for (ServerPlayerConnection serverplayerconnection : this.seenBy) {
                 if (targetPredicate.test(serverplayerconnection.getPlayer())) {
-                    serverplayerconnection.send(packet);
+                    ChunkMap.this.sendTrackerPacket(serverplayerconnection, packet);
                 }
             }
 
@@ -1525,12 +1681,14 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
         public void broadcastRemoved() {
             for (ServerPlayerConnection serverplayerconnection : this.seenBy) {
                 this.serverEntity.removePairing(serverplayerconnection.getPlayer());
+                ChunkMap.this.entityTrackingIndex.stopTracking(serverplayerconnection.getPlayer(), this);
             }
 
         }
 
         public void removePlayer(ServerPlayer player) {
             if (this.seenBy.remove(player.connection)) {
+                ChunkMap.this.entityTrackingIndex.stopTracking(player, this);
                 this.serverEntity.removePairing(player);
                 if (this.seenBy.isEmpty()) {
                     ChunkMap.this.level.debugSynchronizers().dropEntity(this.entity);
@@ -1550,6 +1708,7 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
 
                 if (flag) {
                     if (this.seenBy.add(player.connection)) {
+                        ChunkMap.this.entityTrackingIndex.startTracking(player, this);
                         this.serverEntity.addPairing(player);
                         if (this.seenBy.size() == 1) {
                             ChunkMap.this.level.debugSynchronizers().registerEntity(this.entity);
@@ -1582,9 +1741,21 @@ public class ChunkMap extends SimpleRegionStorage implements ChunkHolder.PlayerP
             return this.scaledRange(i);
         }
 
-        public void updatePlayers(List<ServerPlayer> players) {
-            for (ServerPlayer serverplayer : players) {
-                this.updatePlayer(serverplayer);
+        public void updatePlayers() {
+            if (!this.seenBy.isEmpty()) {
+                for (ServerPlayerConnection serverplayerconnection : (ServerPlayerConnection[]) this.seenBy.toArray(new ServerPlayerConnection[0])) {
+                    this.updatePlayer(serverplayerconnection.getPlayer());
+                }
+            }
+
+            List<ServerPlayer> list = new ReferenceArrayList();
+
+            ChunkMap.this.entityTrackingIndex.collectPlayers(SectionPos.x(this.lastSectionPos.asLong()), SectionPos.z(this.lastSectionPos.asLong()), (this.getEffectiveRange() >> 4) + 1, list);
+
+            for (ServerPlayer serverplayer : list) {
+                if (!this.seenBy.contains(serverplayer.connection)) {
+                    this.updatePlayer(serverplayer);
+                }
             }
 
         }
@@ -0,0 +1,387 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.ReportedException;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.util.Util;
+import net.minecraft.util.profiling.Profiler;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.OwnableEntity;
+import net.minecraft.world.entity.TraceableEntity;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.entity.animal.bee.Bee;
+import net.minecraft.world.entity.animal.dolphin.Dolphin;
+import net.minecraft.world.entity.boss.enderdragon.EnderDragon;
+import net.minecraft.world.entity.boss.wither.WitherBoss;
+import net.minecraft.world.entity.monster.ElderGuardian;
+import net.minecraft.world.entity.monster.EnderMan;
+import net.minecraft.world.entity.monster.warden.Warden;
+import net.minecraft.world.entity.npc.villager.AbstractVillager;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.entity.raid.Raider;
+import net.minecraft.world.entity.vehicle.minecart.MinecartHopper;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jspecify.annotations.Nullable;
+
+public class EntityIslandTicker {
+
+    private static final int MIN_LINK_DISTANCE = 2;
+    private static final AtomicInteger TICKING_COUNT = new AtomicInteger();
+    private static final ThreadLocal<EntityIslandTicker.@Nullable Island> CURRENT_ISLAND = new ThreadLocal();
+    private final ServerLevel level;
+    private final List<Entity> entities = new ObjectArrayList();
+    private final IntArrayList entitySections = new IntArrayList();
+    private final Long2IntOpenHashMap sectionIndices = new Long2IntOpenHashMap();
+    private final LongArrayList sections = new LongArrayList();
+    private final IntArrayList sectionReaches = new IntArrayList();
+    private final BooleanArrayList sectionsNearUnloaded = new BooleanArrayList();
+    private final IntArrayList parents = new IntArrayList();
+
+    public EntityIslandTicker(ServerLevel level) {
+        this.level = level;
+        this.sectionIndices.defaultReturnValue(-1);
+    }
+
+    public static EntityIslandTicker.@Nullable Island currentIsland() {
+        return EntityIslandTicker.TICKING_COUNT.get() == 0 ? null : (EntityIslandTicker.Island) EntityIslandTicker.CURRENT_ISLAND.get();
+    }
+
+    public void add(Entity entity) {
+        this.entities.add(entity);
+    }
+
+    public void tick() {
+        ProfilerFiller profilerfiller = Profiler.get();
+
+        profilerfiller.push("collectIslands");
+        List<EntityIslandTicker.Island> list = this.collectIslands();
+        List<EntityIslandTicker.Island> list1 = new ObjectArrayList();
+        List<Entity> list2 = new ObjectArrayList();
+
+        for (EntityIslandTicker.Island entityislandticker_island : list) {
+            if (entityislandticker_island.serial) {
+                list2.addAll(entityislandticker_island.entities);
+            } else {
+                list1.add(entityislandticker_island);
+            }
+        }
+
+        if (list1.size() < 2) {
+            profilerfiller.popPush("tick");
+
+            for (Entity entity : this.entities) {
+                this.tickEntity(entity);
+            }
+        } else {
+            profilerfiller.popPush("tickIslands");
+            CompletableFuture<?>[] acompletablefuture = new CompletableFuture[list1.size()];
+
+            EntityIslandTicker.TICKING_COUNT.incrementAndGet();
+
+            try {
+                for (int i = 0; i < acompletablefuture.length; ++i) {
+                    EntityIslandTicker.Island entityislandticker_island1 = (EntityIslandTicker.Island) list1.get(i);
+
+                    acompletablefuture[i] = CompletableFuture.runAsync(() -> {
+                        entityislandticker_island1.tick(this);
+                    }, Util.entityIslandExecutor());
+                }
+
+                CompletableFuture.allOf(acompletablefuture).join();
+            } catch (CompletionException completionexception) {
+                Throwable throwable = completionexception.getCause();
+
+                if (throwable instanceof ReportedException reportedexception) {
+                    throw reportedexception;
+                }
+
+                throw completionexception;
+            } finally {
+                EntityIslandTicker.TICKING_COUNT.decrementAndGet();
+            }
+
+            profilerfiller.popPush("commitIslands");
+
+            for (EntityIslandTicker.Island entityislandticker_island2 : list1) {
+                entityislandticker_island2.commit();
+            }
+
+            profilerfiller.popPush("tickSerial");
+
+            for (Entity entity1 : list2) {
+                this.tickEntity(entity1);
+            }
+        }
+
+        this.entities.clear();
+        profilerfiller.pop();
+    }
+
+    void tickEntity(Entity entity) {
+        if (!entity.isRemoved() && !entity.isPassenger()) {
+            this.level.guardEntityTick(this.level::tickNonPassenger, entity);
+        }
+
+    }
+
+    private List<EntityIslandTicker.Island> collectIslands() {
+        int i = 0;
+
+        for (Entity entity : this.entities) {
+            long j = SectionPos.asLong(entity.blockPosition());
+            int k = this.sectionIndices.get(j);
+
+            if (k == -1) {
+                k = this.sections.size();
+                this.sectionIndices.put(j, k);
+                this.sections.add(j);
+                this.sectionReaches.add(0);
+                this.parents.add(k);
+            }
+
+            int l = SectionPos.blockToSectionCoord(Mth.ceil(entity.getSelfAndPassengers().mapToDouble(EntityIslandTicker::getInteractionReach).max().orElse(0.0D)) + 15);
+
+            if (l > this.sectionReaches.getInt(k)) {
+                this.sectionReaches.set(k, l);
+                i = Math.max(i, l);
+            }
+
+            this.entitySections.add(k);
+        }
+
+        int[] aint = new int[this.sections.size()];
+
+        for (int i1 = 0; i1 < aint.length; ++i1) {
+            aint[i1] = i1;
+            this.sectionsNearUnloaded.add(this.isNearUnloadedChunk(this.sections.getLong(i1), this.sectionReaches.getInt(i1)));
+        }
+
+        IntArrays.quickSort(aint, (j1, k1) -> {
+            return Integer.compare(SectionPos.x(this.sections.getLong(j1)), SectionPos.x(this.sections.getLong(k1)));
+        });
+
+        for (int l1 = 0; l1 < aint.length; ++l1) {
+            int i2 = aint[l1];
+            long j2 = this.sections.getLong(i2);
+            int k2 = this.sectionReaches.getInt(i2);
+            int l2 = Math.max(EntityIslandTicker.MIN_LINK_DISTANCE, k2 + i);
+
+            for (int i3 = l1 + 1; i3 < aint.length; ++i3) {
+                int j3 = aint[i3];
+                long k3 = this.sections.getLong(j3);
+                int l3 = SectionPos.x(k3) - SectionPos.x(j2);
+
+                if (l3 > l2) {
+                    break;
+                }
+
+                int i4 = Math.max(EntityIslandTicker.MIN_LINK_DISTANCE, k2 + this.sectionReaches.getInt(j3));
+
+                if (l3 <= i4 && Math.abs(SectionPos.y(k3) - SectionPos.y(j2)) <= i4 && Math.abs(SectionPos.z(k3) - SectionPos.z(j2)) <= i4) {
+                    this.union(i2, j3);
+                }
+            }
+        }
+
+        List<EntityIslandTicker.Island> list = new ObjectArrayList();
+        Int2ObjectMap<EntityIslandTicker.Island> int2objectmap = new Int2ObjectOpenHashMap();
+
+        for (int l2 = 0; l2 < this.entities.size(); ++l2) {
+            Entity entity1 = (Entity) this.entities.get(l2);
+            EntityIslandTicker.Island entityislandticker_island = (EntityIslandTicker.Island) int2objectmap.computeIfAbsent(this.find(this.entitySections.getInt(l2)), (i3) -> {
+                EntityIslandTicker.Island entityislandticker_island1 = new EntityIslandTicker.Island();
+
+                list.add(entityislandticker_island1);
+                return entityislandticker_island1;
+            });
+
+            entityislandticker_island.add(entity1);
+            if (this.sectionsNearUnloaded.getBoolean(this.entitySections.getInt(l2))) {
+                entityislandticker_island.serial = true;
+            }
+        }
+
+        this.entitySections.clear();
+        this.sectionIndices.clear();
+        this.sections.clear();
+        this.sectionReaches.clear();
+        this.sectionsNearUnloaded.clear();
+        this.parents.clear();
+        return list;
+    }
+
+    private boolean isNearUnloadedChunk(long sectionPos, int reach) {
+        int j = SectionPos.x(sectionPos);
+        int k = SectionPos.z(sectionPos);
+        ServerChunkCache serverchunkcache = this.level.getChunkSource();
+
+        for (int l = -reach; l <= reach; ++l) {
+            for (int i1 = -reach; i1 <= reach; ++i1) {
+                if (serverchunkcache.getChunkNow(j + l, k + i1) == null) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static double getInteractionReach(Entity entity) {
+        double d0 = (double) Math.max(entity.getBbWidth(), entity.getBbHeight()) + entity.getDeltaMovement().length();
+
+        if (entity instanceof Mob mob) {
+            d0 = Math.max(d0, mob.getAttributeValue(Attributes.FOLLOW_RANGE));
+        }
+
+        if (entity instanceof EnderMan) {
+            d0 = Math.max(d0, 32.0D);
+        }
+
+        return d0;
+    }
+
+    private int find(int index) {
+        while (this.parents.getInt(index) != index) {
+            int j = this.parents.getInt(this.parents.getInt(index));
+
+            this.parents.set(index, j);
+            index = j;
+        }
+
+        return index;
+    }
+
+    private void union(int first, int second) {
+        int k = this.find(first);
+        int l = this.find(second);
+
+        if (k != l) {
+            this.parents.set(Math.max(k, l), Math.min(k, l));
+        }
+
+    }
+
+    private static boolean requiresSerialTick(Entity entity) {
+        if (!(entity instanceof Player) && !(entity instanceof EnderDragon) && !(entity instanceof WitherBoss) && !(entity instanceof ElderGuardian) && !(entity instanceof Warden) && !(entity instanceof AbstractVillager) && !(entity instanceof Raider) && !(entity instanceof Bee) && !(entity instanceof Dolphin) && !(entity instanceof MinecartHopper)) {
+            if (entity instanceof TraceableEntity) {
+                TraceableEntity traceableentity = (TraceableEntity) entity;
+
+                if (traceableentity.getOwner() instanceof Player) {
+                    return true;
+                }
+            }
+
+            if (entity instanceof OwnableEntity) {
+                OwnableEntity ownableentity = (OwnableEntity) entity;
+
+                if (ownableentity.getOwnerReference() != null) {
+                    return true;
+                }
+            }
+
+            if (entity instanceof LivingEntity) {
+                LivingEntity livingentity = (LivingEntity) entity;
+
+                if (livingentity.getLastHurtByPlayer() != null) {
+                    return true;
+                }
+            }
+
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    public static class Island {
+
+        final List<Entity> entities = new ObjectArrayList();
+        private final List<Runnable> tasks = new ObjectArrayList();
+        private final Set<Entity> movedEntities = new ReferenceOpenHashSet();
+        private final Long2ObjectMap<BlockState> pendingBlockStates = new Long2ObjectOpenHashMap();
+        private final Set<UUID> pendingEntityIds = new HashSet();
+        boolean serial;
+
+        Island() {}
+
+        void add(Entity entity) {
+            this.entities.add(entity);
+            if (!this.serial) {
+                this.serial = entity.getSelfAndPassengers().anyMatch(EntityIslandTicker::requiresSerialTick);
+            }
+
+        }
+
+        void tick(EntityIslandTicker ticker) {
+            EntityIslandTicker.CURRENT_ISLAND.set(this);
+
+            try {
+                for (Entity entity : this.entities) {
+                    ticker.tickEntity(entity);
+                }
+            } finally {
+                EntityIslandTicker.CURRENT_ISLAND.remove();
+            }
+
+        }
+
+        public void defer(Runnable task) {
+            this.tasks.add(task);
+        }
+
+        public @Nullable BlockState getPendingBlockState(BlockPos pos) {
+            return (BlockState) this.pendingBlockStates.get(pos.asLong());
+        }
+
+        public void deferSetBlock(BlockPos pos, BlockState blockState, Runnable task) {
+            this.pendingBlockStates.put(pos.asLong(), blockState);
+            this.tasks.add(task);
+        }
+
+        public boolean deferAddEntity(Entity entity, Runnable task) {
+            this.tasks.add(task);
+            return this.pendingEntityIds.add(entity.getUUID());
+        }
+
+        public void deferMove(Entity entity) {
+            if (this.movedEntities.add(entity)) {
+                this.tasks.add(entity::applyPositionChange);
+            }
+
+        }
+
+        void commit() {
+            this.movedEntities.clear();
+            this.pendingBlockStates.clear();
+            this.pendingEntityIds.clear();
+
+            for (Runnable runnable : this.tasks) {
+                runnable.run();
+            }
+
+            this.tasks.clear();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+
+public class EntityTrackingIndex {
+
+    private final Long2ObjectMap<List<ChunkMap.TrackedEntity>> entitiesByChunk = new Long2ObjectOpenHashMap();
+    private final Long2ObjectMap<List<ServerPlayer>> playersByChunk = new Long2ObjectOpenHashMap();
+    private final Reference2LongMap<ServerPlayer> playerChunks = new Reference2LongOpenHashMap();
+    private final Map<ServerPlayer, Set<ChunkMap.TrackedEntity>> trackedByPlayer = new Reference2ObjectOpenHashMap();
+    private final int maxTrackingRange;
+    private int entityCount;
+
+    public EntityTrackingIndex() {
+        this.maxTrackingRange = BuiltInRegistries.ENTITY_TYPE.stream().mapToInt(EntityType::clientTrackingRange).max().orElse(0) * 16;
+    }
+
+    public int getMaxTrackingRange() {
+        return this.maxTrackingRange;
+    }
+
+    public void addEntity(ChunkMap.TrackedEntity entity, long chunkPos) {
+        ((List) this.entitiesByChunk.computeIfAbsent(chunkPos, (j) -> {
+            return new ReferenceArrayList();
+        })).add(entity);
+        ++this.entityCount;
+    }
+
+    public void removeEntity(ChunkMap.TrackedEntity entity, long chunkPos) {
+        if (remove(this.entitiesByChunk, chunkPos, entity)) {
+            --this.entityCount;
+        }
+
+    }
+
+    public void moveEntity(ChunkMap.TrackedEntity entity, long fromChunkPos, long toChunkPos) {
+        if (fromChunkPos != toChunkPos) {
+            this.removeEntity(entity, fromChunkPos);
+            this.addEntity(entity, toChunkPos);
+        }
+
+    }
+
+    public void addPlayer(ServerPlayer player) {
+        if (!this.playerChunks.containsKey(player)) {
+            long i = player.chunkPosition().toLong();
+
+            this.playerChunks.put(player, i);
+            ((List) this.playersByChunk.computeIfAbsent(i, (j) -> {
+                return new ReferenceArrayList();
+            })).add(player);
+        }
+    }
+
+    public void removePlayer(ServerPlayer player) {
+        if (this.playerChunks.containsKey(player)) {
+            remove(this.playersByChunk, this.playerChunks.removeLong(player), player);
+        }
+
+        this.trackedByPlayer.remove(player);
+    }
+
+    public void updatePlayer(ServerPlayer player) {
+        if (this.playerChunks.containsKey(player)) {
+            long i = this.playerChunks.getLong(player);
+            long j = player.chunkPosition().toLong();
+
+            if (i != j) {
+                remove(this.playersByChunk, i, player);
+                this.playerChunks.put(player, j);
+                ((List) this.playersByChunk.computeIfAbsent(j, (k) -> {
+                    return new ReferenceArrayList();
+                })).add(player);
+            }
+
+        }
+    }
+
+    public void startTracking(ServerPlayer player, ChunkMap.TrackedEntity entity) {
+        ((Set) this.trackedByPlayer.computeIfAbsent(player, (serverplayer1) -> {
+            return new ReferenceOpenHashSet();
+        })).add(entity);
+    }
+
+    public void stopTracking(ServerPlayer player, ChunkMap.TrackedEntity entity) {
+        Set<ChunkMap.TrackedEntity> set = (Set) this.trackedByPlayer.get(player);
+
+        if (set != null && set.remove(entity) && set.isEmpty()) {
+            this.trackedByPlayer.remove(player);
+        }
+
+    }
+
+    public Set<ChunkMap.TrackedEntity> getTrackedBy(ServerPlayer player) {
+        return (Set) this.trackedByPlayer.getOrDefault(player, Set.of());
+    }
+
+    public void collectPlayers(int chunkX, int chunkZ, int radius, List<ServerPlayer> output) {
+        int l = radius * 2 + 1;
+
+        if ((long) l * (long) l >= (long) this.playerChunks.size()) {
+            output.addAll(this.playerChunks.keySet());
+        } else {
+            for (int i1 = -radius; i1 <= radius; ++i1) {
+                for (int j1 = -radius; j1 <= radius; ++j1) {
+                    List<ServerPlayer> list1 = (List) this.playersByChunk.get(ChunkPos.asLong(chunkX + i1, chunkZ + j1));
+
+                    if (list1 != null) {
+                        output.addAll(list1);
+                    }
+                }
+            }
+        }
+
+    }
+
+    public void collectEntities(int chunkX, int chunkZ, int radius, List<ChunkMap.TrackedEntity> output) {
+        int l = radius * 2 + 1;
+
+        if ((long) l * (long) l >= (long) this.entityCount) {
+            ObjectIterator objectiterator = this.entitiesByChunk.values().iterator();
+
+            while (objectiterator.hasNext()) {
+                List<ChunkMap.TrackedEntity> list1 = (List) objectiterator.next();
+
+                output.addAll(list1);
+            }
+        } else {
+            for (int i1 = -radius; i1 <= radius; ++i1) {
+                for (int j1 = -radius; j1 <= radius; ++j1) {
+                    List<ChunkMap.TrackedEntity> list2 = (List) this.entitiesByChunk.get(ChunkPos.asLong(chunkX + i1, chunkZ + j1));
+
+                    if (list2 != null) {
+                        output.addAll(list2);
+                    }
+                }
+            }
+        }
+
+    }
+
+    public List<ChunkMap.TrackedEntity> getEntitiesInChunk(long chunkPos) {
+        return (List) this.entitiesByChunk.getOrDefault(chunkPos, List.of());
+    }
+
+    private static <T> boolean remove(Long2ObjectMap<List<T>> map, long chunkPos, T value) {
+        List<T> list = (List) map.get(chunkPos);
+
+        if (list != null && list.remove(value)) {
+            if (list.isEmpty()) {
+                map.remove(chunkPos);
+            }
+
+            return true;
+        } else {
+            return false;
+        }
+    }
+}
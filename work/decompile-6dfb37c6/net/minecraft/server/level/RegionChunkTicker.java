@@ -0,0 +1,154 @@
+package net.minecraft.server.level;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.util.Util;
+import net.minecraft.util.profiling.Profiler;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.material.FluidState;
+
+public class RegionChunkTicker {
+
+    private static final int REGION_SIZE_BITS = 3;
+    private final ServerLevel level;
+    private final Long2ObjectLinkedOpenHashMap<RegionChunkTicker.Region> regions = new Long2ObjectLinkedOpenHashMap();
+
+    public RegionChunkTicker(ServerLevel level) {
+        this.level = level;
+    }
+
+    public void tick(ChunkMap chunkMap, int tickSpeed) {
+        ProfilerFiller profilerfiller = Profiler.get();
+
+        profilerfiller.push("collectRegions");
+        chunkMap.forEachBlockTickingChunk((levelchunk) -> {
+            ChunkPos chunkpos = levelchunk.getPos();
+
+            ((RegionChunkTicker.Region) this.regions.computeIfAbsent(ChunkPos.asLong(chunkpos.x >> REGION_SIZE_BITS, chunkpos.z >> REGION_SIZE_BITS), (i) -> {
+                return new RegionChunkTicker.Region(RandomSource.create(this.level.random.nextLong()));
+            })).chunks.add(levelchunk);
+        });
+        List<RegionChunkTicker.Region> list = new ObjectArrayList(this.regions.values());
+
+        this.regions.clear();
+        if (tickSpeed > 0) {
+            profilerfiller.popPush("sampleRegions");
+            CompletableFuture<?>[] acompletablefuture = new CompletableFuture[list.size()];
+
+            for (int j = 0; j < acompletablefuture.length; ++j) {
+                RegionChunkTicker.Region regionchunkticker_region = (RegionChunkTicker.Region) list.get(j);
+
+                acompletablefuture[j] = CompletableFuture.runAsync(() -> {
+                    regionchunkticker_region.sample(tickSpeed);
+                }, Util.randomTickExecutor());
+            }
+
+            CompletableFuture.allOf(acompletablefuture).join();
+        }
+
+        profilerfiller.popPush("mergeRegions");
+
+        for (RegionChunkTicker.Region regionchunkticker_region1 : list) {
+            for (LevelChunk levelchunk : regionchunkticker_region1.chunks) {
+                this.level.tickIceAndSnow(levelchunk, tickSpeed);
+            }
+
+            regionchunkticker_region1.applyRandomTicks(this.level);
+        }
+
+        profilerfiller.pop();
+    }
+
+    private static class Region {
+
+        final List<LevelChunk> chunks = new ObjectArrayList();
+        private final LongArrayList positions = new LongArrayList();
+        private final List<BlockState> states = new ObjectArrayList();
+        private final RandomSource random;
+        private int randValue;
+
+        Region(RandomSource random) {
+            this.random = random;
+        }
+
+        void sample(int tickSpeed) {
+            this.randValue = this.random.nextInt();
+
+            for (LevelChunk levelchunk : this.chunks) {
+                ChunkPos chunkpos = levelchunk.getPos();
+                int j = chunkpos.getMinBlockX();
+                int k = chunkpos.getMinBlockZ();
+                LevelChunkSection[] alevelchunksection = levelchunk.getSections();
+
+                for (int l = 0; l < alevelchunksection.length; ++l) {
+                    LevelChunkSection levelchunksection = alevelchunksection[l];
+
+                    if (levelchunksection.isRandomlyTicking() && levelchunksection.getRandomTickingBlockCount() > 0) {
+                        int i1 = SectionPos.sectionToBlockCoord(levelchunk.getSectionYFromSectionIndex(l));
+
+                        for (int j1 = 0; j1 < tickSpeed; ++j1) {
+                            this.randValue = this.randValue * 3 + 1013904223;
+                            int k1 = this.randValue >> 2 & 4095;
+
+                            if (k1 >= levelchunksection.getRandomTickingBlockCount()) {
+                                continue;
+                            }
+
+                            int k2 = levelchunksection.getRandomTickingBlock(k1);
+                            int l1 = k2 & 15;
+                            int i2 = k2 >> 8 & 15;
+                            int j2 = k2 >> 4 & 15;
+                            BlockState blockstate = levelchunksection.getBlockState(l1, i2, j2);
+
+                            if (blockstate.isRandomlyTicking() || blockstate.getFluidState().isRandomlyTicking()) {
+                                this.positions.add(BlockPos.asLong(j + l1, i1 + i2, k + j2));
+                                this.states.add(blockstate);
+                            }
+                        }
+                    }
+                }
+            }
+
+        }
+
+        void applyRandomTicks(ServerLevel level) {
+            ProfilerFiller profilerfiller = Profiler.get();
+            BlockPos.MutableBlockPos blockpos_mutableblockpos = new BlockPos.MutableBlockPos();
+
+            for (int i = 0; i < this.positions.size(); ++i) {
+                BlockState blockstate = (BlockState) this.states.get(i);
+
+                blockpos_mutableblockpos.set(this.positions.getLong(i));
+                if (level.getBlockState(blockpos_mutableblockpos) == blockstate) {
+                    BlockPos blockpos = blockpos_mutableblockpos.immutable();
+
+                    profilerfiller.push("randomTick");
+                    if (blockstate.isRandomlyTicking()) {
+                        blockstate.randomTick(level, blockpos, this.random);
+                    }
+
+                    FluidState fluidstate = blockstate.getFluidState();
+
+                    if (fluidstate.isRandomlyTicking()) {
+                        fluidstate.randomTick(level, blockpos, this.random);
+                    }
+
+                    profilerfiller.pop();
+                }
+            }
+
+            this.positions.clear();
+            this.states.clear();
+        }
+    }
+}
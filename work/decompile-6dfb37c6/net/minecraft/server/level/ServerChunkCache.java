@@ -18,6 +18,7 @@ import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.QuartPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
@@ -41,6 +42,7 @@ import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.chunk.ChunkGeneratorStructureState;
 import net.minecraft.world.level.chunk.ChunkSource;
+import net.minecraft.world.level.chunk.EmptyLevelChunk;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LightChunk;
 import net.minecraft.world.level.chunk.status.ChunkStatus;
@@ -59,7 +61,7 @@ public class ServerChunkCache extends ChunkSource {
     private static final Logger LOGGER = LogUtils.getLogger();
     private final DistanceManager distanceManager;
     private final ServerLevel level;
-    private final Thread mainThread;
+    private volatile Thread mainThread;
     private final ThreadedLevelLightEngine lightEngine;
     private final ServerChunkCache.MainThreadExecutor mainThreadProcessor;
     public final ChunkMap chunkMap;
@@ -73,8 +75,10 @@ public class ServerChunkCache extends ChunkSource {
     private final @Nullable ChunkAccess[] lastChunk = new ChunkAccess[4];
     private final List<LevelChunk> spawningChunks = new ObjectArrayList();
     private final Set<ChunkHolder> chunkHoldersToBroadcast = new ReferenceOpenHashSet();
+    private final NaturalSpawner.SpawnState spawnState;
     @VisibleForDebug
     private NaturalSpawner.@Nullable SpawnState lastSpawnState;
+    private final @Nullable RegionChunkTicker regionChunkTicker;
 
     public ServerChunkCache(ServerLevel level, LevelStorageSource.LevelStorageAccess levelStorage, DataFixer fixerUpper, StructureTemplateManager structureTemplateManager, Executor executor, ChunkGenerator generator, int viewDistance, int simulationDistance, boolean syncWrites, ChunkStatusUpdateListener chunkStatusListener, Supplier<DimensionDataStorage> overworldDataStorage) {
         this.level = level;
@@ -94,6 +98,8 @@ public class ServerChunkCache extends ChunkSource {
         this.lightEngine = this.chunkMap.getLightEngine();
         this.distanceManager = this.chunkMap.getDistanceManager();
         this.distanceManager.updateSimulationDistance(simulationDistance);
+        this.regionChunkTicker = level.getServer().isParallelRandomTickSampling() ? new RegionChunkTicker(level) : null;
+        this.spawnState = NaturalSpawner.createState(this::getFullChunk, new LocalMobCapCalculator(this.chunkMap));
         this.clearCache();
     }
 
@@ -121,6 +127,13 @@ public class ServerChunkCache extends ChunkSource {
     @Override
     public @Nullable ChunkAccess getChunk(int x, int z, ChunkStatus targetStatus, boolean loadOrGenerate) {
         if (Thread.currentThread() != this.mainThread) {
+            if (EntityIslandTicker.currentIsland() != null) {
+                ChunkHolder chunkholder = this.getVisibleChunkIfPresent(ChunkPos.asLong(x, z));
+                ChunkAccess chunkaccess = chunkholder != null ? chunkholder.getChunkIfPresent(targetStatus) : null;
+
+                return (ChunkAccess) (chunkaccess == null && loadOrGenerate ? new EmptyLevelChunk(this.level, new ChunkPos(x, z), this.level.getUncachedNoiseBiome(QuartPos.fromSection(x) + 2, QuartPos.fromBlock(this.level.getSeaLevel()), QuartPos.fromSection(z) + 2)) : chunkaccess);
+            }
+
             return (ChunkAccess) CompletableFuture.supplyAsync(() -> {
                 return this.getChunk(x, z, targetStatus, loadOrGenerate);
             }, this.mainThreadProcessor).join();
@@ -161,6 +174,18 @@ public class ServerChunkCache extends ChunkSource {
     @Override
     public @Nullable LevelChunk getChunkNow(int x, int z) {
         if (Thread.currentThread() != this.mainThread) {
+            if (EntityIslandTicker.currentIsland() != null) {
+                ChunkHolder chunkholder = this.getVisibleChunkIfPresent(ChunkPos.asLong(x, z));
+
+                if (chunkholder != null) {
+                    ChunkAccess chunkaccess = chunkholder.getChunkIfPresent(ChunkStatus.FULL);
+
+                    if (chunkaccess instanceof LevelChunk) {
+                        return (LevelChunk) chunkaccess;
+                    }
+                }
+            }
+
             return null;
         } else {
             Profiler.get().incrementCounter("getChunkNow");
@@ -369,8 +394,9 @@ public class ServerChunkCache extends ChunkSource {
     private void tickChunks(ProfilerFiller profiler, long timeDiff) {
         profiler.push("naturalSpawnCount");
         int j = this.distanceManager.getNaturalSpawnChunkCount();
-        NaturalSpawner.SpawnState naturalspawner_spawnstate = NaturalSpawner.createState(j, this.level.getAllEntities(), this::getFullChunk, new LocalMobCapCalculator(this.chunkMap));
+        NaturalSpawner.SpawnState naturalspawner_spawnstate = this.spawnState;
 
+        naturalspawner_spawnstate.startTick(j);
         this.lastSpawnState = naturalspawner_spawnstate;
         boolean flag = (Boolean) this.level.getGameRules().get(GameRules.SPAWN_MOBS);
         int k = (Integer) this.level.getGameRules().get(GameRules.RANDOM_TICK_SPEED);
@@ -401,9 +427,14 @@ public class ServerChunkCache extends ChunkSource {
         }
 
         profiler.popPush("tickTickingChunks");
-        this.chunkMap.forEachBlockTickingChunk((levelchunk1) -> {
-            this.level.tickChunk(levelchunk1, k);
-        });
+        if (this.regionChunkTicker != null) {
+            this.regionChunkTicker.tick(this.chunkMap, k);
+        } else {
+            this.chunkMap.forEachBlockTickingChunk((levelchunk1) -> {
+                this.level.tickChunk(levelchunk1, k);
+            });
+        }
+
         if (flag) {
             profiler.popPush("customSpawners");
             this.level.tickCustomSpawners(this.spawnEnemies);
@@ -475,6 +506,15 @@ public class ServerChunkCache extends ChunkSource {
 
     }
 
+    public void blockEntityChanged(BlockPos pos) {
+        ChunkHolder chunkholder = this.getVisibleChunkIfPresent(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+
+        if (chunkholder != null) {
+            chunkholder.invalidateChunkPacket();
+        }
+
+    }
+
     @Override
     public void onLightUpdate(LightLayer layer, SectionPos pos) {
         this.mainThreadProcessor.execute(() -> {
@@ -525,6 +565,14 @@ public class ServerChunkCache extends ChunkSource {
         return this.ticketStorage.updateChunkForced(pos, forced);
     }
 
+    public Thread getOwnerThread() {
+        return this.mainThread;
+    }
+
+    public void setOwnerThread(Thread thread) {
+        this.mainThread = thread;
+    }
+
     @Override
     public LongSet getForceLoadedChunks() {
         return this.ticketStorage.getForceLoadedChunks();
@@ -542,10 +590,20 @@ public class ServerChunkCache extends ChunkSource {
 
     public void removeEntity(Entity entity) {
         this.chunkMap.removeEntity(entity);
+        this.spawnState.removeEntity(entity);
     }
 
     public void addEntity(Entity entity) {
         this.chunkMap.addEntity(entity);
+        this.spawnState.addEntity(entity);
+    }
+
+    public void moveEntity(Entity entity) {
+        this.spawnState.moveEntity(entity);
+    }
+
+    public void updateEntitySpawnState(Entity entity) {
+        this.spawnState.updateEntity(entity);
     }
 
     public void sendToTrackingPlayersAndSelf(Entity entity, Packet<? super ClientGamePacketListener> packet) {
@@ -72,6 +72,16 @@ public class ServerEntity {
     private boolean wasRiding;
     private boolean wasOnGround;
     private @Nullable List<SynchedEntityData.DataValue<?>> trackedDataValues;
+    private boolean trackedDataValuesChanged;
+    private boolean positionSynced = true;
+    private double lastCheckedX;
+    private double lastCheckedY;
+    private double lastCheckedZ;
+    private float lastCheckedYRot;
+    private float lastCheckedXRot;
+    private float lastCheckedYHeadRot;
+    private Vec3 lastCheckedMovement;
+    private boolean lastCheckedOnGround;
 
     public ServerEntity(ServerLevel level, Entity entity, int updateInterval, boolean trackDelta, ServerEntity.Synchronizer synchronizer) {
         this.level = level;
@@ -86,6 +96,35 @@ public class ServerEntity {
         this.lastSentYHeadRot = Mth.packDegrees(entity.getYHeadRot());
         this.wasOnGround = entity.onGround();
         this.trackedDataValues = entity.getEntityData().getNonDefaultValues();
+        this.lastCheckedMovement = this.lastSentMovement;
+        this.updateLastChecked();
+    }
+
+    private void updateLastChecked() {
+        this.lastCheckedX = this.entity.getX();
+        this.lastCheckedY = this.entity.getY();
+        this.lastCheckedZ = this.entity.getZ();
+        this.lastCheckedYRot = this.entity.getYRot();
+        this.lastCheckedXRot = this.entity.getXRot();
+        this.lastCheckedYHeadRot = this.entity.getYHeadRot();
+        this.lastCheckedMovement = this.entity.getDeltaMovement();
+        this.lastCheckedOnGround = this.entity.onGround();
+    }
+
+    private boolean isIdle() {
+        if (this.positionSynced && !this.entity.needsSync && !this.entity.getEntityData().isDirty() && this.entity.getX() == this.lastCheckedX && this.entity.getY() == this.lastCheckedY && this.entity.getZ() == this.lastCheckedZ && this.entity.getYRot() == this.lastCheckedYRot && this.entity.getXRot() == this.lastCheckedXRot && this.entity.getYHeadRot() == this.lastCheckedYHeadRot && this.entity.onGround() == this.lastCheckedOnGround && this.entity.getDeltaMovement().equals(this.lastCheckedMovement)) {
+            Entity entity = this.entity;
+
+            if (entity instanceof LivingEntity) {
+                LivingEntity livingentity = (LivingEntity) entity;
+
+                return livingentity.getAttributes().getAttributesToSync().isEmpty();
+            } else {
+                return true;
+            }
+        } else {
+            return false;
+        }
     }
 
     public void sendChanges() {
@@ -125,7 +164,7 @@ public class ServerEntity {
             }
         }
 
-        if (this.tickCount % this.updateInterval == 0 || this.entity.needsSync || this.entity.getEntityData().isDirty()) {
+        if ((this.tickCount % this.updateInterval == 0 || this.entity.needsSync || this.entity.getEntityData().isDirty()) && !this.isIdle()) {
             byte b0 = Mth.packDegrees(this.entity.getYRot());
             byte b1 = Mth.packDegrees(this.entity.getXRot());
             boolean flag = Math.abs(b0 - this.lastSentYRot) >= 1 || Math.abs(b1 - this.lastSentXRot) >= 1;
@@ -140,6 +179,7 @@ public class ServerEntity {
                 this.positionCodec.setBase(this.entity.trackingPosition());
                 this.sendDirtyEntityData();
                 this.wasRiding = true;
+                this.positionSynced = true;
             } else {
                 label197:
                 {
@@ -153,6 +193,7 @@ public class ServerEntity {
                             NewMinecartBehavior newminecartbehavior = (NewMinecartBehavior) minecartbehavior;
 
                             this.handleMinecartPosRot(newminecartbehavior, b0, b1, flag);
+                            this.positionSynced = true;
                             break label197;
                         }
                     }
@@ -169,7 +210,7 @@ public class ServerEntity {
                     long k = this.positionCodec.encodeZ(vec3);
                     boolean flag5 = i < -32768L || i > 32767L || j < -32768L || j > 32767L || k < -32768L || k > 32767L;
 
-                    if (!this.entity.getRequiresPrecisePosition() && !flag5 && this.teleportDelay <= 400 && !this.wasRiding && this.wasOnGround == this.entity.onGround()) {
+                    if (!this.entity.getRequiresPrecisePosition() && !flag5 && this.teleportDelay <= 400 && !this.wasRiding && this.wasOnGround == this.entity.onGround() && (flag1 || this.positionSynced)) {
                         if ((!flag2 || !flag) && !(this.entity instanceof AbstractArrow)) {
                             if (flag2) {
                                 packet1 = new ClientboundMoveEntityPacket.Pos(this.entity.getId(), (short) ((int) i), (short) ((int) j), (short) ((int) k), this.entity.onGround());
@@ -191,6 +232,12 @@ public class ServerEntity {
                         flag4 = true;
                     }
 
+                    if (packet1 instanceof ClientboundEntityPositionSyncPacket) {
+                        this.positionSynced = true;
+                    } else if (flag1 && flag3) {
+                        this.positionSynced = false;
+                    }
+
                     if (this.entity.needsSync || this.trackDelta || this.entity instanceof LivingEntity && ((LivingEntity) this.entity).isFallFlying()) {
                         Vec3 vec31 = this.entity.getDeltaMovement();
                         double d0 = vec31.distanceToSqr(this.lastSentMovement);
@@ -235,6 +282,7 @@ public class ServerEntity {
             }
 
             this.entity.needsSync = false;
+            this.updateLastChecked();
         }
 
         ++this.tickCount;
@@ -269,7 +317,7 @@ public class ServerEntity {
 
     public void removePairing(ServerPlayer player) {
         this.entity.stopSeenByPlayer(player);
-        player.connection.send(new ClientboundRemoveEntitiesPacket(new int[]{this.entity.getId()}));
+        this.synchronizer.sendToPlayer(player, new ClientboundRemoveEntitiesPacket(new int[]{this.entity.getId()}));
     }
 
     public void addPairing(ServerPlayer player) {
@@ -277,7 +325,7 @@ public class ServerEntity {
 
         Objects.requireNonNull(list);
         this.sendPairingData(player, list::add);
-        player.connection.send(new ClientboundBundlePacket(list));
+        this.synchronizer.sendToPlayer(player, new ClientboundBundlePacket(list));
         this.entity.startSeenByPlayer(player);
     }
 
@@ -290,6 +338,11 @@ public class ServerEntity {
         Packet<ClientGamePacketListener> packet = this.entity.getAddEntityPacket(this);
 
         broadcast.accept(packet);
+        if (this.trackedDataValuesChanged) {
+            this.trackedDataValues = this.entity.getEntityData().getNonDefaultValues();
+            this.trackedDataValuesChanged = false;
+        }
+
         if (this.trackedDataValues != null) {
             broadcast.accept(new ClientboundSetEntityDataPacket(this.entity.getId(), this.trackedDataValues));
         }
@@ -363,7 +416,7 @@ public class ServerEntity {
         List<SynchedEntityData.DataValue<?>> list = synchedentitydata.packDirty();
 
         if (list != null) {
-            this.trackedDataValues = synchedentitydata.getNonDefaultValues();
+            this.trackedDataValuesChanged = true;
             this.synchronizer.sendToTrackingPlayersAndSelf(new ClientboundSetEntityDataPacket(this.entity.getId(), list));
         }
 
@@ -386,5 +439,7 @@ public class ServerEntity {
         void sendToTrackingPlayersAndSelf(Packet<? super ClientGamePacketListener> packet);
 
         void sendToTrackingPlayersFiltered(Packet<? super ClientGamePacketListener> packet, Predicate<ServerPlayer> predicate);
+
+        void sendToPlayer(ServerPlayer player, Packet<? super ClientGamePacketListener> packet);
     }
 }
@@ -100,6 +100,7 @@ import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.entity.ReputationEventHandler;
 import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.entity.ai.sensing.SensorQueryCache;
 import net.minecraft.world.entity.ai.village.ReputationEventType;
 import net.minecraft.world.entity.ai.village.poi.PoiManager;
 import net.minecraft.world.entity.ai.village.poi.PoiRecord;
@@ -140,6 +141,7 @@ import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.chunk.status.ChunkStatus;
 import net.minecraft.world.level.chunk.storage.EntityStorage;
+import net.minecraft.world.level.chunk.storage.LegacyTagFixer;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.chunk.storage.SimpleRegionStorage;
 import net.minecraft.world.level.dimension.BuiltinDimensionTypes;
@@ -165,6 +167,7 @@ import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemp
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.pathfinder.PathTypeCache;
+import net.minecraft.world.level.pathfinder.PathfindingService;
 import net.minecraft.world.level.portal.PortalForcer;
 import net.minecraft.world.level.redstone.ExperimentalRedstoneUtils;
 import net.minecraft.world.level.redstone.Orientation;
@@ -181,6 +184,7 @@ import net.minecraft.world.phys.shapes.BooleanOp;
 import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
 import net.minecraft.world.ticks.LevelTicks;
+import net.minecraft.world.ticks.TickPriority;
 import net.minecraft.world.waypoints.WaypointTransmitter;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -200,10 +204,12 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
     private final MinecraftServer server;
     public final ServerLevelData serverLevelData;
     private final EntityTickList entityTickList = new EntityTickList();
+    private final @Nullable EntityIslandTicker entityIslandTicker;
     private final ServerWaypointManager waypointManager;
     private final EnvironmentAttributeSystem environmentAttributes;
     public final PersistentEntitySectionManager<Entity> entityManager;
     private final GameEventDispatcher gameEventDispatcher;
+    private final @Nullable SensorQueryCache sensorQueryCache;
     public boolean noSave;
     private final SleepStatus sleepStatus;
     private int emptyTime;
@@ -211,6 +217,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
     private final LevelTicks<Block> blockTicks = new LevelTicks<Block>(this::isPositionTickingWithEntitiesLoaded);
     private final LevelTicks<Fluid> fluidTicks = new LevelTicks<Fluid>(this::isPositionTickingWithEntitiesLoaded);
     private final PathTypeCache pathTypesByPosCache = new PathTypeCache();
+    private final @Nullable PathfindingService pathfindingService;
     private final Set<Mob> navigatingMobs = new ObjectOpenHashSet();
     private volatile boolean isUpdatingNavigations;
     protected final Raids raids;
@@ -227,7 +234,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
     private final LevelDebugSynchronizers debugSynchronizers = new LevelDebugSynchronizers(this);
 
     public ServerLevel(MinecraftServer server, Executor executor, LevelStorageSource.LevelStorageAccess levelStorage, ServerLevelData levelData, ResourceKey<Level> dimension, LevelStem levelStem, boolean isDebug, long biomeZoomSeed, List<CustomSpawner> customSpawners, boolean tickTime, @Nullable RandomSequences randomSequences) {
-        super(levelData, dimension, server.registryAccess(), levelStem.type(), false, isDebug, biomeZoomSeed, server.getMaxChainedNeighborUpdates());
+        super(levelData, dimension, server.registryAccess(), levelStem.type(), false, isDebug, biomeZoomSeed, server.getMaxChainedNeighborUpdates(), server.isParallelEntityTicking());
         this.tickTime = tickTime;
         this.server = server;
         this.customSpawners = customSpawners;
@@ -235,9 +242,11 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         ChunkGenerator chunkgenerator = levelStem.generator();
         boolean flag2 = server.forceSynchronousWrites();
         DataFixer datafixer = server.getFixerUpper();
-        EntityPersistentStorage<Entity> entitypersistentstorage = new EntityStorage(new SimpleRegionStorage(new RegionStorageInfo(levelStorage.getLevelId(), dimension, "entities"), levelStorage.getDimensionPath(dimension).resolve("entities"), datafixer, flag2, DataFixTypes.ENTITY_CHUNK), this, server);
+        EntityPersistentStorage<Entity> entitypersistentstorage = new EntityStorage(new SimpleRegionStorage(new RegionStorageInfo(levelStorage.getLevelId(), dimension, "entities"), levelStorage.getDimensionPath(dimension).resolve("entities"), datafixer, flag2, server.isRegionFileMemoryMappedReads(), DataFixTypes.ENTITY_CHUNK, LegacyTagFixer.EMPTY), this, server);
 
-        this.entityManager = new PersistentEntitySectionManager<Entity>(Entity.class, new ServerLevel.EntityCallbacks(), entitypersistentstorage);
+        this.entityManager = new PersistentEntitySectionManager<Entity>(Entity.class, new ServerLevel.EntityCallbacks(), entitypersistentstorage, server.isParallelEntityTicking());
+        this.entityIslandTicker = server.isParallelEntityTicking() ? new EntityIslandTicker(this) : null;
+        this.pathfindingService = server.isAsyncPathfinding() ? new PathfindingService() : null;
         StructureTemplateManager structuretemplatemanager = server.getStructureManager();
         int j = server.getPlayerList().getViewDistance();
         int k = server.getPlayerList().getSimulationDistance();
@@ -270,6 +279,8 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
 
         this.sleepStatus = new SleepStatus();
         this.gameEventDispatcher = new GameEventDispatcher(this);
+        this.neighborUpdater.setMergeDuplicateUpdates(server.isRedstoneGraphEvaluator());
+        this.sensorQueryCache = server.isSharedSensorQueries() ? new SensorQueryCache(this) : null;
         this.randomSequences = (RandomSequences) Objects.requireNonNullElseGet(randomSequences, () -> {
             return (RandomSequences) this.getDataStorage().computeIfAbsent(RandomSequences.TYPE);
         });
@@ -377,6 +388,10 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
             ++this.emptyTime;
         }
 
+        if (this.pathfindingService != null) {
+            this.pathfindingService.tick(this.getGameTime());
+        }
+
         if (this.emptyTime < 300) {
             profilerfiller.push("entities");
             if (this.dragonFight != null && flag) {
@@ -390,6 +405,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
                     if (!tickratemanager.isEntityFrozen(entity)) {
                         profilerfiller.push("checkDespawn");
                         entity.checkDespawn();
+                        this.chunkSource.updateEntitySpawnState(entity);
                         profilerfiller.pop();
                         if (entity instanceof ServerPlayer || this.chunkSource.chunkMap.getDistanceManager().inEntityTickingRange(entity.chunkPosition().toLong())) {
                             Entity entity1 = entity.getVehicle();
@@ -402,13 +418,23 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
                                 entity.stopRiding();
                             }
 
-                            profilerfiller.push("tick");
-                            this.guardEntityTick(this::tickNonPassenger, entity);
-                            profilerfiller.pop();
+                            if (this.entityIslandTicker != null) {
+                                this.entityIslandTicker.add(entity);
+                            } else {
+                                profilerfiller.push("tick");
+                                this.guardEntityTick(this::tickNonPassenger, entity);
+                                profilerfiller.pop();
+                            }
                         }
                     }
                 }
             });
+            if (this.entityIslandTicker != null) {
+                profilerfiller.push("entityIslands");
+                this.entityIslandTicker.tick();
+                profilerfiller.pop();
+            }
+
             profilerfiller.popPush("blockEntities");
             this.tickBlockEntities();
             profilerfiller.pop();
@@ -479,30 +505,30 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         int k = chunkpos.getMinBlockZ();
         ProfilerFiller profilerfiller = Profiler.get();
 
-        profilerfiller.push("iceandsnow");
-
-        for (int l = 0; l < tickSpeed; ++l) {
-            if (this.random.nextInt(48) == 0) {
-                this.tickPrecipitation(this.getBlockRandomPos(j, 0, k, 15));
-            }
-        }
-
-        profilerfiller.popPush("tickBlocks");
+        this.tickIceAndSnow(chunk, tickSpeed);
+        profilerfiller.push("tickBlocks");
         if (tickSpeed > 0) {
             LevelChunkSection[] alevelchunksection = chunk.getSections();
 
             for (int i1 = 0; i1 < alevelchunksection.length; ++i1) {
                 LevelChunkSection levelchunksection = alevelchunksection[i1];
 
-                if (levelchunksection.isRandomlyTicking()) {
+                if (levelchunksection.isRandomlyTicking() && levelchunksection.getRandomTickingBlockCount() > 0) {
                     int j1 = chunk.getSectionYFromSectionIndex(i1);
                     int k1 = SectionPos.sectionToBlockCoord(j1);
 
                     for (int l1 = 0; l1 < tickSpeed; ++l1) {
-                        BlockPos blockpos = this.getBlockRandomPos(j, k1, k, 15);
+                        int i2 = this.getRandomSectionIndex();
+
+                        if (i2 >= levelchunksection.getRandomTickingBlockCount()) {
+                            continue;
+                        }
+
+                        int j2 = levelchunksection.getRandomTickingBlock(i2);
+                        BlockPos blockpos = new BlockPos(j + (j2 & 15), k1 + (j2 >> 8 & 15), k + (j2 >> 4 & 15));
 
                         profilerfiller.push("randomTick");
-                        BlockState blockstate = levelchunksection.getBlockState(blockpos.getX() - j, blockpos.getY() - k1, blockpos.getZ() - k);
+                        BlockState blockstate = levelchunksection.getBlockState(j2 & 15, j2 >> 8 & 15, j2 >> 4 & 15);
 
                         if (blockstate.isRandomlyTicking()) {
                             blockstate.randomTick(this, blockpos, this.random);
@@ -523,6 +549,23 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         profilerfiller.pop();
     }
 
+    public void tickIceAndSnow(LevelChunk chunk, int tickSpeed) {
+        ChunkPos chunkpos = chunk.getPos();
+        int j = chunkpos.getMinBlockX();
+        int k = chunkpos.getMinBlockZ();
+        ProfilerFiller profilerfiller = Profiler.get();
+
+        profilerfiller.push("iceandsnow");
+
+        for (int l = 0; l < tickSpeed; ++l) {
+            if (this.random.nextInt(48) == 0) {
+                this.tickPrecipitation(this.getBlockRandomPos(j, 0, k, 15));
+            }
+        }
+
+        profilerfiller.pop();
+    }
+
     public void tickThunder(LevelChunk chunk) {
         ChunkPos chunkpos = chunk.getPos();
         boolean flag = this.isRaining();
@@ -985,6 +1028,74 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         return list.isEmpty() ? null : (ServerPlayer) list.get(this.random.nextInt(list.size()));
     }
 
+    @Override
+    public boolean setBlock(BlockPos pos, BlockState blockState, @Block.UpdateFlags int updateFlags, int updateLimit) {
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            if (!this.isInValidBounds(pos) || this.isDebug()) {
+                return false;
+            } else {
+                BlockState blockstate1 = entityislandticker_island.getPendingBlockState(pos);
+
+                if ((blockstate1 != null ? blockstate1 : this.getBlockState(pos)) == blockState) {
+                    return false;
+                } else {
+                    BlockPos blockpos1 = pos.immutable();
+
+                    entityislandticker_island.deferSetBlock(blockpos1, blockState, () -> {
+                        super.setBlock(blockpos1, blockState, updateFlags, updateLimit);
+                    });
+                    return true;
+                }
+            }
+        } else {
+            return super.setBlock(pos, blockState, updateFlags, updateLimit);
+        }
+    }
+
+    @Override
+    public void scheduleTick(BlockPos pos, Block type, int tickDelay, TickPriority priority) {
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockPos blockpos1 = pos.immutable();
+
+            entityislandticker_island.defer(() -> {
+                super.scheduleTick(blockpos1, type, tickDelay, priority);
+            });
+        } else {
+            super.scheduleTick(pos, type, tickDelay, priority);
+        }
+
+    }
+
+    @Override
+    public void scheduleTick(BlockPos pos, Block type, int tickDelay) {
+        this.scheduleTick(pos, type, tickDelay, TickPriority.NORMAL);
+    }
+
+    @Override
+    public void scheduleTick(BlockPos pos, Fluid type, int tickDelay, TickPriority priority) {
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockPos blockpos1 = pos.immutable();
+
+            entityislandticker_island.defer(() -> {
+                super.scheduleTick(blockpos1, type, tickDelay, priority);
+            });
+        } else {
+            super.scheduleTick(pos, type, tickDelay, priority);
+        }
+
+    }
+
+    @Override
+    public void scheduleTick(BlockPos pos, Fluid type, int tickDelay) {
+        this.scheduleTick(pos, type, tickDelay, TickPriority.NORMAL);
+    }
+
     @Override
     public boolean addFreshEntity(Entity entity) {
         return this.addEntity(entity);
@@ -1024,7 +1135,13 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
     }
 
     private boolean addEntity(Entity entity) {
-        if (entity.isRemoved()) {
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            return entityislandticker_island.deferAddEntity(entity, () -> {
+                this.addEntity(entity);
+            }) && !entity.isRemoved() && !this.entityManager.isLoaded(entity.getUUID());
+        } else if (entity.isRemoved()) {
             ServerLevel.LOGGER.warn("Tried to add entity {} but it was marked as removed already", EntityType.getKey(entity.getType()));
             return false;
         } else {
@@ -1048,6 +1165,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
     public void unload(LevelChunk levelChunk) {
         levelChunk.clearAllBlockEntities();
         levelChunk.unregisterTickContainerFromLevel(this);
+        this.gameEventDispatcher.removeListenerSections(levelChunk.getPos());
         this.debugSynchronizers.dropChunk(levelChunk.getPos());
     }
 
@@ -1145,9 +1263,26 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         return this.dimensionType().logicalHeight();
     }
 
+    public GameEventDispatcher getGameEventDispatcher() {
+        return this.gameEventDispatcher;
+    }
+
+    public @Nullable SensorQueryCache getSensorQueryCache() {
+        return EntityIslandTicker.currentIsland() == null ? this.sensorQueryCache : null;
+    }
+
     @Override
     public void gameEvent(Holder<GameEvent> gameEvent, Vec3 position, GameEvent.Context context) {
-        this.gameEventDispatcher.post(gameEvent, position, context);
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            entityislandticker_island.defer(() -> {
+                this.gameEventDispatcher.post(gameEvent, position, context);
+            });
+        } else {
+            this.gameEventDispatcher.post(gameEvent, position, context);
+        }
+
     }
 
     @Override
@@ -1159,7 +1294,6 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         }
 
         this.getChunkSource().blockChanged(pos);
-        this.pathTypesByPosCache.invalidate(pos);
         VoxelShape voxelshape = old.getCollisionShape(this, pos);
         VoxelShape voxelshape1 = current.getCollisionShape(this, pos);
 
@@ -1194,22 +1328,66 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
 
     @Override
     public void updateNeighborsAt(BlockPos pos, Block sourceBlock, @Nullable Orientation orientation) {
-        this.neighborUpdater.updateNeighborsAtExceptFromFacing(pos, sourceBlock, (Direction) null, orientation);
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockPos blockpos1 = pos.immutable();
+
+            entityislandticker_island.defer(() -> {
+                this.neighborUpdater.updateNeighborsAtExceptFromFacing(blockpos1, sourceBlock, (Direction) null, orientation);
+            });
+        } else {
+            this.neighborUpdater.updateNeighborsAtExceptFromFacing(pos, sourceBlock, (Direction) null, orientation);
+        }
+
     }
 
     @Override
     public void updateNeighborsAtExceptFromFacing(BlockPos pos, Block blockObject, Direction skipDirection, @Nullable Orientation orientation) {
-        this.neighborUpdater.updateNeighborsAtExceptFromFacing(pos, blockObject, skipDirection, orientation);
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockPos blockpos1 = pos.immutable();
+
+            entityislandticker_island.defer(() -> {
+                this.neighborUpdater.updateNeighborsAtExceptFromFacing(blockpos1, blockObject, skipDirection, orientation);
+            });
+        } else {
+            this.neighborUpdater.updateNeighborsAtExceptFromFacing(pos, blockObject, skipDirection, orientation);
+        }
+
     }
 
     @Override
     public void neighborChanged(BlockPos pos, Block changedBlock, @Nullable Orientation orientation) {
-        this.neighborUpdater.neighborChanged(pos, changedBlock, orientation);
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockPos blockpos1 = pos.immutable();
+
+            entityislandticker_island.defer(() -> {
+                this.neighborUpdater.neighborChanged(blockpos1, changedBlock, orientation);
+            });
+        } else {
+            this.neighborUpdater.neighborChanged(pos, changedBlock, orientation);
+        }
+
     }
 
     @Override
     public void neighborChanged(BlockState state, BlockPos pos, Block changedBlock, @Nullable Orientation orientation, boolean movedByPiston) {
-        this.neighborUpdater.neighborChanged(state, pos, changedBlock, orientation, movedByPiston);
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockPos blockpos1 = pos.immutable();
+
+            entityislandticker_island.defer(() -> {
+                this.neighborUpdater.neighborChanged(state, blockpos1, changedBlock, orientation, movedByPiston);
+            });
+        } else {
+            this.neighborUpdater.neighborChanged(state, pos, changedBlock, orientation, movedByPiston);
+        }
+
     }
 
     @Override
@@ -1227,8 +1405,35 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         return this.chunkSource;
     }
 
+    @Override
+    protected boolean isLevelThread() {
+        return Thread.currentThread() == this.chunkSource.getOwnerThread();
+    }
+
+    @Override
+    public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
+        if (this.entityIslandTicker != null && EntityIslandTicker.currentIsland() != null && this.isInValidBounds(pos)) {
+            LevelChunk levelchunk = this.getChunkAt(pos);
+
+            synchronized (this.entityIslandTicker) {
+                return levelchunk.getBlockEntity(pos, LevelChunk.EntityCreationType.IMMEDIATE);
+            }
+        } else {
+            return super.getBlockEntity(pos);
+        }
+    }
+
     @Override
     public void explode(@Nullable Entity source, @Nullable DamageSource damageSource, @Nullable ExplosionDamageCalculator damageCalculator, double x, double y, double z, float r, boolean fire, Level.ExplosionInteraction interactionType, ParticleOptions smallExplosionParticles, ParticleOptions largeExplosionParticles, WeightedList<ExplosionParticleInfo> blockParticles, Holder<SoundEvent> explosionSound) {
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            entityislandticker_island.defer(() -> {
+                this.explode(source, damageSource, damageCalculator, x, y, z, r, fire, interactionType, smallExplosionParticles, largeExplosionParticles, blockParticles, explosionSound);
+            });
+            return;
+        }
+
         Explosion.BlockInteraction explosion_blockinteraction;
 
         switch (interactionType) {
@@ -1273,7 +1478,18 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
 
     @Override
     public void blockEvent(BlockPos pos, Block block, int b0, int b1) {
-        this.blockEvents.add(new BlockEventData(pos, block, b0, b1));
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            BlockEventData blockeventdata = new BlockEventData(pos.immutable(), block, b0, b1);
+
+            entityislandticker_island.defer(() -> {
+                this.blockEvents.add(blockeventdata);
+            });
+        } else {
+            this.blockEvents.add(new BlockEventData(pos, block, b0, b1));
+        }
+
     }
 
     private void runBlockEvents() {
@@ -1733,6 +1949,10 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         return this.pathTypesByPosCache;
     }
 
+    public @Nullable PathfindingService getPathfindingService() {
+        return this.pathfindingService;
+    }
+
     public void waitForEntities(ChunkPos centerChunk, int radius) {
         List<ChunkPos> list = ChunkPos.rangeClosed(centerChunk, radius).toList();
 
@@ -1842,6 +2062,12 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         return this.chunkSource.getGenerator().getSeaLevel();
     }
 
+    @Override
+    public void blockEntityChanged(BlockPos pos) {
+        super.blockEntityChanged(pos);
+        this.getChunkSource().blockEntityChanged(pos);
+    }
+
     @Override
     public void onBlockEntityAdded(BlockEntity blockEntity) {
         super.onBlockEntityAdded(blockEntity);
@@ -1962,6 +2188,7 @@ public class ServerLevel extends Level implements WorldGenLevel, ServerEntityGet
         }
 
         public void onSectionChange(Entity entity) {
+            ServerLevel.this.getChunkSource().moveEntity(entity);
             entity.updateDynamicGameEventListener(DynamicGameEventListener::move);
         }
     }
@@ -1162,6 +1162,11 @@ public class ServerPlayer extends Player {
     public @Nullable ServerPlayer teleport(TeleportTransition transition) {
         if (this.isRemoved()) {
             return null;
+        } else if (transition.newLevel().dimension() != this.level().dimension() && this.server.isTickingLevelsInParallel()) {
+            this.server.executeAtTickBarrier(() -> {
+                this.teleport(transition);
+            });
+            return this;
         } else {
             if (transition.missingRespawnBlock()) {
                 this.connection.send(new ClientboundGameEventPacket(ClientboundGameEventPacket.NO_RESPAWN_BLOCK_AVAILABLE, 0.0F));
@@ -1,17 +1,31 @@
 package net.minecraft.server.level;
 
-import com.mojang.datafixers.util.Pair;
+import com.google.common.collect.ImmutableList;
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.objects.ObjectList;
 import it.unimi.dsi.fastutil.objects.ObjectListIterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntSupplier;
 import net.minecraft.SharedConstants;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.util.Util;
+import net.minecraft.util.profiling.metrics.MetricCategory;
+import net.minecraft.util.profiling.metrics.MetricSampler;
+import net.minecraft.util.profiling.metrics.MetricsRegistry;
+import net.minecraft.util.profiling.metrics.ProfilerMeasured;
 import net.minecraft.util.thread.ConsecutiveExecutor;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.LightLayer;
@@ -23,22 +37,32 @@ import net.minecraft.world.level.lighting.LevelLightEngine;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 
-public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCloseable {
+public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCloseable, ProfilerMeasured {
 
     public static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int BULK_SECTION_THRESHOLD = 1024;
     private static final Logger LOGGER = LogUtils.getLogger();
     private final ConsecutiveExecutor consecutiveExecutor;
-    private final ObjectList<Pair<ThreadedLevelLightEngine.TaskType, Runnable>> lightTasks = new ObjectArrayList();
+    private final ObjectList<ThreadedLevelLightEngine.LightTask> lightTasks = new ObjectArrayList();
     private final ChunkMap chunkMap;
     private final ChunkTaskDispatcher taskDispatcher;
     private final int taskPerBatch = 1000;
     private final AtomicBoolean scheduled = new AtomicBoolean();
-
-    public ThreadedLevelLightEngine(LightChunkGetter lightChunkGetter, ChunkMap chunkMap, boolean hasSkyLight, ConsecutiveExecutor consecutiveExecutor, ChunkTaskDispatcher taskDispatcher) {
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final boolean parallel;
+    private volatile double taskLatency;
+    private volatile double updateTime;
+    private final Long2ObjectMap<LongList> bulkSections = new Long2ObjectOpenHashMap();
+    private @Nullable Thread bulkUpdateThread;
+    private int bulkUpdateDepth;
+
+    public ThreadedLevelLightEngine(LightChunkGetter lightChunkGetter, ChunkMap chunkMap, boolean hasSkyLight, boolean parallel, ConsecutiveExecutor consecutiveExecutor, ChunkTaskDispatcher taskDispatcher) {
         super(lightChunkGetter, true, hasSkyLight);
         this.chunkMap = chunkMap;
         this.taskDispatcher = taskDispatcher;
         this.consecutiveExecutor = consecutiveExecutor;
+        this.parallel = parallel;
+        MetricsRegistry.INSTANCE.add(this);
     }
 
     public void close() {}
@@ -50,6 +74,11 @@ public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCl
 
     @Override
     public void checkBlock(BlockPos pos) {
+        if (this.bulkUpdateThread == Thread.currentThread()) {
+            this.addBulkCheck(pos);
+            return;
+        }
+
         BlockPos blockpos1 = pos.immutable();
 
         this.addTask(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()), ThreadedLevelLightEngine.TaskType.PRE_UPDATE, Util.name(() -> {
@@ -59,6 +88,90 @@ public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCl
         }));
     }
 
+    public void startBulkUpdate() {
+        Thread thread = Thread.currentThread();
+
+        if (this.bulkUpdateThread != null && this.bulkUpdateThread != thread) {
+            throw new IllegalStateException("Bulk light update already in progress on " + this.bulkUpdateThread.getName());
+        } else {
+            this.bulkUpdateThread = thread;
+            ++this.bulkUpdateDepth;
+        }
+    }
+
+    public void endBulkUpdate() {
+        if (this.bulkUpdateThread != Thread.currentThread()) {
+            throw new IllegalStateException("No bulk light update in progress on " + Thread.currentThread().getName());
+        } else if (--this.bulkUpdateDepth == 0) {
+            this.bulkUpdateThread = null;
+            ObjectIterator objectiterator = Long2ObjectMaps.fastIterable(this.bulkSections).iterator();
+
+            while (objectiterator.hasNext()) {
+                Long2ObjectMap.Entry<LongList> long2objectmap_entry = (Long2ObjectMap.Entry) objectiterator.next();
+                long i = long2objectmap_entry.getLongKey();
+                LongList longlist = (LongList) long2objectmap_entry.getValue();
+
+                if (longlist.size() >= 1024) {
+                    SectionPos sectionpos = SectionPos.of(i);
+
+                    this.addTask(sectionpos.x(), sectionpos.z(), ThreadedLevelLightEngine.TaskType.PRE_UPDATE, Util.name(() -> {
+                        super.checkSection(sectionpos, longlist);
+                    }, () -> {
+                        String s = String.valueOf(sectionpos);
+
+                        return "relightSection " + s + " " + longlist.size();
+                    }));
+                } else {
+                    this.addTask(SectionPos.x(i), SectionPos.z(i), ThreadedLevelLightEngine.TaskType.PRE_UPDATE, Util.name(() -> {
+                        LongIterator longiterator = longlist.iterator();
+
+                        while (longiterator.hasNext()) {
+                            super.checkBlock(BlockPos.of(longiterator.nextLong()));
+                        }
+
+                    }, () -> {
+                        String s = String.valueOf(SectionPos.of(i));
+
+                        return "checkBlocks " + s + " " + longlist.size();
+                    }));
+                }
+            }
+
+            this.bulkSections.clear();
+        }
+    }
+
+    private void addBulkCheck(BlockPos pos) {
+        long i = SectionPos.blockToSection(pos.asLong());
+        LongList longlist = (LongList) this.bulkSections.get(i);
+
+        if (longlist == null) {
+            longlist = new LongArrayList();
+            this.bulkSections.put(i, longlist);
+        }
+
+        longlist.add(pos.asLong());
+    }
+
+    public void relightSections(LongSet sections) {
+        LongIterator longiterator = sections.iterator();
+
+        while (longiterator.hasNext()) {
+            this.relightSection(longiterator.nextLong());
+        }
+
+    }
+
+    private void relightSection(long sectionPos) {
+        SectionPos sectionpos = SectionPos.of(sectionPos);
+
+        this.addTask(sectionpos.x(), sectionpos.z(), ThreadedLevelLightEngine.TaskType.PRE_UPDATE, Util.name(() -> {
+            super.checkSection(sectionpos);
+        }, () -> {
+            return "relightSection " + String.valueOf(sectionpos);
+        }));
+    }
+
     protected void updateChunkStatus(ChunkPos pos) {
         this.addTask(pos.x, pos.z, () -> {
             return 0;
@@ -129,8 +242,11 @@ public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCl
     }
 
     private void addTask(int chunkX, int chunkZ, IntSupplier level, ThreadedLevelLightEngine.TaskType type, Runnable runnable) {
+        long k = Util.getNanos();
+
+        this.queuedTasks.incrementAndGet();
         this.taskDispatcher.submit(() -> {
-            this.lightTasks.add(Pair.of(type, runnable));
+            this.lightTasks.add(new ThreadedLevelLightEngine.LightTask(type, runnable, k));
             if (this.lightTasks.size() >= 1000) {
                 this.runUpdate();
             }
@@ -215,31 +331,48 @@ public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCl
 
     private void runUpdate() {
         int i = Math.min(this.lightTasks.size(), 1000);
-        ObjectListIterator<Pair<ThreadedLevelLightEngine.TaskType, Runnable>> objectlistiterator = this.lightTasks.iterator();
+        ObjectListIterator<ThreadedLevelLightEngine.LightTask> objectlistiterator = this.lightTasks.iterator();
+        long j = Util.getNanos();
 
-        int j;
+        int k;
 
-        for (j = 0; objectlistiterator.hasNext() && j < i; ++j) {
-            Pair<ThreadedLevelLightEngine.TaskType, Runnable> pair = (Pair) objectlistiterator.next();
+        for (k = 0; objectlistiterator.hasNext() && k < i; ++k) {
+            ThreadedLevelLightEngine.LightTask threadedlevellightengine_lighttask = (ThreadedLevelLightEngine.LightTask) objectlistiterator.next();
 
-            if (pair.getFirst() == ThreadedLevelLightEngine.TaskType.PRE_UPDATE) {
-                ((Runnable) pair.getSecond()).run();
+            if (threadedlevellightengine_lighttask.type() == ThreadedLevelLightEngine.TaskType.PRE_UPDATE) {
+                threadedlevellightengine_lighttask.runnable().run();
             }
         }
 
-        objectlistiterator.back(j);
-        super.runLightUpdates();
+        objectlistiterator.back(k);
+        if (this.parallel) {
+            super.runLightUpdatesConcurrently(Util.lightExecutor());
+        } else {
+            super.runLightUpdates();
+        }
+
+        long l = Util.getNanos();
+        long i1 = 0L;
+
+        int j1;
 
-        for (int k = 0; objectlistiterator.hasNext() && k < i; ++k) {
-            Pair<ThreadedLevelLightEngine.TaskType, Runnable> pair1 = (Pair) objectlistiterator.next();
+        for (j1 = 0; objectlistiterator.hasNext() && j1 < i; ++j1) {
+            ThreadedLevelLightEngine.LightTask threadedlevellightengine_lighttask1 = (ThreadedLevelLightEngine.LightTask) objectlistiterator.next();
 
-            if (pair1.getFirst() == ThreadedLevelLightEngine.TaskType.POST_UPDATE) {
-                ((Runnable) pair1.getSecond()).run();
+            if (threadedlevellightengine_lighttask1.type() == ThreadedLevelLightEngine.TaskType.POST_UPDATE) {
+                threadedlevellightengine_lighttask1.runnable().run();
             }
 
+            i1 += l - threadedlevellightengine_lighttask1.queuedTime();
             objectlistiterator.remove();
         }
 
+        this.queuedTasks.addAndGet(-j1);
+        this.updateTime = (double) (l - j) / 1000000.0D;
+        if (j1 > 0) {
+            this.taskLatency = (double) i1 / (double) j1 / 1000000.0D;
+        }
+
     }
 
     public CompletableFuture<?> waitForPendingTasks(int chunkX, int chunkZ) {
@@ -249,6 +382,21 @@ public class ThreadedLevelLightEngine extends LevelLightEngine implements AutoCl
         });
     }
 
+    @Override
+    public List<MetricSampler> profiledMetrics() {
+        String s = String.valueOf(this.chunkMap.level.dimension().identifier());
+
+        return ImmutableList.of(MetricSampler.create(s + "-light-queue-size", MetricCategory.LIGHTING, this.queuedTasks::get), MetricSampler.create(s + "-light-task-latency", MetricCategory.LIGHTING, () -> {
+            return this.taskLatency;
+        }), MetricSampler.create(s + "-light-update-time", MetricCategory.LIGHTING, () -> {
+            return this.updateTime;
+        }));
+    }
+
+    private static record LightTask(ThreadedLevelLightEngine.TaskType type, Runnable runnable, long queuedTime) {
+
+    }
+
     private static enum TaskType {
 
         PRE_UPDATE, POST_UPDATE;
@@ -2,9 +2,10 @@ package net.minecraft.server.network;
 
 import com.google.common.collect.Comparators;
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
-import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -14,11 +15,11 @@ import net.minecraft.SharedConstants;
 import net.minecraft.network.protocol.game.ClientboundChunkBatchFinishedPacket;
 import net.minecraft.network.protocol.game.ClientboundChunkBatchStartPacket;
 import net.minecraft.network.protocol.game.ClientboundForgetLevelChunkPacket;
-import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
 import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
+import net.minecraft.util.Util;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.LevelChunk;
 import org.slf4j.Logger;
@@ -30,7 +31,17 @@ public class PlayerChunkSender {
     public static final float MAX_CHUNKS_PER_TICK = 64.0F;
     private static final float START_CHUNKS_PER_TICK = 9.0F;
     private static final int MAX_UNACKNOWLEDGED_BATCHES = 10;
+    private static final int NEAR_CHUNK_DISTANCE_SQUARED = 4;
+    private static final float IN_VIEW_COS = 0.5F;
+    private static final float BESIDE_VIEW_COS = -0.25F;
+    private static final long TICK_NANOS = 50000000L;
     private final LongSet pendingChunks = new LongOpenHashSet();
+    private final LongArrayFIFOQueue batchSendTimes = new LongArrayFIFOQueue();
+    private final IntArrayFIFOQueue batchSizes = new IntArrayFIFOQueue();
+    private long smoothedRoundTripNanos = -1L;
+    private float deliveredChunksPerTick = -1.0F;
+    private long lastBatchAckNanos = -1L;
+    private int ignoredBatchAcks;
     private final boolean memoryConnection;
     private float desiredChunksPerTick = 9.0F;
     private float batchQuota;
@@ -61,16 +72,18 @@ public class PlayerChunkSender {
                 if (!this.pendingChunks.isEmpty()) {
                     ServerLevel serverlevel = player.level();
                     ChunkMap chunkmap = serverlevel.getChunkSource().chunkMap;
-                    List<LevelChunk> list = this.collectChunksToSend(chunkmap, player.chunkPosition());
+                    List<LevelChunk> list = this.collectChunksToSend(chunkmap, player.chunkPosition(), player.getYRot());
 
                     if (!list.isEmpty()) {
                         ServerGamePacketListenerImpl servergamepacketlistenerimpl = player.connection;
 
                         ++this.unacknowledgedBatches;
+                        this.batchSendTimes.enqueue(Util.getNanos());
+                        this.batchSizes.enqueue(list.size());
                         servergamepacketlistenerimpl.send(ClientboundChunkBatchStartPacket.INSTANCE);
 
                         for (LevelChunk levelchunk : list) {
-                            sendChunk(servergamepacketlistenerimpl, serverlevel, levelchunk);
+                            sendChunk(servergamepacketlistenerimpl, serverlevel, chunkmap, levelchunk);
                         }
 
                         servergamepacketlistenerimpl.send(new ClientboundChunkBatchFinishedPacket(list.size()));
@@ -81,8 +94,8 @@ public class PlayerChunkSender {
         }
     }
 
-    private static void sendChunk(ServerGamePacketListenerImpl connection, ServerLevel level, LevelChunk chunk) {
-        connection.send(new ClientboundLevelChunkWithLightPacket(chunk, level.getLightEngine(), (BitSet) null, (BitSet) null));
+    private static void sendChunk(ServerGamePacketListenerImpl connection, ServerLevel level, ChunkMap chunkMap, LevelChunk chunk) {
+        connection.send(chunkMap.getChunkPacket(chunk));
         ChunkPos chunkpos = chunk.getPos();
 
         if (SharedConstants.DEBUG_VERBOSE_SERVER_EVENTS) {
@@ -90,17 +103,20 @@ public class PlayerChunkSender {
         }
 
         level.debugSynchronizers().startTrackingChunk(connection.player, chunk.getPos());
+        chunkMap.onChunkSentToPlayer(connection.player, chunkpos);
     }
 
-    private List<LevelChunk> collectChunksToSend(ChunkMap chunkMap, ChunkPos playerPos) {
+    private List<LevelChunk> collectChunksToSend(ChunkMap chunkMap, ChunkPos playerPos, float yRot) {
         int i = Mth.floor(this.batchQuota);
+        float f = -Mth.sin(yRot * Mth.DEG_TO_RAD);
+        float f1 = Mth.cos(yRot * Mth.DEG_TO_RAD);
         List<LevelChunk> list;
 
         if (!this.memoryConnection && this.pendingChunks.size() > i) {
             Stream stream = this.pendingChunks.stream();
-
-            Objects.requireNonNull(playerPos);
-            LongStream longstream = ((List) stream.collect(Comparators.least(i, Comparator.comparingInt(playerPos::distanceSquared)))).stream().mapToLong(Long::longValue);
+            LongStream longstream = ((List) stream.collect(Comparators.least(i, Comparator.comparingInt((olong) -> {
+                return sendPriority(playerPos, f, f1, (Long) olong);
+            })))).stream().mapToLong(Long::longValue);
 
             Objects.requireNonNull(chunkMap);
             list = longstream.mapToObj(chunkMap::getChunkToSend).filter(Objects::nonNull).toList();
@@ -109,7 +125,7 @@ public class PlayerChunkSender {
 
             Objects.requireNonNull(chunkMap);
             list = longstream1.mapToObj(chunkMap::getChunkToSend).filter(Objects::nonNull).sorted(Comparator.comparingInt((levelchunk) -> {
-                return playerPos.distanceSquared(levelchunk.getPos());
+                return sendPriority(playerPos, f, f1, levelchunk.getPos().toLong());
             })).toList();
         }
 
@@ -120,14 +136,72 @@ public class PlayerChunkSender {
         return list;
     }
 
+    private static int sendPriority(ChunkPos playerPos, float lookX, float lookZ, long pos) {
+        int i = ChunkPos.getX(pos) - playerPos.x;
+        int j = ChunkPos.getZ(pos) - playerPos.z;
+        int k = i * i + j * j;
+
+        if (k <= 4) {
+            return k;
+        } else {
+            float f = ((float) i * lookX + (float) j * lookZ) / Mth.sqrt((float) k);
+
+            return f >= 0.5F ? k : (f >= -0.25F ? k * 2 : k * 4);
+        }
+    }
+
     public void onChunkBatchReceivedByClient(float desiredChunksPerTick) {
         --this.unacknowledgedBatches;
         this.desiredChunksPerTick = Double.isNaN((double) desiredChunksPerTick) ? 0.01F : Mth.clamp(desiredChunksPerTick, 0.01F, 64.0F);
-        if (this.unacknowledgedBatches == 0) {
+        if (this.unacknowledgedBatches <= 0) {
+            this.unacknowledgedBatches = 0;
             this.batchQuota = 1.0F;
         }
 
-        this.maxUnacknowledgedBatches = 10;
+        long i = Util.getNanos();
+
+        if (this.ignoredBatchAcks > 0) {
+            --this.ignoredBatchAcks;
+        } else if (!this.batchSendTimes.isEmpty()) {
+            long j = this.batchSendTimes.dequeueLong();
+            int k = this.batchSizes.dequeueInt();
+            long l = i - j;
+            long i1 = i - Math.max(j, this.lastBatchAckNanos);
+
+            this.smoothedRoundTripNanos = this.smoothedRoundTripNanos < 0L ? l : this.smoothedRoundTripNanos + (l - this.smoothedRoundTripNanos) / 8L;
+            if (i1 > 0L) {
+                float f = (float) k * 5.0E7F / (float) i1;
+
+                this.deliveredChunksPerTick = this.deliveredChunksPerTick < 0.0F ? f : this.deliveredChunksPerTick + (f - this.deliveredChunksPerTick) / 8.0F;
+            }
+        }
+
+        this.lastBatchAckNanos = i;
+        if (this.unacknowledgedBatches == 0) {
+            this.dropBatchSendTimes();
+        }
+
+        if (this.smoothedRoundTripNanos < 0L) {
+            this.maxUnacknowledgedBatches = 10;
+        } else {
+            float f1 = this.deliveredChunksPerTick < 0.0F ? 1.0F : Math.min(1.0F, this.deliveredChunksPerTick / this.desiredChunksPerTick);
+
+            this.maxUnacknowledgedBatches = Mth.clamp((int) ((float) (this.smoothedRoundTripNanos / 50000000L) * f1) + 2, 2, 10);
+        }
+
+    }
+
+    public void clearBatchSendTimes() {
+        this.ignoredBatchAcks = this.unacknowledgedBatches;
+        this.batchSendTimes.clear();
+        this.batchSizes.clear();
+        this.lastBatchAckNanos = -1L;
+    }
+
+    private void dropBatchSendTimes() {
+        this.ignoredBatchAcks = 0;
+        this.batchSendTimes.clear();
+        this.batchSizes.clear();
     }
 
     public boolean isPending(long pos) {
@@ -18,9 +18,15 @@ public class ClassInstanceMultiMap<T> extends AbstractCollection<T> {
     private final Map<Class<?>, List<T>> byClass = Maps.newHashMap();
     private final Class<T> baseClass;
     private final List<T> allInstances = Lists.newArrayList();
+    private final boolean concurrentLookups;
 
     public ClassInstanceMultiMap(Class<T> baseClass) {
+        this(baseClass, false);
+    }
+
+    public ClassInstanceMultiMap(Class<T> baseClass, boolean concurrentLookups) {
         this.baseClass = baseClass;
+        this.concurrentLookups = concurrentLookups;
         this.byClass.put(baseClass, this.allInstances);
     }
 
@@ -58,17 +64,29 @@ public class ClassInstanceMultiMap<T> extends AbstractCollection<T> {
         if (!this.baseClass.isAssignableFrom(index)) {
             throw new IllegalArgumentException("Don't know how to search for " + String.valueOf(index));
         } else {
-            List<? extends T> list = (List) this.byClass.computeIfAbsent(index, (oclass1) -> {
-                Stream stream = this.allInstances.stream();
-
-                Objects.requireNonNull(oclass1);
-                return (List) stream.filter(oclass1::isInstance).collect(Util.toMutableList());
-            });
+            List<? extends T> list;
+
+            if (this.concurrentLookups) {
+                synchronized (this.byClass) {
+                    list = this.findOrCreate(index);
+                }
+            } else {
+                list = this.findOrCreate(index);
+            }
 
             return Collections.unmodifiableCollection(list);
         }
     }
 
+    private List<? extends T> findOrCreate(Class<?> index) {
+        return (List) this.byClass.computeIfAbsent(index, (oclass1) -> {
+            Stream stream = this.allInstances.stream();
+
+            Objects.requireNonNull(oclass1);
+            return (List) stream.filter(oclass1::isInstance).collect(Util.toMutableList());
+        });
+    }
+
     public Iterator<T> iterator() {
         return (Iterator<T>) (this.allInstances.isEmpty() ? Collections.emptyIterator() : Iterators.unmodifiableIterator(this.allInstances.iterator()));
     }
@@ -99,6 +99,11 @@ public class Util {
     private static final int DEFAULT_SAFE_FILE_OPERATION_RETRIES = 10;
     private static final String MAX_THREADS_SYSTEM_PROPERTY = "max.bg.threads";
     private static final TracingExecutor BACKGROUND_EXECUTOR = makeExecutor("Main");
+    private static final TracingExecutor TICK_EXECUTOR = makeExecutor("Tick");
+    private static final TracingExecutor RANDOM_TICK_EXECUTOR = makeExecutor("RandomTick");
+    private static final TracingExecutor PATHFINDING_EXECUTOR = makeExecutor("Pathfinding");
+    private static final TracingExecutor ENTITY_ISLAND_EXECUTOR = makeExecutor("EntityIsland");
+    private static final TracingExecutor LIGHT_EXECUTOR = makeExecutor("Light");
     private static final TracingExecutor IO_POOL = makeIoExecutor("IO-Worker-", false);
     private static final TracingExecutor DOWNLOAD_POOL = makeIoExecutor("Download-", true);
     private static final DateTimeFormatter FILENAME_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH.mm.ss", Locale.ROOT);
@@ -218,6 +223,26 @@ public class Util {
         return Util.BACKGROUND_EXECUTOR;
     }
 
+    public static TracingExecutor tickExecutor() {
+        return Util.TICK_EXECUTOR;
+    }
+
+    public static TracingExecutor randomTickExecutor() {
+        return Util.RANDOM_TICK_EXECUTOR;
+    }
+
+    public static TracingExecutor pathfindingExecutor() {
+        return Util.PATHFINDING_EXECUTOR;
+    }
+
+    public static TracingExecutor entityIslandExecutor() {
+        return Util.ENTITY_ISLAND_EXECUTOR;
+    }
+
+    public static TracingExecutor lightExecutor() {
+        return Util.LIGHT_EXECUTOR;
+    }
+
     public static TracingExecutor ioPool() {
         return Util.IO_POOL;
     }
@@ -228,6 +253,11 @@ public class Util {
 
     public static void shutdownExecutors() {
         Util.BACKGROUND_EXECUTOR.shutdownAndAwait(3L, TimeUnit.SECONDS);
+        Util.TICK_EXECUTOR.shutdownAndAwait(3L, TimeUnit.SECONDS);
+        Util.RANDOM_TICK_EXECUTOR.shutdownAndAwait(3L, TimeUnit.SECONDS);
+        Util.PATHFINDING_EXECUTOR.shutdownAndAwait(3L, TimeUnit.SECONDS);
+        Util.ENTITY_ISLAND_EXECUTOR.shutdownAndAwait(3L, TimeUnit.SECONDS);
+        Util.LIGHT_EXECUTOR.shutdownAndAwait(3L, TimeUnit.SECONDS);
         Util.IO_POOL.shutdownAndAwait(3L, TimeUnit.SECONDS);
     }
 
@@ -274,6 +274,20 @@ public class JfrProfiler implements JvmProfiler {
 
     }
 
+    @Override
+    public @Nullable ProfiledDuration onRegionFileBatchWrite(RegionStorageInfo info, ChunkPos pos, RegionFileVersion version, int writtenBytes, int batchChunks, int batchBytes) {
+        if (!ChunkRegionWriteEvent.TYPE.isEnabled()) {
+            return null;
+        } else {
+            ChunkRegionWriteEvent chunkregionwriteevent = new ChunkRegionWriteEvent(info, pos, version, writtenBytes, batchChunks, batchBytes);
+
+            chunkregionwriteevent.begin();
+            return (flag) -> {
+                chunkregionwriteevent.commit();
+            };
+        }
+    }
+
     @Override
     public @Nullable ProfiledDuration onWorldLoadedStarted() {
         if (!WorldLoadFinishedEvent.TYPE.isEnabled()) {
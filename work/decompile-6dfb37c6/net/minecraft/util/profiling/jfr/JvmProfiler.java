@@ -41,6 +41,9 @@ public interface JvmProfiler {
 
     void onRegionFileWrite(RegionStorageInfo info, ChunkPos pos, RegionFileVersion version, int writtenBytes);
 
+    @Nullable
+    ProfiledDuration onRegionFileBatchWrite(RegionStorageInfo info, ChunkPos pos, RegionFileVersion version, int writtenBytes, int batchChunks, int batchBytes);
+
     @Nullable
     ProfiledDuration onWorldLoadedStarted();
 
@@ -91,6 +94,11 @@ public interface JvmProfiler {
         @Override
         public void onRegionFileWrite(RegionStorageInfo info, ChunkPos pos, RegionFileVersion version, int writtenBytes) {}
 
+        @Override
+        public @Nullable ProfiledDuration onRegionFileBatchWrite(RegionStorageInfo info, ChunkPos pos, RegionFileVersion version, int writtenBytes, int batchChunks, int batchBytes) {
+            return null;
+        }
+
         @Override
         public void onServerTick(float averageTickTime) {}
 
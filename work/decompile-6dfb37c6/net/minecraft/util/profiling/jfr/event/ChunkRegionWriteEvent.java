@@ -13,8 +13,20 @@ public class ChunkRegionWriteEvent extends ChunkRegionIoEvent {
 
     public static final String EVENT_NAME = "minecraft.ChunkRegionWrite";
     public static final EventType TYPE = EventType.getEventType(ChunkRegionWriteEvent.class);
+    @Name("batchChunks")
+    @Label("Chunks In Batch")
+    public final int batchChunks;
+    @Name("batchBytes")
+    @Label("Bytes In Batch")
+    public final int batchBytes;
 
     public ChunkRegionWriteEvent(RegionStorageInfo info, ChunkPos chunkPos, RegionFileVersion version, int bytes) {
+        this(info, chunkPos, version, bytes, 1, bytes);
+    }
+
+    public ChunkRegionWriteEvent(RegionStorageInfo info, ChunkPos chunkPos, RegionFileVersion version, int bytes, int batchChunks, int batchBytes) {
         super(info, chunkPos, version, bytes);
+        this.batchChunks = batchChunks;
+        this.batchBytes = batchBytes;
     }
 }
@@ -7,6 +7,9 @@ import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.objects.Reference2FloatMap;
 import it.unimi.dsi.fastutil.objects.Reference2FloatMaps;
 import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -29,6 +32,7 @@ import net.minecraft.core.RegistryAccess;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
@@ -41,6 +45,8 @@ import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.chunk.storage.LegacyTagFixer;
 import net.minecraft.world.level.chunk.storage.RecreatingSimpleRegionStorage;
 import net.minecraft.world.level.chunk.storage.RegionFile;
+import net.minecraft.world.level.chunk.storage.RegionFileDictionary;
+import net.minecraft.world.level.chunk.storage.RegionFileVersion;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.chunk.storage.SimpleRegionStorage;
 import net.minecraft.world.level.dimension.LevelStem;
@@ -260,9 +266,15 @@ public class WorldUpgrader implements AutoCloseable {
                 RegionStorageInfo regionstorageinfo = new RegionStorageInfo(WorldUpgrader.this.levelStorage.getLevelId(), resourcekey, this.type);
                 Path path = WorldUpgrader.this.levelStorage.getDimensionPath(resourcekey).resolve(this.folderName);
                 SimpleRegionStorage simpleregionstorage = this.createStorage(regionstorageinfo, path);
-                ListIterator<WorldUpgrader.FileToUpgrade> listiterator = this.getFilesToProcess(regionstorageinfo, path);
+                List<WorldUpgrader.FileToUpgrade> list1 = this.getFilesToProcess(regionstorageinfo, path);
 
-                list.add(new WorldUpgrader.DimensionToUpgrade(resourcekey, simpleregionstorage, listiterator));
+                if (simpleregionstorage instanceof RecreatingSimpleRegionStorage recreatingsimpleregionstorage) {
+                    if (RegionFileVersion.getSelected().usesDictionary()) {
+                        this.trainDictionary(recreatingsimpleregionstorage, path, list1);
+                    }
+                }
+
+                list.add(new WorldUpgrader.DimensionToUpgrade(resourcekey, simpleregionstorage, list1.listIterator()));
             }
 
             return list;
@@ -270,14 +282,58 @@ public class WorldUpgrader implements AutoCloseable {
 
         protected abstract SimpleRegionStorage createStorage(RegionStorageInfo info, Path regionFolder);
 
-        private ListIterator<WorldUpgrader.FileToUpgrade> getFilesToProcess(RegionStorageInfo info, Path regionFolder) {
+        private List<WorldUpgrader.FileToUpgrade> getFilesToProcess(RegionStorageInfo info, Path regionFolder) {
             List<WorldUpgrader.FileToUpgrade> list = getAllChunkPositions(info, regionFolder);
 
             WorldUpgrader.this.totalFiles += list.size();
             WorldUpgrader.this.totalChunks += list.stream().mapToInt((worldupgrader_filetoupgrade) -> {
                 return worldupgrader_filetoupgrade.chunksToUpgrade.size();
             }).sum();
-            return list.listIterator();
+            return list;
+        }
+
+        private void trainDictionary(RecreatingSimpleRegionStorage storage, Path regionFolder, List<WorldUpgrader.FileToUpgrade> files) {
+            int i = files.stream().mapToInt((worldupgrader_filetoupgrade) -> {
+                return worldupgrader_filetoupgrade.chunksToUpgrade.size();
+            }).sum();
+
+            if (i != 0) {
+                int j = Math.max(1, i / 128);
+                List<byte[]> list1 = Lists.newArrayList();
+                int k = 0;
+
+                for (WorldUpgrader.FileToUpgrade worldupgrader_filetoupgrade : files) {
+                    for (ChunkPos chunkpos : worldupgrader_filetoupgrade.chunksToUpgrade) {
+                        if (k++ % j == 0 && list1.size() < 128) {
+                            try {
+                                CompoundTag compoundtag = (CompoundTag) ((Optional) storage.read(chunkpos).join()).orElse((Object) null);
+
+                                if (compoundtag != null) {
+                                    ByteArrayOutputStream bytearrayoutputstream = new ByteArrayOutputStream();
+
+                                    NbtIo.write(compoundtag, (DataOutput) (new DataOutputStream(bytearrayoutputstream)));
+                                    list1.add(bytearrayoutputstream.toByteArray());
+                                }
+                            } catch (CompletionException | IOException ioexception) {
+                                WorldUpgrader.LOGGER.warn("Failed to sample chunk {} for region file dictionary", chunkpos, ioexception);
+                            }
+                        }
+                    }
+                }
+
+                if (!list1.isEmpty()) {
+                    RegionFileDictionary regionfiledictionary = RegionFileDictionary.train(list1);
+
+                    try {
+                        regionfiledictionary.save(regionFolder);
+                        storage.useDictionary(regionfiledictionary);
+                        WorldUpgrader.LOGGER.info("Trained {} for {} from {} chunks", new Object[]{regionfiledictionary, regionFolder, list1.size()});
+                    } catch (IOException ioexception1) {
+                        WorldUpgrader.LOGGER.error("Failed to save region file dictionary for {}", regionFolder, ioexception1);
+                    }
+
+                }
+            }
         }
 
         private static List<WorldUpgrader.FileToUpgrade> getAllChunkPositions(RegionStorageInfo info, Path regionFolder) {
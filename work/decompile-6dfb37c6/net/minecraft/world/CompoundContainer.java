@@ -58,6 +58,14 @@ public class CompoundContainer implements Container {
         return this.container1.getMaxStackSize();
     }
 
+    @Override
+    public long getChangeCount() {
+        long i = this.container1.getChangeCount();
+        long j = this.container2.getChangeCount();
+
+        return i != -1L && j != -1L ? i << 32 | j : -1L;
+    }
+
     @Override
     public void setChanged() {
         this.container1.setChanged();
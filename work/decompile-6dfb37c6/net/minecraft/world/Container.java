@@ -52,6 +52,10 @@ public interface Container extends Clearable, Iterable<ItemStack>, SlotProvider
         return List.of();
     }
 
+    default long getChangeCount() {
+        return -1L;
+    }
+
     default boolean canPlaceItem(int slot, ItemStack itemStack) {
         return true;
     }
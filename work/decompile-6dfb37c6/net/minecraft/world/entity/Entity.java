@@ -65,6 +65,7 @@ import net.minecraft.network.syncher.SyncedDataHolder;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.resources.Identifier;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.EntityIslandTicker;
 import net.minecraft.server.level.ServerEntity;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -2735,14 +2736,17 @@ public abstract class Entity implements Nameable, EntityAccess, ScoreHolder, Syn
 
                     profilerfiller.push("portal");
                     this.setPortalCooldown();
-                    TeleportTransition teleporttransition = this.portalProcess.getPortalDestination(serverlevel, this);
+                    if (serverlevel.getServer().isTickingLevelsInParallel()) {
+                        PortalProcessor portalprocessor = this.portalProcess;
 
-                    if (teleporttransition != null) {
-                        ServerLevel serverlevel1 = teleporttransition.newLevel();
+                        serverlevel.getServer().executeAtTickBarrier(() -> {
+                            if (!this.isRemoved() && this.level() == serverlevel) {
+                                this.teleportThroughPortal(serverlevel, portalprocessor);
+                            }
 
-                        if (serverlevel.isAllowedToEnterPortal(serverlevel1) && (serverlevel1.dimension() == serverlevel.dimension() || this.canTeleport(serverlevel, serverlevel1))) {
-                            this.teleport(teleporttransition);
-                        }
+                        });
+                    } else {
+                        this.teleportThroughPortal(serverlevel, this.portalProcess);
                     }
 
                     profilerfiller.pop();
@@ -2754,6 +2758,19 @@ public abstract class Entity implements Nameable, EntityAccess, ScoreHolder, Syn
         }
     }
 
+    private void teleportThroughPortal(ServerLevel level, PortalProcessor portalProcess) {
+        TeleportTransition teleporttransition = portalProcess.getPortalDestination(level, this);
+
+        if (teleporttransition != null) {
+            ServerLevel serverlevel1 = teleporttransition.newLevel();
+
+            if (level.isAllowedToEnterPortal(serverlevel1) && (serverlevel1.dimension() == level.dimension() || this.canTeleport(level, serverlevel1))) {
+                this.teleport(teleporttransition);
+            }
+        }
+
+    }
+
     public int getDimensionChangingDelay() {
         Entity entity = this.getFirstPassenger();
 
@@ -3128,6 +3145,18 @@ public abstract class Entity implements Nameable, EntityAccess, ScoreHolder, Syn
         this.snapTo(target.getX(), target.getY(), target.getZ(), target.getYRot(), target.getXRot());
     }
 
+    protected void copyPathfindingStateFrom(Entity entity) {
+        this.position = entity.position;
+        this.blockPosition = entity.blockPosition;
+        this.chunkPosition = entity.chunkPosition;
+        this.dimensions = entity.dimensions;
+        this.eyeHeight = entity.eyeHeight;
+        this.setBoundingBox(entity.getBoundingBox());
+        this.onGround = entity.onGround;
+        this.wasTouchingWater = entity.wasTouchingWater;
+        this.fallDistance = entity.fallDistance;
+    }
+
     public void restoreFrom(Entity oldEntity) {
         try (ProblemReporter.ScopedCollector problemreporter_scopedcollector = new ProblemReporter.ScopedCollector(this.problemPath(), Entity.LOGGER)) {
             TagValueOutput tagvalueoutput = TagValueOutput.createWithContext(problemreporter_scopedcollector, oldEntity.registryAccess());
@@ -3207,20 +3236,31 @@ public abstract class Entity implements Nameable, EntityAccess, ScoreHolder, Syn
             entity2.restoreFrom(this);
             this.removeAfterChangingDimensions();
             entity2.teleportSetPosition(PositionMoveRotation.of(this), PositionMoveRotation.of(transition), transition.relatives());
-            newLevel.addDuringTeleport(entity2);
-
-            for (Entity entity3 : list1) {
-                entity3.startRiding(entity2, true, false);
+            if (oldLevel.getServer().isTickingLevelsInParallel()) {
+                oldLevel.getServer().executeAtTickBarrier(() -> {
+                    this.placeAfterChangingDimensions(oldLevel, newLevel, entity2, list1, transition);
+                });
+            } else {
+                this.placeAfterChangingDimensions(oldLevel, newLevel, entity2, list1, transition);
             }
 
-            newLevel.resetEmptyTime();
-            transition.postTeleportTransition().onTransition(entity2);
-            this.teleportSpectators(transition, oldLevel);
             profilerfiller.pop();
             return entity2;
         }
     }
 
+    private void placeAfterChangingDimensions(ServerLevel oldLevel, ServerLevel newLevel, Entity entity, List<Entity> passengers, TeleportTransition transition) {
+        newLevel.addDuringTeleport(entity);
+
+        for (Entity entity1 : passengers) {
+            entity1.startRiding(entity, true, false);
+        }
+
+        newLevel.resetEmptyTime();
+        transition.postTeleportTransition().onTransition(entity);
+        this.teleportSpectators(transition, oldLevel);
+    }
+
     protected void teleportSpectators(TeleportTransition transition, ServerLevel oldLevel) {
         for (ServerPlayer serverplayer : List.copyOf(oldLevel.players())) {
             if (serverplayer.getCamera() == this) {
@@ -4022,28 +4062,39 @@ public abstract class Entity implements Nameable, EntityAccess, ScoreHolder, Syn
                 }
             }
 
-            this.levelCallback.onMove();
-            if (!this.firstTick) {
-                Level level = this.level;
+            EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
 
-                if (level instanceof ServerLevel) {
-                    ServerLevel serverlevel = (ServerLevel) level;
+            if (entityislandticker_island != null) {
+                entityislandticker_island.deferMove(this);
+            } else {
+                this.applyPositionChange();
+            }
+        }
+
+    }
 
-                    if (!this.isRemoved()) {
-                        if (this instanceof WaypointTransmitter) {
-                            WaypointTransmitter waypointtransmitter = (WaypointTransmitter) this;
+    public void applyPositionChange() {
+        this.levelCallback.onMove();
+        if (!this.firstTick) {
+            Level level = this.level;
 
-                            if (waypointtransmitter.isTransmittingWaypoint()) {
-                                serverlevel.getWaypointManager().updateWaypoint(waypointtransmitter);
-                            }
+            if (level instanceof ServerLevel) {
+                ServerLevel serverlevel = (ServerLevel) level;
+
+                if (!this.isRemoved()) {
+                    if (this instanceof WaypointTransmitter) {
+                        WaypointTransmitter waypointtransmitter = (WaypointTransmitter) this;
+
+                        if (waypointtransmitter.isTransmittingWaypoint()) {
+                            serverlevel.getWaypointManager().updateWaypoint(waypointtransmitter);
                         }
+                    }
 
-                        if (this instanceof ServerPlayer) {
-                            ServerPlayer serverplayer = (ServerPlayer) this;
+                    if (this instanceof ServerPlayer) {
+                        ServerPlayer serverplayer = (ServerPlayer) this;
 
-                            if (serverplayer.isReceivingWaypoints() && serverplayer.connection != null) {
-                                serverlevel.getWaypointManager().updatePlayer(serverplayer);
-                            }
+                        if (serverplayer.isReceivingWaypoints() && serverplayer.connection != null) {
+                            serverlevel.getWaypointManager().updatePlayer(serverplayer);
                         }
                     }
                 }
@@ -4158,7 +4209,16 @@ public abstract class Entity implements Nameable, EntityAccess, ScoreHolder, Syn
         }
 
         this.getPassengers().forEach(Entity::stopRiding);
-        this.levelCallback.onRemove(reason);
+        EntityIslandTicker.Island entityislandticker_island = EntityIslandTicker.currentIsland();
+
+        if (entityislandticker_island != null) {
+            entityislandticker_island.defer(() -> {
+                this.levelCallback.onRemove(reason);
+            });
+        } else {
+            this.levelCallback.onRemove(reason);
+        }
+
         this.onRemoval(reason);
     }
 
@@ -113,6 +113,7 @@ public abstract class Mob extends LivingEntity implements Targeting, EquipmentUs
     private static final boolean DEFAULT_PERSISTENCE_REQUIRED = false;
     private static final boolean DEFAULT_LEFT_HANDED = false;
     private static final boolean DEFAULT_NO_AI = false;
+    private static final List<Holder<Attribute>> PATHFINDING_ATTRIBUTES = List.of(Attributes.STEP_HEIGHT, Attributes.MAX_HEALTH);
     protected static final Identifier RANDOM_SPAWN_BONUS_ID = Identifier.withDefaultNamespace("random_spawn_bonus");
     public static final String TAG_DROP_CHANCES = "drop_chances";
     public static final String TAG_LEFT_HANDED = "LeftHanded";
@@ -197,6 +198,50 @@ public abstract class Mob extends LivingEntity implements Targeting, EquipmentUs
         return ofloat == null ? pathType.getMalus() : ofloat;
     }
 
+    public Map<PathType, Float> copyPathfindingMalus() {
+        Entity entity = this.getControlledVehicle();
+        Mob mob = this;
+
+        if (entity instanceof Mob mob1) {
+            if (mob1.shouldPassengersInheritMalus()) {
+                mob = mob1;
+            }
+        }
+
+        return Maps.newEnumMap(mob.pathfindingMalus);
+    }
+
+    public @Nullable Mob copyForPathfinding(@Nullable Mob reusableCopy) {
+        Mob mob = reusableCopy;
+
+        if (mob == null) {
+            Entity entity = this.getType().create(this.level(), EntitySpawnReason.LOAD);
+
+            if (!(entity instanceof Mob)) {
+                return null;
+            }
+
+            mob = (Mob) entity;
+        }
+
+        mob.copyPathfindingStateFrom(this);
+        mob.target = this.target;
+
+        for (Holder<Attribute> holder : Mob.PATHFINDING_ATTRIBUTES) {
+            AttributeInstance attributeinstance = this.getAttribute(holder);
+            AttributeInstance attributeinstance1 = mob.getAttribute(holder);
+
+            if (attributeinstance != null && attributeinstance1 != null) {
+                attributeinstance1.replaceFrom(attributeinstance);
+            }
+        }
+
+        mob.setHealth(this.getHealth());
+        mob.pathfindingMalus.clear();
+        mob.pathfindingMalus.putAll(this.copyPathfindingMalus());
+        return mob;
+    }
+
     public void setPathfindingMalus(PathType pathType, float cost) {
         this.pathfindingMalus.put(pathType, cost);
     }
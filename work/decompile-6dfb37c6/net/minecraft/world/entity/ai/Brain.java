@@ -16,7 +16,10 @@ import com.mojang.serialization.DynamicOps;
 import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.MapLike;
 import com.mojang.serialization.RecordBuilder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -49,9 +52,17 @@ public class Brain<E extends LivingEntity> {
     private static final Logger LOGGER = LogUtils.getLogger();
     private final Supplier<Codec<Brain<E>>> codec;
     private static final int SCHEDULE_UPDATE_DELAY = 20;
-    private final Map<MemoryModuleType<?>, Optional<? extends ExpirableValue<?>>> memories = Maps.newHashMap();
+    private final List<MemoryModuleType<?>> memoryTypes = new ObjectArrayList();
+    private MemoryModuleType<?>[] registeredMemories = new MemoryModuleType[0];
+    private @Nullable ExpirableValue<?>[] memoryValues = new ExpirableValue[0];
     private final Map<SensorType<? extends Sensor<? super E>>, Sensor<? super E>> sensors = Maps.newLinkedHashMap();
     private final Map<Integer, Map<Activity, Set<BehaviorControl<? super E>>>> availableBehaviorsByPriority = Maps.newTreeMap();
+    private BehaviorControl<? super E>[] behaviors = new BehaviorControl[0];
+    private int[] behaviorActivities = new int[0];
+    private final List<Activity> behaviorActivityIndex = new ObjectArrayList();
+    private final List<BehaviorControl<? super E>> runningBehaviors = new ObjectArrayList();
+    private long activeActivityMask;
+    private boolean behaviorsDirty;
     private @Nullable EnvironmentAttribute<Activity> schedule;
     private final Map<Activity, Set<Pair<MemoryModuleType<?>, MemoryStatus>>> activityRequirements = Maps.newHashMap();
     private final Map<Activity, Set<MemoryModuleType<?>>> activityMemoriesToEraseWhenStopped = Maps.newHashMap();
@@ -126,7 +137,7 @@ public class Brain<E extends LivingEntity> {
         this.codec = codec;
 
         for (MemoryModuleType<?> memorymoduletype : memoryTypes) {
-            this.memories.put(memorymoduletype, Optional.empty());
+            this.registerMemory(memorymoduletype);
         }
 
         for (SensorType<? extends Sensor<? super E>> sensortype : sensorTypes) {
@@ -135,7 +146,7 @@ public class Brain<E extends LivingEntity> {
 
         for (Sensor<? super E> sensor : this.sensors.values()) {
             for (MemoryModuleType<?> memorymoduletype1 : sensor.requires()) {
-                this.memories.put(memorymoduletype1, Optional.empty());
+                this.registerMemory(memorymoduletype1);
             }
         }
 
@@ -149,13 +160,42 @@ public class Brain<E extends LivingEntity> {
 
     }
 
+    private void registerMemory(MemoryModuleType<?> type) {
+        int i = type.getId();
+
+        if (i >= this.registeredMemories.length) {
+            int j = Math.max(i + 1, this.registeredMemories.length * 2);
+
+            this.registeredMemories = (MemoryModuleType[]) Arrays.copyOf(this.registeredMemories, j);
+            this.memoryValues = (ExpirableValue[]) Arrays.copyOf(this.memoryValues, j);
+        }
+
+        if (this.registeredMemories[i] == null) {
+            this.registeredMemories[i] = type;
+            this.memoryTypes.add(type);
+        }
+
+    }
+
+    private boolean isRegistered(MemoryModuleType<?> type) {
+        int i = type.getId();
+
+        return i < this.registeredMemories.length && this.registeredMemories[i] != null;
+    }
+
+    private @Nullable ExpirableValue<?> getExpirableValue(MemoryModuleType<?> type) {
+        int i = type.getId();
+
+        return i < this.memoryValues.length ? this.memoryValues[i] : null;
+    }
+
     public <T> DataResult<T> serializeStart(DynamicOps<T> ops) {
         return ((Codec) this.codec.get()).encodeStart(ops, this);
     }
 
     private Stream<Brain.MemoryValue<?>> memories() {
-        return this.memories.entrySet().stream().map((entry) -> {
-            return Brain.MemoryValue.createUnchecked((MemoryModuleType) entry.getKey(), (Optional) entry.getValue());
+        return this.memoryTypes.stream().map((memorymoduletype) -> {
+            return Brain.MemoryValue.createUnchecked(memorymoduletype, Optional.ofNullable(this.memoryValues[memorymoduletype.getId()]));
         });
     }
 
@@ -164,77 +204,90 @@ public class Brain<E extends LivingEntity> {
     }
 
     public void clearMemories() {
-        this.memories.keySet().forEach((memorymoduletype) -> {
-            this.memories.put(memorymoduletype, Optional.empty());
-        });
+        Arrays.fill(this.memoryValues, (Object) null);
     }
 
     public <U> void eraseMemory(MemoryModuleType<U> type) {
-        this.setMemory(type, Optional.empty());
+        this.setMemoryInternal(type, (ExpirableValue) null);
     }
 
     public <U> void setMemory(MemoryModuleType<U> type, @Nullable U value) {
-        this.setMemory(type, Optional.ofNullable(value));
+        this.setMemoryInternal(type, value == null ? null : ExpirableValue.of(value));
     }
 
     public <U> void setMemoryWithExpiry(MemoryModuleType<U> type, U value, long timeToLive) {
-        this.setMemoryInternal(type, Optional.of(ExpirableValue.of(value, timeToLive)));
+        this.setMemoryInternal(type, ExpirableValue.of(value, timeToLive));
     }
 
     public <U> void setMemory(MemoryModuleType<U> type, Optional<? extends U> optionalValue) {
-        this.setMemoryInternal(type, optionalValue.map(ExpirableValue::of));
+        this.setMemoryInternal(type, optionalValue.isPresent() ? ExpirableValue.of(optionalValue.get()) : null);
     }
 
-    private <U> void setMemoryInternal(MemoryModuleType<U> type, Optional<? extends ExpirableValue<?>> optionalExpirableValue) {
-        if (this.memories.containsKey(type)) {
-            if (optionalExpirableValue.isPresent() && this.isEmptyCollection(((ExpirableValue) optionalExpirableValue.get()).getValue())) {
-                this.eraseMemory(type);
+    private <U> void setMemoryInternal(MemoryModuleType<U> type, @Nullable ExpirableValue<?> expirableValue) {
+        if (this.isRegistered(type)) {
+            if (expirableValue != null && this.isEmptyCollection(expirableValue.getValue())) {
+                this.memoryValues[type.getId()] = null;
             } else {
-                this.memories.put(type, optionalExpirableValue);
+                this.memoryValues[type.getId()] = expirableValue;
             }
         }
 
     }
 
     public <U> Optional<U> getMemory(MemoryModuleType<U> type) {
-        Optional<? extends ExpirableValue<?>> optional = (Optional) this.memories.get(type);
-
-        if (optional == null) {
+        if (!this.isRegistered(type)) {
             throw new IllegalStateException("Unregistered memory fetched: " + String.valueOf(type));
         } else {
-            return optional.map(ExpirableValue::getValue);
+            ExpirableValue<?> expirablevalue = this.memoryValues[type.getId()];
+
+            return expirablevalue == null ? Optional.empty() : Optional.ofNullable((U) expirablevalue.getValue());
         }
     }
 
     public <U> @Nullable Optional<U> getMemoryInternal(MemoryModuleType<U> type) {
-        Optional<? extends ExpirableValue<?>> optional = (Optional) this.memories.get(type);
+        if (!this.isRegistered(type)) {
+            return null;
+        } else {
+            ExpirableValue<?> expirablevalue = this.memoryValues[type.getId()];
 
-        return optional == null ? null : optional.map(ExpirableValue::getValue);
+            return expirablevalue == null ? Optional.empty() : Optional.ofNullable((U) expirablevalue.getValue());
+        }
     }
 
     public <U> long getTimeUntilExpiry(MemoryModuleType<U> type) {
-        Optional<? extends ExpirableValue<?>> optional = (Optional) this.memories.get(type);
+        ExpirableValue<?> expirablevalue = this.getExpirableValue(type);
 
-        return (Long) optional.map(ExpirableValue::getTimeToLive).orElse(0L);
+        return expirablevalue == null ? 0L : expirablevalue.getTimeToLive();
     }
 
     /** @deprecated */
     @Deprecated
     @VisibleForDebug
     public Map<MemoryModuleType<?>, Optional<? extends ExpirableValue<?>>> getMemories() {
-        return this.memories;
+        Map<MemoryModuleType<?>, Optional<? extends ExpirableValue<?>>> map = Maps.newLinkedHashMap();
+
+        for (MemoryModuleType<?> memorymoduletype : this.memoryTypes) {
+            map.put(memorymoduletype, Optional.ofNullable(this.memoryValues[memorymoduletype.getId()]));
+        }
+
+        return map;
     }
 
     public <U> boolean isMemoryValue(MemoryModuleType<U> memoryType, U value) {
-        return !this.hasMemoryValue(memoryType) ? false : this.getMemory(memoryType).filter((object) -> {
-            return object.equals(value);
-        }).isPresent();
+        ExpirableValue<?> expirablevalue = this.getExpirableValue(memoryType);
+        Object object = expirablevalue == null ? null : expirablevalue.getValue();
+
+        return object != null && object.equals(value);
     }
 
     public boolean checkMemory(MemoryModuleType<?> type, MemoryStatus status) {
-        Optional<? extends ExpirableValue<?>> optional = (Optional) this.memories.get(type);
+        if (!this.isRegistered(type)) {
+            return false;
+        } else {
+            ExpirableValue<?> expirablevalue = this.memoryValues[type.getId()];
 
-        return optional == null ? false : status == MemoryStatus.REGISTERED || status == MemoryStatus.VALUE_PRESENT && optional.isPresent() || status == MemoryStatus.VALUE_ABSENT && optional.isEmpty();
+            return status == MemoryStatus.REGISTERED || status == MemoryStatus.VALUE_PRESENT && expirablevalue != null || status == MemoryStatus.VALUE_ABSENT && expirablevalue == null;
+        }
     }
 
     public void setSchedule(EnvironmentAttribute<Activity> schedule) {
@@ -258,17 +311,66 @@ public class Brain<E extends LivingEntity> {
     public List<BehaviorControl<? super E>> getRunningBehaviors() {
         List<BehaviorControl<? super E>> list = new ObjectArrayList();
 
+        this.collectRunningBehaviors(list);
+        return list;
+    }
+
+    private void collectRunningBehaviors(List<BehaviorControl<? super E>> output) {
+        if (this.behaviorsDirty) {
+            this.compileBehaviors();
+        }
+
+        for (BehaviorControl<? super E> behaviorcontrol : this.behaviors) {
+            if (behaviorcontrol.getStatus() == Behavior.Status.RUNNING) {
+                output.add(behaviorcontrol);
+            }
+        }
+
+    }
+
+    private void compileBehaviors() {
+        List<BehaviorControl<? super E>> list = new ObjectArrayList();
+        IntList intlist = new IntArrayList();
+
+        this.behaviorActivityIndex.clear();
+
         for (Map<Activity, Set<BehaviorControl<? super E>>> map : this.availableBehaviorsByPriority.values()) {
-            for (Set<BehaviorControl<? super E>> set : map.values()) {
-                for (BehaviorControl<? super E> behaviorcontrol : set) {
-                    if (behaviorcontrol.getStatus() == Behavior.Status.RUNNING) {
-                        list.add(behaviorcontrol);
+            for (Map.Entry<Activity, Set<BehaviorControl<? super E>>> map_entry : map.entrySet()) {
+                Activity activity = (Activity) map_entry.getKey();
+                int i = this.behaviorActivityIndex.indexOf(activity);
+
+                if (i == -1) {
+                    i = this.behaviorActivityIndex.size();
+                    if (i >= 64) {
+                        throw new IllegalStateException("Too many activities in brain: " + String.valueOf(this.behaviorActivityIndex));
                     }
+
+                    this.behaviorActivityIndex.add(activity);
+                }
+
+                for (BehaviorControl<? super E> behaviorcontrol : map_entry.getValue()) {
+                    list.add(behaviorcontrol);
+                    intlist.add(i);
                 }
             }
         }
 
-        return list;
+        this.behaviors = (BehaviorControl[]) list.toArray(new BehaviorControl[0]);
+        this.behaviorActivities = intlist.toIntArray();
+        this.behaviorsDirty = false;
+        this.updateActiveActivityMask();
+    }
+
+    private void updateActiveActivityMask() {
+        long i = 0L;
+
+        for (int j = 0; j < this.behaviorActivityIndex.size(); ++j) {
+            if (this.activeActivities.contains(this.behaviorActivityIndex.get(j))) {
+                i |= 1L << j;
+            }
+        }
+
+        this.activeActivityMask = i;
     }
 
     public void useDefaultActivity() {
@@ -300,6 +402,7 @@ public class Brain<E extends LivingEntity> {
             this.activeActivities.clear();
             this.activeActivities.addAll(this.coreActivities);
             this.activeActivities.add(activity);
+            this.updateActiveActivityMask();
         }
     }
 
@@ -385,11 +488,13 @@ public class Brain<E extends LivingEntity> {
             })).add((BehaviorControl) pair.getSecond());
         }
 
+        this.behaviorsDirty = true;
     }
 
     @VisibleForTesting
     public void removeAllBehaviors() {
         this.availableBehaviorsByPriority.clear();
+        this.behaviorsDirty = true;
     }
 
     public boolean isActive(Activity activity) {
@@ -397,13 +502,13 @@ public class Brain<E extends LivingEntity> {
     }
 
     public Brain<E> copyWithoutBehaviors() {
-        Brain<E> brain = new Brain<E>(this.memories.keySet(), this.sensors.keySet(), ImmutableList.of(), this.codec);
+        Brain<E> brain = new Brain<E>(this.memoryTypes, this.sensors.keySet(), ImmutableList.of(), this.codec);
 
-        for (Map.Entry<MemoryModuleType<?>, Optional<? extends ExpirableValue<?>>> map_entry : this.memories.entrySet()) {
-            MemoryModuleType<?> memorymoduletype = (MemoryModuleType) map_entry.getKey();
+        for (MemoryModuleType<?> memorymoduletype : this.memoryTypes) {
+            ExpirableValue<?> expirablevalue = this.memoryValues[memorymoduletype.getId()];
 
-            if (((Optional) map_entry.getValue()).isPresent()) {
-                brain.memories.put(memorymoduletype, (Optional) map_entry.getValue());
+            if (expirablevalue != null) {
+                brain.memoryValues[memorymoduletype.getId()] = expirablevalue;
             }
         }
 
@@ -425,12 +530,13 @@ public class Brain<E extends LivingEntity> {
     }
 
     private void forgetOutdatedMemories() {
-        for (Map.Entry<MemoryModuleType<?>, Optional<? extends ExpirableValue<?>>> map_entry : this.memories.entrySet()) {
-            if (((Optional) map_entry.getValue()).isPresent()) {
-                ExpirableValue<?> expirablevalue = (ExpirableValue) ((Optional) map_entry.getValue()).get();
+        for (int i = 0; i < this.memoryTypes.size(); ++i) {
+            MemoryModuleType<?> memorymoduletype = (MemoryModuleType) this.memoryTypes.get(i);
+            ExpirableValue<?> expirablevalue = this.memoryValues[memorymoduletype.getId()];
 
+            if (expirablevalue != null) {
                 if (expirablevalue.hasExpired()) {
-                    this.eraseMemory((MemoryModuleType) map_entry.getKey());
+                    this.eraseMemory(memorymoduletype);
                 }
 
                 expirablevalue.tick();
@@ -449,19 +555,19 @@ public class Brain<E extends LivingEntity> {
     }
 
     private void startEachNonRunningBehavior(ServerLevel level, E body) {
+        if (this.behaviorsDirty) {
+            this.compileBehaviors();
+        }
+
         long i = level.getGameTime();
+        BehaviorControl<? super E>[] abehaviorcontrol = this.behaviors;
+        int[] aint = this.behaviorActivities;
 
-        for (Map<Activity, Set<BehaviorControl<? super E>>> map : this.availableBehaviorsByPriority.values()) {
-            for (Map.Entry<Activity, Set<BehaviorControl<? super E>>> map_entry : map.entrySet()) {
-                Activity activity = (Activity) map_entry.getKey();
+        for (int j = 0; j < abehaviorcontrol.length; ++j) {
+            BehaviorControl<? super E> behaviorcontrol = abehaviorcontrol[j];
 
-                if (this.activeActivities.contains(activity)) {
-                    for (BehaviorControl<? super E> behaviorcontrol : (Set) map_entry.getValue()) {
-                        if (behaviorcontrol.getStatus() == Behavior.Status.STOPPED) {
-                            behaviorcontrol.tryStart(level, body, i);
-                        }
-                    }
-                }
+            if ((this.activeActivityMask & 1L << aint[j]) != 0L && behaviorcontrol.getStatus() == Behavior.Status.STOPPED) {
+                behaviorcontrol.tryStart(level, body, i);
             }
         }
 
@@ -470,10 +576,14 @@ public class Brain<E extends LivingEntity> {
     private void tickEachRunningBehavior(ServerLevel level, E body) {
         long i = level.getGameTime();
 
-        for (BehaviorControl<? super E> behaviorcontrol : this.getRunningBehaviors()) {
-            behaviorcontrol.tickOrStop(level, body, i);
+        this.runningBehaviors.clear();
+        this.collectRunningBehaviors(this.runningBehaviors);
+
+        for (int j = 0; j < this.runningBehaviors.size(); ++j) {
+            ((BehaviorControl) this.runningBehaviors.get(j)).tickOrStop(level, body, i);
         }
 
+        this.runningBehaviors.clear();
     }
 
     private boolean activityRequirementsAreMet(Activity activity) {
@@ -512,7 +622,7 @@ public class Brain<E extends LivingEntity> {
     }
 
     public boolean isBrainDead() {
-        return this.memories.isEmpty() && this.sensors.isEmpty() && this.availableBehaviorsByPriority.isEmpty();
+        return this.memoryTypes.isEmpty() && this.sensors.isEmpty() && this.availableBehaviorsByPriority.isEmpty();
     }
 
     public static final class Provider<E extends LivingEntity> {
@@ -555,7 +665,7 @@ public class Brain<E extends LivingEntity> {
         }
 
         private void setMemoryInternal(Brain<?> brain) {
-            brain.setMemoryInternal(this.type, this.value);
+            brain.setMemoryInternal(this.type, (ExpirableValue) this.value.orElse(null));
         }
 
         public <T> void serialize(DynamicOps<T> ops, RecordBuilder<T> builder) {
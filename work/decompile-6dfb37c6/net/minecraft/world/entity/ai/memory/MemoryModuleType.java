@@ -148,11 +148,18 @@ public class MemoryModuleType<U> {
     public static final MemoryModuleType<Unit> BREEZE_JUMP_INHALING = register("breeze_jump_inhaling", Unit.CODEC);
     public static final MemoryModuleType<BlockPos> BREEZE_JUMP_TARGET = register("breeze_jump_target", BlockPos.CODEC);
     public static final MemoryModuleType<Unit> BREEZE_LEAVING_WATER = register("breeze_leaving_water", Unit.CODEC);
+    private static int nextId;
     private final Optional<Codec<ExpirableValue<U>>> codec;
+    private final int id;
 
     @VisibleForTesting
     public MemoryModuleType(Optional<Codec<U>> codec) {
         this.codec = codec.map(ExpirableValue::codec);
+        this.id = MemoryModuleType.nextId++;
+    }
+
+    public int getId() {
+        return this.id;
     }
 
     public String toString() {
@@ -4,7 +4,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.pathfinder.AmphibiousNodeEvaluator;
-import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.phys.Vec3;
 
 public class AmphibiousPathNavigation extends PathNavigation {
@@ -14,9 +14,8 @@ public class AmphibiousPathNavigation extends PathNavigation {
     }
 
     @Override
-    protected PathFinder createPathFinder(int maxVisitedNodes) {
-        this.nodeEvaluator = new AmphibiousNodeEvaluator(false);
-        return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+    protected NodeEvaluator createNodeEvaluator() {
+        return new AmphibiousNodeEvaluator(false);
     }
 
     @Override
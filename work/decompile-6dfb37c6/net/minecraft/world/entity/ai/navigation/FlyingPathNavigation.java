@@ -6,8 +6,8 @@ import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.pathfinder.FlyNodeEvaluator;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.Path;
-import net.minecraft.world.level.pathfinder.PathFinder;
 import net.minecraft.world.phys.Vec3;
 
 public class FlyingPathNavigation extends PathNavigation {
@@ -17,9 +17,8 @@ public class FlyingPathNavigation extends PathNavigation {
     }
 
     @Override
-    protected PathFinder createPathFinder(int maxVisitedNodes) {
-        this.nodeEvaluator = new FlyNodeEvaluator();
-        return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+    protected NodeEvaluator createNodeEvaluator() {
+        return new FlyNodeEvaluator();
     }
 
     @Override
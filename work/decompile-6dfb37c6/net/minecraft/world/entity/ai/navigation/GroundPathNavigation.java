@@ -11,8 +11,8 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.Path;
-import net.minecraft.world.level.pathfinder.PathFinder;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
 import net.minecraft.world.phys.Vec3;
@@ -27,9 +27,8 @@ public class GroundPathNavigation extends PathNavigation {
     }
 
     @Override
-    protected PathFinder createPathFinder(int maxVisitedNodes) {
-        this.nodeEvaluator = new WalkNodeEvaluator();
-        return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+    protected NodeEvaluator createNodeEvaluator() {
+        return new WalkNodeEvaluator();
     }
 
     @Override
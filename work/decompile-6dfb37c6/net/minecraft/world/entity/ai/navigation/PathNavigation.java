@@ -2,6 +2,8 @@ package net.minecraft.world.entity.ai.navigation;
 
 import com.google.common.collect.ImmutableSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.minecraft.core.BlockPos;
@@ -19,12 +21,14 @@ import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.PathNavigationSnapshot;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.pathfinder.Node;
 import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.Path;
 import net.minecraft.world.level.pathfinder.PathFinder;
 import net.minecraft.world.level.pathfinder.PathType;
+import net.minecraft.world.level.pathfinder.PathfindingService;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
@@ -56,6 +60,12 @@ public abstract class PathNavigation {
     private final PathFinder pathFinder;
     private boolean isStuck;
     private float requiredPathLength;
+    private PathfindingService.@Nullable Request pendingRequest;
+    private @Nullable CompletableFuture<@Nullable Path> pendingPath;
+    private boolean followPendingPath;
+    private boolean allowPendingPath;
+    private @Nullable Mob pathfindingCopy;
+    private @Nullable CompletableFuture<@Nullable Path> pathfindingCopyJob;
 
     public PathNavigation(Mob mob, Level level) {
         this.lastStuckCheckPos = Vec3.ZERO;
@@ -65,7 +75,8 @@ public abstract class PathNavigation {
         this.requiredPathLength = 16.0F;
         this.mob = mob;
         this.level = level;
-        this.pathFinder = this.createPathFinder(Mth.floor(mob.getAttributeBaseValue(Attributes.FOLLOW_RANGE) * 16.0D));
+        this.nodeEvaluator = this.createNodeEvaluator();
+        this.pathFinder = this.createPathFinder(this.nodeEvaluator, Mth.floor(mob.getAttributeBaseValue(Attributes.FOLLOW_RANGE) * 16.0D));
         if (level instanceof ServerLevel serverlevel) {
             ServerDebugSubscribers serverdebugsubscribers = serverlevel.getServer().debugSubscribers();
 
@@ -103,7 +114,11 @@ public abstract class PathNavigation {
         return this.targetPos;
     }
 
-    protected abstract PathFinder createPathFinder(int maxVisitedNodes);
+    protected abstract NodeEvaluator createNodeEvaluator();
+
+    protected PathFinder createPathFinder(NodeEvaluator nodeEvaluator, int maxVisitedNodes) {
+        return new PathFinder(nodeEvaluator, maxVisitedNodes);
+    }
 
     public void setSpeedModifier(double speedModifier) {
         this.speedModifier = speedModifier;
@@ -113,7 +128,13 @@ public abstract class PathNavigation {
         if (this.level.getGameTime() - this.timeLastRecompute > 20L) {
             if (this.targetPos != null) {
                 this.path = null;
-                this.path = this.createPath(this.targetPos, this.reachRange);
+                this.path = this.createPendingPath(() -> {
+                    return this.createPath(this.targetPos, this.reachRange);
+                });
+                if (this.path == null) {
+                    this.followPendingPath(this.speedModifier);
+                }
+
                 this.timeLastRecompute = this.level.getGameTime();
                 this.hasDelayedRecomputation = false;
             }
@@ -152,6 +173,7 @@ public abstract class PathNavigation {
     }
 
     protected @Nullable Path createPath(Set<BlockPos> targets, int radiusOffset, boolean above, int reachRange, float maxPathLength) {
+        this.followPendingPath = false;
         if (targets.isEmpty()) {
             return null;
         } else if (this.mob.getY() < (double) this.level.getMinY()) {
@@ -166,8 +188,16 @@ public abstract class PathNavigation {
             profilerfiller.push("pathfind");
             BlockPos blockpos = above ? this.mob.blockPosition().above() : this.mob.blockPosition();
             int k = (int) (maxPathLength + (float) radiusOffset);
-            PathNavigationRegion pathnavigationregion = new PathNavigationRegion(this.level, blockpos.offset(-k, -k, -k), blockpos.offset(k, k, k));
-            Path path = this.pathFinder.findPath(pathnavigationregion, this.mob, targets, maxPathLength, reachRange, this.maxVisitedNodesMultiplier);
+            Level level = this.level;
+            Path path;
+
+            if (this.allowPendingPath && level instanceof ServerLevel serverlevel && serverlevel.getPathfindingService() != null) {
+                path = this.requestPath(serverlevel.getPathfindingService(), targets, blockpos, k, reachRange, maxPathLength);
+            } else {
+                PathNavigationRegion pathnavigationregion = new PathNavigationRegion(this.level, blockpos.offset(-k, -k, -k), blockpos.offset(k, k, k));
+
+                path = this.pathFinder.findPath(pathnavigationregion, this.mob, targets, maxPathLength, reachRange, this.maxVisitedNodesMultiplier);
+            }
 
             profilerfiller.pop();
             if (path != null && path.getTarget() != null) {
@@ -180,23 +210,100 @@ public abstract class PathNavigation {
         }
     }
 
+    private @Nullable Path requestPath(PathfindingService service, Set<BlockPos> targets, BlockPos origin, int radius, int reachRange, float maxPathLength) {
+        PathfindingService.Request pathfindingservice_request = new PathfindingService.Request(this.mob.getType(), this.nodeEvaluator.getClass(), this.nodeEvaluator.getSettings(), this.mob.getBbWidth(), this.mob.getBbHeight(), this.mob.copyPathfindingMalus(), this.mob.blockPosition(), origin, radius, ImmutableSet.copyOf(targets), reachRange, maxPathLength, (int) ((float) this.pathFinder.getMaxVisitedNodes() * this.maxVisitedNodesMultiplier));
+        CompletableFuture<@Nullable Path> completablefuture = service.findPath(pathfindingservice_request, this::takePathfindingCopy, () -> {
+            BlockPos blockpos1 = pathfindingservice_request.start();
+            int i = Mth.ceil(maxPathLength) + 2;
+
+            return new PathNavigationSnapshot(this.level, new BlockPos(Math.max(origin.getX() - radius, blockpos1.getX() - i), Math.max(origin.getY() - radius, blockpos1.getY() - i - this.mob.getMaxFallDistance()), Math.max(origin.getZ() - radius, blockpos1.getZ() - i)), new BlockPos(Math.min(origin.getX() + radius, blockpos1.getX() + i), Math.min(origin.getY() + radius, blockpos1.getY() + i), Math.min(origin.getZ() + radius, blockpos1.getZ() + i)), service);
+        }, () -> {
+            return this.createAsyncPathFinder(pathfindingservice_request.maxVisitedNodes());
+        });
+
+        if (this.pathfindingCopy != null && this.pathfindingCopyJob == null) {
+            this.pathfindingCopyJob = completablefuture;
+        }
+
+        if (completablefuture.isDone()) {
+            Path path = (Path) completablefuture.getNow((Path) null);
+
+            this.pendingRequest = null;
+            this.pendingPath = null;
+            return path != null ? path.deepCopy() : null;
+        } else {
+            this.pendingRequest = pathfindingservice_request;
+            this.pendingPath = completablefuture;
+            return null;
+        }
+    }
+
+    private @Nullable Mob takePathfindingCopy() {
+        Mob mob = this.pathfindingCopyJob != null && !this.pathfindingCopyJob.isDone() ? null : this.pathfindingCopy;
+
+        this.pathfindingCopy = this.mob.copyForPathfinding(mob);
+        this.pathfindingCopyJob = null;
+        return this.pathfindingCopy;
+    }
+
+    private @Nullable Path createPendingPath(Supplier<@Nullable Path> pathFactory) {
+        this.allowPendingPath = true;
+
+        Path path;
+
+        try {
+            path = (Path) pathFactory.get();
+        } finally {
+            this.allowPendingPath = false;
+        }
+
+        return path;
+    }
+
+    private PathFinder createAsyncPathFinder(int maxVisitedNodes) {
+        NodeEvaluator nodeevaluator = this.createNodeEvaluator();
+
+        nodeevaluator.copySettings(this.nodeEvaluator);
+        return this.createPathFinder(nodeevaluator, maxVisitedNodes);
+    }
+
+    private void followPendingPath(double speedModifier) {
+        if (this.pendingPath != null) {
+            this.speedModifier = speedModifier;
+            this.followPendingPath = true;
+        }
+
+    }
+
     public boolean moveTo(double x, double y, double z, double speedModifier) {
-        return this.moveTo(this.createPath(x, y, z, 1), speedModifier);
+        return this.moveTo(this.createPendingPath(() -> {
+            return this.createPath(x, y, z, 1);
+        }), speedModifier);
     }
 
     public boolean moveTo(double x, double y, double z, int reachRange, double speedModifier) {
-        return this.moveTo(this.createPath(x, y, z, reachRange), speedModifier);
+        return this.moveTo(this.createPendingPath(() -> {
+            return this.createPath(x, y, z, reachRange);
+        }), speedModifier);
     }
 
     public boolean moveTo(Entity target, double speedModifier) {
-        Path path = this.createPath(target, 1);
+        Path path = this.createPendingPath(() -> {
+            return this.createPath(target, 1);
+        });
 
-        return path != null && this.moveTo(path, speedModifier);
+        if (path == null) {
+            this.followPendingPath(speedModifier);
+            return false;
+        } else {
+            return this.moveTo(path, speedModifier);
+        }
     }
 
     public boolean moveTo(@Nullable Path newPath, double speedModifier) {
         if (newPath == null) {
             this.path = null;
+            this.followPendingPath(speedModifier);
             return false;
         } else {
             if (!newPath.sameAs(this.path)) {
@@ -227,6 +334,19 @@ public abstract class PathNavigation {
 
     public void tick() {
         ++this.tick;
+        if (this.followPendingPath && this.pendingPath.isDone()) {
+            Path path = (Path) this.pendingPath.getNow((Path) null);
+            int i = this.pendingRequest.reachRange();
+
+            this.stop();
+            if (path != null && path.getTarget() != null) {
+                this.targetPos = path.getTarget();
+                this.reachRange = i;
+                this.resetStuckTimeout();
+                this.moveTo(path.deepCopy(), this.speedModifier);
+            }
+        }
+
         if (this.hasDelayedRecomputation) {
             this.recomputePath();
         }
@@ -365,6 +485,9 @@ public abstract class PathNavigation {
 
     public void stop() {
         this.path = null;
+        this.pendingRequest = null;
+        this.pendingPath = null;
+        this.followPendingPath = false;
     }
 
     protected abstract Vec3 getTempMobPos();
@@ -4,7 +4,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.SwimNodeEvaluator;
 import net.minecraft.world.phys.Vec3;
 
@@ -17,11 +17,11 @@ public class WaterBoundPathNavigation extends PathNavigation {
     }
 
     @Override
-    protected PathFinder createPathFinder(int maxVisitedNodes) {
+    protected NodeEvaluator createNodeEvaluator() {
         this.allowBreaching = this.mob.getType() == EntityType.DOLPHIN;
-        this.nodeEvaluator = new SwimNodeEvaluator(this.allowBreaching);
-        this.nodeEvaluator.setCanPassDoors(false);
-        return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+        NodeEvaluator nodeevaluator = new SwimNodeEvaluator(this.allowBreaching);
+        nodeevaluator.setCanPassDoors(false);
+        return nodeevaluator;
     }
 
     @Override
@@ -40,8 +40,10 @@ public class NearestItemSensor extends Sensor<Mob> {
             return itementity.closerThan(body, 32.0D);
         });
 
-        Objects.requireNonNull(body);
-        Optional<ItemEntity> optional = stream.filter(body::hasLineOfSight).findFirst();
+        SensorQueryCache sensorquerycache = level.getSensorQueryCache();
+        Optional<ItemEntity> optional = stream.filter((itementity) -> {
+            return sensorquerycache != null ? sensorquerycache.hasLineOfSight(body, (ItemEntity) itementity) : body.hasLineOfSight((ItemEntity) itementity);
+        }).findFirst();
 
         brain.setMemory(MemoryModuleType.NEAREST_VISIBLE_WANTED_ITEM, optional);
     }
@@ -5,6 +5,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Predicate;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.ai.Brain;
@@ -21,9 +22,11 @@ public class NearestLivingEntitySensor<T extends LivingEntity> extends Sensor<T>
     protected void doTick(ServerLevel level, T body) {
         double d0 = ((LivingEntity) body).getAttributeValue(Attributes.FOLLOW_RANGE);
         AABB aabb = body.getBoundingBox().inflate(d0, d0, d0);
-        List<LivingEntity> list = level.<LivingEntity>getEntitiesOfClass(LivingEntity.class, aabb, (livingentity) -> {
+        Predicate<LivingEntity> predicate = (livingentity) -> {
             return livingentity != body && livingentity.isAlive();
-        });
+        };
+        SensorQueryCache sensorquerycache = level.getSensorQueryCache();
+        List<LivingEntity> list = sensorquerycache != null ? sensorquerycache.getLivingEntities(aabb, predicate) : level.getEntitiesOfClass(LivingEntity.class, aabb, predicate);
 
         Objects.requireNonNull(body);
         list.sort(Comparator.comparingDouble(body::distanceToSqr));
@@ -2,10 +2,12 @@ package net.minecraft.world.entity.ai.sensing;
 
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.profiling.Profiler;
 import net.minecraft.util.profiling.ProfilerFiller;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.Level;
 
 public class Sensing {
 
@@ -33,7 +35,9 @@ public class Sensing {
             ProfilerFiller profilerfiller = Profiler.get();
 
             profilerfiller.push("hasLineOfSight");
-            boolean flag = this.mob.hasLineOfSight(target);
+            Level level = this.mob.level();
+            SensorQueryCache sensorquerycache = level instanceof ServerLevel serverlevel ? serverlevel.getSensorQueryCache() : null;
+            boolean flag = sensorquerycache != null ? sensorquerycache.hasLineOfSight(this.mob, target) : this.mob.hasLineOfSight(target);
 
             profilerfiller.pop();
             if (flag) {
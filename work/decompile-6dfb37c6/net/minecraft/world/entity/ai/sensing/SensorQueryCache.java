@@ -0,0 +1,91 @@
+package net.minecraft.world.entity.ai.sensing;
+
+import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.entity.EntitySection;
+import net.minecraft.world.phys.AABB;
+
+public class SensorQueryCache {
+
+    private final ServerLevel level;
+    private final Long2ObjectMap<Collection<LivingEntity>> livingEntitiesBySection = new Long2ObjectOpenHashMap();
+    private final Long2BooleanMap lineOfSight = new Long2BooleanOpenHashMap();
+    private int cachedTick = -1;
+
+    public SensorQueryCache(ServerLevel level) {
+        this.level = level;
+    }
+
+    private void validate() {
+        int i = this.level.getServer().getTickCount();
+
+        if (i != this.cachedTick) {
+            this.cachedTick = i;
+            this.livingEntitiesBySection.clear();
+            this.lineOfSight.clear();
+        }
+
+    }
+
+    public List<LivingEntity> getLivingEntities(AABB bb, Predicate<? super LivingEntity> selector) {
+        this.validate();
+        List<LivingEntity> list = new ArrayList();
+        int i = SectionPos.posToSectionCoord(bb.minX - 2.0D);
+        int j = Math.max(SectionPos.posToSectionCoord(bb.minY - 4.0D), this.level.getMinSectionY());
+        int k = SectionPos.posToSectionCoord(bb.minZ - 2.0D);
+        int l = SectionPos.posToSectionCoord(bb.maxX + 2.0D);
+        int i1 = Math.min(SectionPos.posToSectionCoord(bb.maxY + 0.0D), this.level.getMaxSectionY());
+        int j1 = SectionPos.posToSectionCoord(bb.maxZ + 2.0D);
+
+        for (int k1 = i; k1 <= l; ++k1) {
+            for (int l1 = k; l1 <= j1; ++l1) {
+                for (int i2 = j; i2 <= i1; ++i2) {
+                    for (LivingEntity livingentity : this.getSectionEntities(SectionPos.asLong(k1, i2, l1))) {
+                        if (!livingentity.isRemoved() && livingentity.getBoundingBox().intersects(bb) && selector.test(livingentity)) {
+                            list.add(livingentity);
+                        }
+                    }
+                }
+            }
+        }
+
+        return list;
+    }
+
+    private Collection<LivingEntity> getSectionEntities(long sectionKey) {
+        Collection<LivingEntity> collection = (Collection) this.livingEntitiesBySection.get(sectionKey);
+
+        if (collection == null) {
+            EntitySection<Entity> entitysection = this.level.entityManager.getAccessibleSection(sectionKey);
+
+            collection = entitysection != null ? entitysection.find(LivingEntity.class) : List.of();
+            this.livingEntitiesBySection.put(sectionKey, collection);
+        }
+
+        return collection;
+    }
+
+    public boolean hasLineOfSight(LivingEntity body, Entity target) {
+        this.validate();
+        long k = (long) body.getId() << 32 | (long) target.getId() & 4294967295L;
+
+        if (this.lineOfSight.containsKey(k)) {
+            return this.lineOfSight.get(k);
+        } else {
+            boolean flag = body.hasLineOfSight(target);
+
+            this.lineOfSight.put(k, flag);
+            return flag;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.chunk.status.ChunkStatus;
 import net.minecraft.world.level.chunk.storage.ChunkIOErrorReporter;
+import net.minecraft.world.level.chunk.storage.LegacyTagFixer;
 import net.minecraft.world.level.chunk.storage.RegionStorageInfo;
 import net.minecraft.world.level.chunk.storage.SectionStorage;
 import net.minecraft.world.level.chunk.storage.SimpleRegionStorage;
@@ -48,8 +49,8 @@ public class PoiManager extends SectionStorage<PoiSection, PoiSection.Packed> {
     private final PoiManager.DistanceTracker distanceTracker = new PoiManager.DistanceTracker();
     private final LongSet loadedChunks = new LongOpenHashSet();
 
-    public PoiManager(RegionStorageInfo info, Path folder, DataFixer fixerUpper, boolean sync, RegistryAccess registryAccess, ChunkIOErrorReporter errorReporter, LevelHeightAccessor levelHeightAccessor) {
-        super(new SimpleRegionStorage(info, folder, fixerUpper, sync, DataFixTypes.POI_CHUNK), PoiSection.Packed.CODEC, PoiSection::pack, PoiSection.Packed::unpack, PoiSection::new, registryAccess, errorReporter, levelHeightAccessor);
+    public PoiManager(RegionStorageInfo info, Path folder, DataFixer fixerUpper, boolean sync, boolean memoryMappedReads, RegistryAccess registryAccess, ChunkIOErrorReporter errorReporter, LevelHeightAccessor levelHeightAccessor) {
+        super(new SimpleRegionStorage(info, folder, fixerUpper, sync, memoryMappedReads, DataFixTypes.POI_CHUNK, LegacyTagFixer.EMPTY), PoiSection.Packed.CODEC, PoiSection::pack, PoiSection.Packed::unpack, PoiSection::new, registryAccess, errorReporter, levelHeightAccessor);
     }
 
     public @Nullable PoiRecord add(BlockPos pos, Holder<PoiType> type) {
@@ -62,7 +62,7 @@ import net.minecraft.world.level.ServerLevelAccessor;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.pathfinder.AmphibiousNodeEvaluator;
 import net.minecraft.world.level.pathfinder.Node;
-import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.PathfindingContext;
 import net.minecraft.world.level.storage.ValueInput;
@@ -375,9 +375,8 @@ public class Frog extends Animal {
         }
 
         @Override
-        protected PathFinder createPathFinder(int maxVisitedNodes) {
-            this.nodeEvaluator = new Frog.FrogNodeEvaluator(true);
-            return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+        protected NodeEvaluator createNodeEvaluator() {
+            return new Frog.FrogNodeEvaluator(true);
         }
     }
 
@@ -63,8 +63,8 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.LiquidBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.PathComputationType;
-import net.minecraft.world.level.pathfinder.PathFinder;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
 import net.minecraft.world.phys.AABB;
@@ -484,9 +484,8 @@ public class Strider extends Animal implements ItemSteerable {
         }
 
         @Override
-        protected PathFinder createPathFinder(int maxVisitedNodes) {
-            this.nodeEvaluator = new WalkNodeEvaluator();
-            return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+        protected NodeEvaluator createNodeEvaluator() {
+            return new WalkNodeEvaluator();
         }
 
         @Override
@@ -43,7 +43,7 @@ import net.minecraft.world.level.block.entity.CreakingHeartBlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.CreakingHeartState;
 import net.minecraft.world.level.gameevent.GameEvent;
-import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.PathfindingContext;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
@@ -626,10 +626,10 @@ public class Creaking extends Monster {
         }
 
         @Override
-        protected PathFinder createPathFinder(int maxVisitedNodes) {
-            this.nodeEvaluator = Creaking.this.new HomeNodeEvaluator();
-            this.nodeEvaluator.setCanPassDoors(true);
-            return new PathFinder(this.nodeEvaluator, maxVisitedNodes);
+        protected NodeEvaluator createNodeEvaluator() {
+            NodeEvaluator nodeevaluator = Creaking.this.new HomeNodeEvaluator();
+            nodeevaluator.setCanPassDoors(true);
+            return nodeevaluator;
         }
     }
 }
@@ -62,6 +62,7 @@ import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.level.gameevent.PositionSource;
 import net.minecraft.world.level.gameevent.vibrations.VibrationSystem;
 import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
 import net.minecraft.world.level.pathfinder.PathFinder;
 import net.minecraft.world.level.pathfinder.PathType;
 import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
@@ -545,9 +546,13 @@ public class Warden extends Monster implements VibrationSystem {
     protected PathNavigation createNavigation(Level level) {
         return new GroundPathNavigation(this, level) {
             @Override
-            protected PathFinder createPathFinder(int maxVisitedNodes) {
-                this.nodeEvaluator = new WalkNodeEvaluator();
-                return new PathFinder(this.nodeEvaluator, maxVisitedNodes) {
+            protected NodeEvaluator createNodeEvaluator() {
+                return new WalkNodeEvaluator();
+            }
+
+            @Override
+            protected PathFinder createPathFinder(NodeEvaluator nodeEvaluator, int maxVisitedNodes) {
+                return new PathFinder(nodeEvaluator, maxVisitedNodes) {
                     @Override
                     protected float distance(Node from, Node to) {
                         return from.distanceToXZ(to);
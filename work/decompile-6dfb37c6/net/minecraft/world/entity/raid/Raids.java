@@ -67,11 +67,11 @@ public class Raids extends SavedData {
         this.tick = tick;
     }
 
-    public @Nullable Raid get(int raidId) {
+    public synchronized @Nullable Raid get(int raidId) {
         return (Raid) this.raidMap.get(raidId);
     }
 
-    public OptionalInt getId(Raid raid) {
+    public synchronized OptionalInt getId(Raid raid) {
         ObjectIterator objectiterator = this.raidMap.int2ObjectEntrySet().iterator();
 
         while (objectiterator.hasNext()) {
@@ -85,7 +85,7 @@ public class Raids extends SavedData {
         return OptionalInt.empty();
     }
 
-    public void tick(ServerLevel level) {
+    public synchronized void tick(ServerLevel level) {
         ++this.tick;
         Iterator<Raid> iterator = this.raidMap.values().iterator();
 
@@ -114,7 +114,7 @@ public class Raids extends SavedData {
         return raider.isAlive() && raider.canJoinRaid() && raider.getNoActionTime() <= 2400;
     }
 
-    public @Nullable Raid createOrExtendRaid(ServerPlayer player, BlockPos raidPosition) {
+    public synchronized @Nullable Raid createOrExtendRaid(ServerPlayer player, BlockPos raidPosition) {
         if (player.isSpectator()) {
             return null;
         } else {
@@ -177,7 +177,7 @@ public class Raids extends SavedData {
         return ++this.nextId;
     }
 
-    public @Nullable Raid getNearbyRaid(BlockPos pos, int maxDistSqr) {
+    public synchronized @Nullable Raid getNearbyRaid(BlockPos pos, int maxDistSqr) {
         Raid raid = null;
         double d0 = (double) maxDistSqr;
         ObjectIterator objectiterator = this.raidMap.values().iterator();
@@ -196,7 +196,7 @@ public class Raids extends SavedData {
     }
 
     @VisibleForDebug
-    public List<BlockPos> getRaidCentersInChunk(ChunkPos chunkPos) {
+    public synchronized List<BlockPos> getRaidCentersInChunk(ChunkPos chunkPos) {
         Stream stream = this.raidMap.values().stream().map(Raid::getCenter);
 
         Objects.requireNonNull(chunkPos);
@@ -10,6 +10,8 @@ import net.minecraft.util.Mth;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.shapes.BooleanOp;
 import net.minecraft.world.phys.shapes.CollisionContext;
@@ -28,6 +30,9 @@ public class BlockCollisions<T> extends AbstractIterator<T> {
     private final boolean onlySuffocatingBlocks;
     private @Nullable BlockGetter cachedBlockGetter;
     private long cachedBlockGetterPos;
+    private @Nullable LevelChunkSection cachedSection;
+    private long cachedSectionPos = Long.MAX_VALUE;
+    private final boolean useSectionShortcuts;
     private final BiFunction<BlockPos.MutableBlockPos, VoxelShape, T> resultProvider;
 
     public BlockCollisions(CollisionGetter collisionGetter, @Nullable Entity source, AABB box, boolean onlySuffocatingBlocks, BiFunction<BlockPos.MutableBlockPos, VoxelShape, T> resultProvider) {
@@ -42,6 +47,7 @@ public class BlockCollisions<T> extends AbstractIterator<T> {
         this.box = box;
         this.onlySuffocatingBlocks = onlySuffocatingBlocks;
         this.resultProvider = resultProvider;
+        this.useSectionShortcuts = !context.overridesBlockShapes();
         int i = Mth.floor(box.minX - 1.0E-7D) - 1;
         int j = Mth.floor(box.maxX + 1.0E-7D) + 1;
         int k = Mth.floor(box.minY - 1.0E-7D) - 1;
@@ -68,6 +74,25 @@ public class BlockCollisions<T> extends AbstractIterator<T> {
         }
     }
 
+    private @Nullable LevelChunkSection getSection(BlockGetter chunk, int x, int y, int z) {
+        if (this.useSectionShortcuts && chunk instanceof LevelChunk levelchunk) {
+            long l = SectionPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(y), SectionPos.blockToSectionCoord(z));
+
+            if (l == this.cachedSectionPos) {
+                return this.cachedSection;
+            } else {
+                int i1 = levelchunk.getSectionIndex(y);
+                LevelChunkSection levelchunksection = i1 >= 0 && i1 < levelchunk.getSectionsCount() && !levelchunk.getLevel().isDebug() ? levelchunk.getSection(i1) : null;
+
+                this.cachedSection = levelchunksection;
+                this.cachedSectionPos = l;
+                return levelchunksection;
+            }
+        } else {
+            return null;
+        }
+    }
+
     protected T computeNext() {
         while (true) {
             if (this.cursor.advance()) {
@@ -86,6 +111,23 @@ public class BlockCollisions<T> extends AbstractIterator<T> {
                     continue;
                 }
 
+                LevelChunkSection levelchunksection = this.getSection(blockgetter, i, j, k);
+
+                if (levelchunksection != null) {
+                    if (levelchunksection.hasOnlyAir()) {
+                        continue;
+                    }
+
+                    if (!this.onlySuffocatingBlocks && levelchunksection.hasOnlyFullCollisionBlocks()) {
+                        if (l != 0 || !this.box.intersects((double) i, (double) j, (double) k, (double) i + 1.0D, (double) j + 1.0D, (double) k + 1.0D)) {
+                            continue;
+                        }
+
+                        this.pos.set(i, j, k);
+                        return (T) this.resultProvider.apply(this.pos, Shapes.block().move((Vec3i) this.pos));
+                    }
+                }
+
                 this.pos.set(i, j, k);
                 BlockState blockstate = blockgetter.getBlockState(this.pos);
 
@@ -95,6 +137,10 @@ public class BlockCollisions<T> extends AbstractIterator<T> {
 
                 VoxelShape voxelshape = this.context.getCollisionShape(blockstate, this.collisionGetter, this.pos);
 
+                if (voxelshape == Shapes.empty()) {
+                    continue;
+                }
+
                 if (voxelshape == Shapes.block()) {
                     if (!this.box.intersects((double) i, (double) j, (double) k, (double) i + 1.0D, (double) j + 1.0D, (double) k + 1.0D)) {
                         continue;
@@ -113,7 +113,7 @@ public abstract class Level implements LevelAccessor, AutoCloseable {
     public float rainLevel;
     protected float oThunderLevel;
     public float thunderLevel;
-    public final RandomSource random = RandomSource.create();
+    public final RandomSource random;
     /** @deprecated */
     @Deprecated
     private final RandomSource threadSafeRandom = RandomSource.createThreadSafe();
@@ -127,7 +127,8 @@ public abstract class Level implements LevelAccessor, AutoCloseable {
     private final PalettedContainerFactory palettedContainerFactory;
     private long subTickCount;
 
-    protected Level(WritableLevelData levelData, ResourceKey<Level> dimension, RegistryAccess registryAccess, Holder<DimensionType> dimensionTypeRegistration, boolean isClientSide, boolean isDebug, long biomeZoomSeed, int maxChainedNeighborUpdates) {
+    protected Level(WritableLevelData levelData, ResourceKey<Level> dimension, RegistryAccess registryAccess, Holder<DimensionType> dimensionTypeRegistration, boolean isClientSide, boolean isDebug, long biomeZoomSeed, int maxChainedNeighborUpdates, boolean threadSafeRandom) {
+        this.random = threadSafeRandom ? RandomSource.createThreadSafe() : RandomSource.create();
         this.levelData = levelData;
         this.dimensionTypeRegistration = dimensionTypeRegistration;
         this.dimension = dimension;
@@ -151,6 +152,10 @@ public abstract class Level implements LevelAccessor, AutoCloseable {
         return null;
     }
 
+    protected boolean isLevelThread() {
+        return Thread.currentThread() == this.thread;
+    }
+
     public boolean isInWorldBounds(BlockPos pos) {
         return !this.isOutsideBuildHeight(pos) && isInWorldBoundsHorizontal(pos);
     }
@@ -485,7 +490,7 @@ public abstract class Level implements LevelAccessor, AutoCloseable {
 
     @Override
     public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
-        return !this.isInValidBounds(pos) ? null : (!this.isClientSide() && Thread.currentThread() != this.thread ? null : this.getChunkAt(pos).getBlockEntity(pos, LevelChunk.EntityCreationType.IMMEDIATE));
+        return !this.isInValidBounds(pos) ? null : (!this.isClientSide() && !this.isLevelThread() ? null : this.getChunkAt(pos).getBlockEntity(pos, LevelChunk.EntityCreationType.IMMEDIATE));
     }
 
     public void setBlockEntity(BlockEntity blockEntity) {
@@ -860,6 +865,11 @@ public abstract class Level implements LevelAccessor, AutoCloseable {
         return new BlockPos(xo + (i1 & 15), yo + (i1 >> 16 & yMask), zo + (i1 >> 8 & 15));
     }
 
+    public int getRandomSectionIndex() {
+        this.randValue = this.randValue * 3 + 1013904223;
+        return this.randValue >> 2 & 4095;
+    }
+
     public boolean noSave() {
         return false;
     }
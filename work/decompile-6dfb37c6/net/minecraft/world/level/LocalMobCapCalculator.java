@@ -2,9 +2,12 @@ package net.minecraft.world.level;
 
 import com.google.common.collect.Maps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import java.util.List;
 import java.util.Map;
 import net.minecraft.server.level.ChunkMap;
@@ -15,7 +18,9 @@ public class LocalMobCapCalculator {
 
     private final Long2ObjectMap<List<ServerPlayer>> playersNearChunk = new Long2ObjectOpenHashMap();
     private final Map<ServerPlayer, LocalMobCapCalculator.MobCounts> playerMobCounts = Maps.newHashMap();
+    private final Long2ObjectMap<LocalMobCapCalculator.MobCounts> chunkMobCounts = new Long2ObjectOpenHashMap();
     private final ChunkMap chunkMap;
+    private boolean playerMobCountsReady;
 
     public LocalMobCapCalculator(ChunkMap chunkMap) {
         this.chunkMap = chunkMap;
@@ -27,16 +32,70 @@ public class LocalMobCapCalculator {
         });
     }
 
+    public void clearPlayerCounts() {
+        this.playersNearChunk.clear();
+        this.playerMobCounts.clear();
+        this.playerMobCountsReady = false;
+    }
+
+    private void collectPlayerCounts() {
+        ObjectIterator objectiterator = Long2ObjectMaps.fastIterable(this.chunkMobCounts).iterator();
+
+        while (objectiterator.hasNext()) {
+            Long2ObjectMap.Entry<LocalMobCapCalculator.MobCounts> long2objectmap_entry = (Long2ObjectMap.Entry) objectiterator.next();
+
+            for (ServerPlayer serverplayer : this.getPlayersNear(new ChunkPos(long2objectmap_entry.getLongKey()))) {
+                ((LocalMobCapCalculator.MobCounts) this.playerMobCounts.computeIfAbsent(serverplayer, (serverplayer1) -> {
+                    return new LocalMobCapCalculator.MobCounts();
+                })).addAll((LocalMobCapCalculator.MobCounts) long2objectmap_entry.getValue());
+            }
+        }
+
+        this.playerMobCountsReady = true;
+    }
+
     public void addMob(ChunkPos pos, MobCategory category) {
-        for (ServerPlayer serverplayer : this.getPlayersNear(pos)) {
-            ((LocalMobCapCalculator.MobCounts) this.playerMobCounts.computeIfAbsent(serverplayer, (serverplayer1) -> {
-                return new LocalMobCapCalculator.MobCounts();
-            })).add(category);
+        ((LocalMobCapCalculator.MobCounts) this.chunkMobCounts.computeIfAbsent(pos.toLong(), (i) -> {
+            return new LocalMobCapCalculator.MobCounts();
+        })).add(category, 1);
+        if (this.playerMobCountsReady) {
+            for (ServerPlayer serverplayer : this.getPlayersNear(pos)) {
+                ((LocalMobCapCalculator.MobCounts) this.playerMobCounts.computeIfAbsent(serverplayer, (serverplayer1) -> {
+                    return new LocalMobCapCalculator.MobCounts();
+                })).add(category, 1);
+            }
         }
 
     }
 
+    public void removeMob(ChunkPos pos, MobCategory category) {
+        long i = pos.toLong();
+        LocalMobCapCalculator.MobCounts localmobcapcalculator_mobcounts = (LocalMobCapCalculator.MobCounts) this.chunkMobCounts.get(i);
+
+        if (localmobcapcalculator_mobcounts != null) {
+            localmobcapcalculator_mobcounts.add(category, -1);
+            if (localmobcapcalculator_mobcounts.isEmpty()) {
+                this.chunkMobCounts.remove(i);
+            }
+
+            if (this.playerMobCountsReady) {
+                for (ServerPlayer serverplayer : this.getPlayersNear(pos)) {
+                    LocalMobCapCalculator.MobCounts localmobcapcalculator_mobcounts1 = (LocalMobCapCalculator.MobCounts) this.playerMobCounts.get(serverplayer);
+
+                    if (localmobcapcalculator_mobcounts1 != null) {
+                        localmobcapcalculator_mobcounts1.add(category, -1);
+                    }
+                }
+            }
+
+        }
+    }
+
     public boolean canSpawn(MobCategory mobCategory, ChunkPos pos) {
+        if (!this.playerMobCountsReady) {
+            this.collectPlayerCounts();
+        }
+
         for (ServerPlayer serverplayer : this.getPlayersNear(pos)) {
             LocalMobCapCalculator.MobCounts localmobcapcalculator_mobcounts = (LocalMobCapCalculator.MobCounts) this.playerMobCounts.get(serverplayer);
 
@@ -54,10 +113,30 @@ public class LocalMobCapCalculator {
 
         private MobCounts() {}
 
-        public void add(MobCategory category) {
-            this.counts.computeInt(category, (mobcategory1, integer) -> {
-                return integer == null ? 1 : integer + 1;
-            });
+        public void add(MobCategory category, int count) {
+            int j = this.counts.getInt(category) + count;
+
+            if (j <= 0) {
+                this.counts.removeInt(category);
+            } else {
+                this.counts.put(category, j);
+            }
+
+        }
+
+        public void addAll(LocalMobCapCalculator.MobCounts other) {
+            ObjectIterator objectiterator = Object2IntMaps.fastIterable(other.counts).iterator();
+
+            while (objectiterator.hasNext()) {
+                Object2IntMap.Entry<MobCategory> object2intmap_entry = (Object2IntMap.Entry) objectiterator.next();
+
+                this.add((MobCategory) object2intmap_entry.getKey(), object2intmap_entry.getIntValue());
+            }
+
+        }
+
+        public boolean isEmpty() {
+            return this.counts.isEmpty();
         }
 
         public boolean canSpawn(MobCategory category) {
@@ -4,8 +4,10 @@ import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMaps;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -65,42 +67,23 @@ public final class NaturalSpawner {
     }).toArray((i) -> {
         return new MobCategory[i];
     });
+    private static final NaturalSpawner.AfterSpawnCallback NO_AFTER_SPAWN = (mob, chunkaccess) -> {
+    };
 
     private NaturalSpawner() {}
 
-    public static NaturalSpawner.SpawnState createState(int spawnableChunkCount, Iterable<Entity> entities, NaturalSpawner.ChunkGetter chunkGetter, LocalMobCapCalculator localMobCapCalculator) {
-        PotentialCalculator potentialcalculator = new PotentialCalculator();
-        Object2IntOpenHashMap<MobCategory> object2intopenhashmap = new Object2IntOpenHashMap();
-
-        for (Entity entity : entities) {
-            if (entity instanceof Mob mob) {
-                if (mob.isPersistenceRequired() || mob.requiresCustomPersistence()) {
-                    continue;
-                }
-            }
-
-            MobCategory mobcategory = entity.getType().getCategory();
-
-            if (mobcategory != MobCategory.MISC) {
-                BlockPos blockpos = entity.blockPosition();
-
-                chunkGetter.query(ChunkPos.asLong(blockpos), (levelchunk) -> {
-                    MobSpawnSettings.MobSpawnCost mobspawnsettings_mobspawncost = getRoughBiome(blockpos, levelchunk).getMobSettings().getMobSpawnCost(entity.getType());
-
-                    if (mobspawnsettings_mobspawncost != null) {
-                        potentialcalculator.addCharge(entity.blockPosition(), mobspawnsettings_mobspawncost.charge());
-                    }
-
-                    if (entity instanceof Mob) {
-                        localMobCapCalculator.addMob(levelchunk.getPos(), mobcategory);
-                    }
+    public static NaturalSpawner.SpawnState createState(NaturalSpawner.ChunkGetter chunkGetter, LocalMobCapCalculator localMobCapCalculator) {
+        return new NaturalSpawner.SpawnState(chunkGetter, new Object2IntOpenHashMap(), new PotentialCalculator(), localMobCapCalculator);
+    }
 
-                    object2intopenhashmap.addTo(mobcategory, 1);
-                });
+    static boolean isCountedForSpawning(Entity entity) {
+        if (entity instanceof Mob mob) {
+            if (mob.isPersistenceRequired() || mob.requiresCustomPersistence()) {
+                return false;
             }
         }
 
-        return new NaturalSpawner.SpawnState(spawnableChunkCount, object2intopenhashmap, potentialcalculator, localMobCapCalculator);
+        return true;
     }
 
     private static Biome getRoughBiome(BlockPos pos, ChunkAccess chunk) {
@@ -126,11 +109,7 @@ public final class NaturalSpawner {
 
         for (MobCategory mobcategory : spawningCategories) {
             if (state.canSpawnForCategoryLocal(mobcategory, chunk.getPos())) {
-                Objects.requireNonNull(state);
-                NaturalSpawner.SpawnPredicate naturalspawner_spawnpredicate = state::canSpawn;
-
-                Objects.requireNonNull(state);
-                spawnCategoryForChunk(mobcategory, level, chunk, naturalspawner_spawnpredicate, state::afterSpawn);
+                spawnCategoryForChunk(mobcategory, level, chunk, state::canSpawn, NaturalSpawner.NO_AFTER_SPAWN);
             }
         }
 
@@ -149,8 +128,7 @@ public final class NaturalSpawner {
     public static void spawnCategoryForPosition(MobCategory mobCategory, ServerLevel level, BlockPos start) {
         spawnCategoryForPosition(mobCategory, level, level.getChunk(start), start, (entitytype, blockpos1, chunkaccess) -> {
             return true;
-        }, (mob, chunkaccess) -> {
-        });
+        }, NaturalSpawner.NO_AFTER_SPAWN);
     }
 
     public static void spawnCategoryForPosition(MobCategory mobCategory, ServerLevel level, ChunkAccess chunk, BlockPos start, NaturalSpawner.SpawnPredicate extraTest, NaturalSpawner.AfterSpawnCallback spawnCallback) {
@@ -398,63 +376,121 @@ public final class NaturalSpawner {
 
     public static class SpawnState {
 
-        private final int spawnableChunkCount;
+        private int spawnableChunkCount;
+        private final NaturalSpawner.ChunkGetter chunkGetter;
         private final Object2IntOpenHashMap<MobCategory> mobCategoryCounts;
         private final PotentialCalculator spawnPotential;
         private final Object2IntMap<MobCategory> unmodifiableMobCategoryCounts;
         private final LocalMobCapCalculator localMobCapCalculator;
-        private @Nullable BlockPos lastCheckedPos;
-        private @Nullable EntityType<?> lastCheckedType;
-        private double lastCharge;
+        private final Map<Entity, NaturalSpawner.TrackedEntity> trackedEntities = new Reference2ObjectOpenHashMap();
 
-        private SpawnState(int spawnableChunkCount, Object2IntOpenHashMap<MobCategory> mobCategoryCounts, PotentialCalculator spawnPotential, LocalMobCapCalculator localMobCapCalculator) {
-            this.spawnableChunkCount = spawnableChunkCount;
+        private SpawnState(NaturalSpawner.ChunkGetter chunkGetter, Object2IntOpenHashMap<MobCategory> mobCategoryCounts, PotentialCalculator spawnPotential, LocalMobCapCalculator localMobCapCalculator) {
+            this.chunkGetter = chunkGetter;
             this.mobCategoryCounts = mobCategoryCounts;
             this.spawnPotential = spawnPotential;
             this.localMobCapCalculator = localMobCapCalculator;
             this.unmodifiableMobCategoryCounts = Object2IntMaps.unmodifiable(mobCategoryCounts);
         }
 
-        private boolean canSpawn(EntityType<?> type, BlockPos testPos, ChunkAccess chunk) {
-            this.lastCheckedPos = testPos;
-            this.lastCheckedType = type;
-            MobSpawnSettings.MobSpawnCost mobspawnsettings_mobspawncost = NaturalSpawner.getRoughBiome(testPos, chunk).getMobSettings().getMobSpawnCost(type);
+        public void startTick(int spawnableChunkCount) {
+            this.spawnableChunkCount = spawnableChunkCount;
+            this.localMobCapCalculator.clearPlayerCounts();
+        }
 
-            if (mobspawnsettings_mobspawncost == null) {
-                this.lastCharge = 0.0D;
-                return true;
-            } else {
-                double d0 = mobspawnsettings_mobspawncost.charge();
+        public void addEntity(Entity entity) {
+            MobCategory mobcategory = entity.getType().getCategory();
 
-                this.lastCharge = d0;
-                double d1 = this.spawnPotential.getPotentialEnergyChange(testPos, d0);
+            if (mobcategory != MobCategory.MISC) {
+                NaturalSpawner.TrackedEntity naturalspawner_trackedentity = new NaturalSpawner.TrackedEntity(mobcategory, entity instanceof Mob);
 
-                return d1 <= mobspawnsettings_mobspawncost.energyBudget();
+                this.trackedEntities.put(entity, naturalspawner_trackedentity);
+                if (NaturalSpawner.isCountedForSpawning(entity)) {
+                    this.count(entity, naturalspawner_trackedentity);
+                }
             }
+
         }
 
-        private void afterSpawn(Mob mob, ChunkAccess chunk) {
-            EntityType<?> entitytype = mob.getType();
-            BlockPos blockpos = mob.blockPosition();
-            double d0;
+        public void removeEntity(Entity entity) {
+            NaturalSpawner.TrackedEntity naturalspawner_trackedentity = (NaturalSpawner.TrackedEntity) this.trackedEntities.remove(entity);
 
-            if (blockpos.equals(this.lastCheckedPos) && entitytype == this.lastCheckedType) {
-                d0 = this.lastCharge;
-            } else {
-                MobSpawnSettings.MobSpawnCost mobspawnsettings_mobspawncost = NaturalSpawner.getRoughBiome(blockpos, chunk).getMobSettings().getMobSpawnCost(entitytype);
+            if (naturalspawner_trackedentity != null) {
+                this.uncount(naturalspawner_trackedentity);
+            }
+
+        }
+
+        public void moveEntity(Entity entity) {
+            NaturalSpawner.TrackedEntity naturalspawner_trackedentity = (NaturalSpawner.TrackedEntity) this.trackedEntities.get(entity);
 
-                if (mobspawnsettings_mobspawncost != null) {
-                    d0 = mobspawnsettings_mobspawncost.charge();
-                } else {
-                    d0 = 0.0D;
+            if (naturalspawner_trackedentity != null) {
+                this.uncount(naturalspawner_trackedentity);
+                if (NaturalSpawner.isCountedForSpawning(entity)) {
+                    this.count(entity, naturalspawner_trackedentity);
                 }
             }
 
-            this.spawnPotential.addCharge(blockpos, d0);
-            MobCategory mobcategory = entitytype.getCategory();
+        }
+
+        public void updateEntity(Entity entity) {
+            NaturalSpawner.TrackedEntity naturalspawner_trackedentity = (NaturalSpawner.TrackedEntity) this.trackedEntities.get(entity);
+
+            if (naturalspawner_trackedentity != null) {
+                boolean flag = NaturalSpawner.isCountedForSpawning(entity);
+
+                if (flag != (naturalspawner_trackedentity.chunkPos != null)) {
+                    if (flag) {
+                        this.count(entity, naturalspawner_trackedentity);
+                    } else {
+                        this.uncount(naturalspawner_trackedentity);
+                    }
+                }
+            }
+
+        }
+
+        private void count(Entity entity, NaturalSpawner.TrackedEntity trackedEntity) {
+            BlockPos blockpos = entity.blockPosition();
+
+            this.chunkGetter.query(ChunkPos.asLong(blockpos), (levelchunk) -> {
+                MobSpawnSettings.MobSpawnCost mobspawnsettings_mobspawncost = NaturalSpawner.getRoughBiome(blockpos, levelchunk).getMobSettings().getMobSpawnCost(entity.getType());
+
+                trackedEntity.chunkPos = levelchunk.getPos();
+                trackedEntity.pos = blockpos;
+                trackedEntity.charge = mobspawnsettings_mobspawncost != null ? mobspawnsettings_mobspawncost.charge() : 0.0D;
+                this.spawnPotential.addCharge(blockpos, trackedEntity.charge);
+                if (trackedEntity.mob) {
+                    this.localMobCapCalculator.addMob(trackedEntity.chunkPos, trackedEntity.category);
+                }
+
+                this.mobCategoryCounts.addTo(trackedEntity.category, 1);
+            });
+        }
+
+        private void uncount(NaturalSpawner.TrackedEntity trackedEntity) {
+            if (trackedEntity.chunkPos != null) {
+                this.spawnPotential.removeCharge(trackedEntity.pos, trackedEntity.charge);
+                if (trackedEntity.mob) {
+                    this.localMobCapCalculator.removeMob(trackedEntity.chunkPos, trackedEntity.category);
+                }
+
+                this.mobCategoryCounts.addTo(trackedEntity.category, -1);
+                trackedEntity.chunkPos = null;
+                trackedEntity.pos = null;
+            }
+        }
+
+        private boolean canSpawn(EntityType<?> type, BlockPos testPos, ChunkAccess chunk) {
+            MobSpawnSettings.MobSpawnCost mobspawnsettings_mobspawncost = NaturalSpawner.getRoughBiome(testPos, chunk).getMobSettings().getMobSpawnCost(type);
+
+            if (mobspawnsettings_mobspawncost == null) {
+                return true;
+            } else {
+                double d0 = mobspawnsettings_mobspawncost.charge();
+                double d1 = this.spawnPotential.getPotentialEnergyChange(testPos, d0);
 
-            this.mobCategoryCounts.addTo(mobcategory, 1);
-            this.localMobCapCalculator.addMob(new ChunkPos(blockpos), mobcategory);
+                return d1 <= mobspawnsettings_mobspawncost.energyBudget();
+            }
         }
 
         public int getSpawnableChunkCount() {
@@ -476,6 +512,20 @@ public final class NaturalSpawner {
         }
     }
 
+    private static class TrackedEntity {
+
+        final MobCategory category;
+        final boolean mob;
+        @Nullable ChunkPos chunkPos;
+        @Nullable BlockPos pos;
+        double charge;
+
+        TrackedEntity(MobCategory category, boolean mob) {
+            this.category = category;
+            this.mob = mob;
+        }
+    }
+
     @FunctionalInterface
     public interface AfterSpawnCallback {
 
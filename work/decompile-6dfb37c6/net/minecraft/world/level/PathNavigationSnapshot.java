@@ -0,0 +1,88 @@
+package net.minecraft.world.level;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+import net.minecraft.world.level.pathfinder.PathfindingService;
+import org.jspecify.annotations.Nullable;
+
+public class PathNavigationSnapshot extends PathNavigationRegion {
+
+    private final int minSectionY;
+    private final PalettedContainer<BlockState>[][][] sections;
+
+    public PathNavigationSnapshot(Level level, BlockPos start, BlockPos end, PathfindingService service) {
+        super(level, start, end);
+        this.minSectionY = Math.max(SectionPos.blockToSectionCoord(start.getY()), level.getMinSectionY());
+        int i = Math.min(SectionPos.blockToSectionCoord(end.getY()), level.getMaxSectionY());
+        int j = Math.max(i - this.minSectionY + 1, 0);
+
+        this.sections = new PalettedContainer[this.chunks.length][][];
+
+        for (int k = 0; k < this.chunks.length; ++k) {
+            this.sections[k] = new PalettedContainer[this.chunks[k].length][];
+
+            for (int l = 0; l < this.chunks[k].length; ++l) {
+                ChunkAccess chunkaccess = this.chunks[k][l];
+
+                if (chunkaccess != null) {
+                    PalettedContainer<BlockState>[] apalettedcontainer = new PalettedContainer[j];
+
+                    for (int i1 = 0; i1 < j; ++i1) {
+                        LevelChunkSection levelchunksection = chunkaccess.getSection(chunkaccess.getSectionIndexFromSectionY(this.minSectionY + i1));
+
+                        if (!levelchunksection.hasOnlyAir()) {
+                            apalettedcontainer[i1] = service.copySection(SectionPos.asLong(this.centerX + k, this.minSectionY + i1, this.centerZ + l), levelchunksection);
+                        }
+                    }
+
+                    this.sections[k][l] = apalettedcontainer;
+                    this.chunks[k][l] = null;
+                }
+            }
+        }
+
+    }
+
+    private @Nullable PalettedContainer<BlockState> getSection(BlockPos pos) {
+        int i = SectionPos.blockToSectionCoord(pos.getX()) - this.centerX;
+        int j = SectionPos.blockToSectionCoord(pos.getZ()) - this.centerZ;
+
+        if (i >= 0 && i < this.sections.length && j >= 0 && j < this.sections[i].length) {
+            PalettedContainer<BlockState>[] apalettedcontainer = this.sections[i][j];
+            int k = SectionPos.blockToSectionCoord(pos.getY()) - this.minSectionY;
+
+            return apalettedcontainer != null && k >= 0 && k < apalettedcontainer.length ? apalettedcontainer[k] : null;
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public BlockGetter getChunkForCollisions(int chunkX, int chunkZ) {
+        return this;
+    }
+
+    @Override
+    public @Nullable BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        PalettedContainer<BlockState> palettedcontainer = this.getSection(pos);
+
+        return palettedcontainer == null ? Blocks.AIR.defaultBlockState() : (BlockState) palettedcontainer.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.getBlockState(pos).getFluidState();
+    }
+}
@@ -1,18 +1,58 @@
 package net.minecraft.world.level;
 
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import java.util.List;
 import net.minecraft.core.BlockPos;
 
 public class PotentialCalculator {
 
     private final List<PotentialCalculator.PointCharge> charges = Lists.newArrayList();
+    private final Long2ObjectMap<List<PotentialCalculator.PointCharge>> chargesByPos = new Long2ObjectOpenHashMap();
 
     public PotentialCalculator() {}
 
     public void addCharge(BlockPos pos, double charge) {
         if (charge != 0.0D) {
-            this.charges.add(new PotentialCalculator.PointCharge(pos, charge));
+            PotentialCalculator.PointCharge potentialcalculator_pointcharge = new PotentialCalculator.PointCharge(pos, charge);
+
+            potentialcalculator_pointcharge.index = this.charges.size();
+            this.charges.add(potentialcalculator_pointcharge);
+            ((List) this.chargesByPos.computeIfAbsent(pos.asLong(), (i) -> {
+                return Lists.newArrayListWithCapacity(1);
+            })).add(potentialcalculator_pointcharge);
+        }
+
+    }
+
+    public void removeCharge(BlockPos pos, double charge) {
+        if (charge != 0.0D) {
+            long i = pos.asLong();
+            List<PotentialCalculator.PointCharge> list = (List) this.chargesByPos.get(i);
+
+            if (list != null) {
+                for (int j = list.size() - 1; j >= 0; --j) {
+                    PotentialCalculator.PointCharge potentialcalculator_pointcharge = (PotentialCalculator.PointCharge) list.get(j);
+
+                    if (potentialcalculator_pointcharge.charge == charge) {
+                        list.set(j, (PotentialCalculator.PointCharge) list.get(list.size() - 1));
+                        list.remove(list.size() - 1);
+                        if (list.isEmpty()) {
+                            this.chargesByPos.remove(i);
+                        }
+
+                        PotentialCalculator.PointCharge potentialcalculator_pointcharge1 = (PotentialCalculator.PointCharge) this.charges.remove(this.charges.size() - 1);
+
+                        if (potentialcalculator_pointcharge1 != potentialcalculator_pointcharge) {
+                            potentialcalculator_pointcharge1.index = potentialcalculator_pointcharge.index;
+                            this.charges.set(potentialcalculator_pointcharge1.index, potentialcalculator_pointcharge1);
+                        }
+
+                        return;
+                    }
+                }
+            }
         }
 
     }
@@ -35,6 +75,7 @@ public class PotentialCalculator {
 
         private final BlockPos pos;
         private final double charge;
+        private int index;
 
         public PointCharge(BlockPos pos, double charge) {
             this.pos = pos;
@@ -1,16 +1,18 @@
 package net.minecraft.world.level;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
 import net.minecraft.tags.EntityTypeTags;
 import net.minecraft.util.Mth;
 import net.minecraft.util.Util;
@@ -29,6 +31,8 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.BaseFireBlock;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.gameevent.GameEvent;
 import net.minecraft.world.level.gamerules.GameRules;
 import net.minecraft.world.level.material.FluidState;
@@ -42,6 +46,8 @@ public class ServerExplosion implements Explosion {
     private static final ExplosionDamageCalculator EXPLOSION_DAMAGE_CALCULATOR = new ExplosionDamageCalculator();
     private static final int MAX_DROPS_PER_COMBINED_STACK = 16;
     private static final float LARGE_EXPLOSION_RADIUS = 2.0F;
+    private static final int RAY_GRID_SIZE = 16;
+    private static final double[] RAY_STEPS = createRaySteps();
     private final boolean fire;
     private final Explosion.BlockInteraction blockInteraction;
     private final ServerLevel level;
@@ -63,6 +69,30 @@ public class ServerExplosion implements Explosion {
         this.damageCalculator = damageCalculator == null ? this.makeDamageCalculator(source) : damageCalculator;
     }
 
+    private static double[] createRaySteps() {
+        double[] adouble = new double[4056];
+        int i = 0;
+
+        for (int j = 0; j < 16; ++j) {
+            for (int k = 0; k < 16; ++k) {
+                for (int l = 0; l < 16; ++l) {
+                    if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
+                        double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
+                        double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
+                        double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
+                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+
+                        adouble[i++] = d0 / d3 * (double) 0.3F;
+                        adouble[i++] = d1 / d3 * (double) 0.3F;
+                        adouble[i++] = d2 / d3 * (double) 0.3F;
+                    }
+                }
+            }
+        }
+
+        return adouble;
+    }
+
     private ExplosionDamageCalculator makeDamageCalculator(@Nullable Entity source) {
         return (ExplosionDamageCalculator) (source == null ? ServerExplosion.EXPLOSION_DAMAGE_CALCULATOR : new EntityBasedExplosionDamageCalculator(source));
     }
@@ -113,55 +143,49 @@ public class ServerExplosion implements Explosion {
     }
 
     private List<BlockPos> calculateExplodedPositions() {
-        Set<BlockPos> set = new HashSet();
-        int i = 16;
-
-        for (int j = 0; j < 16; ++j) {
-            for (int k = 0; k < 16; ++k) {
-                for (int l = 0; l < 16; ++l) {
-                    if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15) {
-                        double d0 = (double) ((float) j / 15.0F * 2.0F - 1.0F);
-                        double d1 = (double) ((float) k / 15.0F * 2.0F - 1.0F);
-                        double d2 = (double) ((float) l / 15.0F * 2.0F - 1.0F);
-                        double d3 = Math.sqrt(d0 * d0 + d1 * d1 + d2 * d2);
+        List<BlockPos> list = new ObjectArrayList();
+        ServerExplosion.BlockCache serverexplosion_blockcache = new ServerExplosion.BlockCache(this.level);
+        BlockPos.MutableBlockPos blockpos_mutableblockpos = new BlockPos.MutableBlockPos();
+
+        for (int i = 0; i < ServerExplosion.RAY_STEPS.length; i += 3) {
+            double d0 = ServerExplosion.RAY_STEPS[i];
+            double d1 = ServerExplosion.RAY_STEPS[i + 1];
+            double d2 = ServerExplosion.RAY_STEPS[i + 2];
+            float f = this.radius * (0.7F + this.level.random.nextFloat() * 0.6F);
+            double d3 = this.center.x;
+            double d4 = this.center.y;
+            double d5 = this.center.z;
+
+            for (; f > 0.0F; f -= 0.22500001F) {
+                blockpos_mutableblockpos.set(d3, d4, d5);
+                if (!this.level.isInWorldBounds(blockpos_mutableblockpos)) {
+                    break;
+                }
 
-                        d0 /= d3;
-                        d1 /= d3;
-                        d2 /= d3;
-                        float f = this.radius * (0.7F + this.level.random.nextFloat() * 0.6F);
-                        double d4 = this.center.x;
-                        double d5 = this.center.y;
-                        double d6 = this.center.z;
-
-                        for (float f1 = 0.3F; f > 0.0F; f -= 0.22500001F) {
-                            BlockPos blockpos = BlockPos.containing(d4, d5, d6);
-                            BlockState blockstate = this.level.getBlockState(blockpos);
-                            FluidState fluidstate = this.level.getFluidState(blockpos);
-
-                            if (!this.level.isInWorldBounds(blockpos)) {
-                                break;
-                            }
+                ServerExplosion.CachedBlock serverexplosion_cachedblock = serverexplosion_blockcache.get(blockpos_mutableblockpos);
 
-                            Optional<Float> optional = this.damageCalculator.getBlockExplosionResistance(this, this.level, blockpos, blockstate, fluidstate);
+                if (serverexplosion_cachedblock.resistance == null) {
+                    serverexplosion_cachedblock.resistance = this.damageCalculator.getBlockExplosionResistance(this, this.level, serverexplosion_cachedblock.pos, serverexplosion_cachedblock.state, serverexplosion_cachedblock.state.getFluidState());
+                }
 
-                            if (optional.isPresent()) {
-                                f -= ((Float) optional.get() + 0.3F) * 0.3F;
-                            }
+                Optional<Float> optional = serverexplosion_cachedblock.resistance;
 
-                            if (f > 0.0F && this.damageCalculator.shouldBlockExplode(this, this.level, blockpos, blockstate, f)) {
-                                set.add(blockpos);
-                            }
+                if (optional.isPresent()) {
+                    f -= ((Float) optional.get() + 0.3F) * 0.3F;
+                }
 
-                            d4 += d0 * (double) 0.3F;
-                            d5 += d1 * (double) 0.3F;
-                            d6 += d2 * (double) 0.3F;
-                        }
-                    }
+                if (f > 0.0F && !serverexplosion_cachedblock.exploded && this.damageCalculator.shouldBlockExplode(this, this.level, serverexplosion_cachedblock.pos, serverexplosion_cachedblock.state, f)) {
+                    serverexplosion_cachedblock.exploded = true;
+                    list.add(serverexplosion_cachedblock.pos);
                 }
+
+                d3 += d0;
+                d4 += d1;
+                d5 += d2;
             }
         }
 
-        return new ObjectArrayList(set);
+        return list;
     }
 
     private void hurtEntities() {
@@ -228,11 +252,18 @@ public class ServerExplosion implements Explosion {
         List<ServerExplosion.StackCollector> list1 = new ArrayList();
 
         Util.shuffle(targetBlocks, this.level.random);
+        ThreadedLevelLightEngine threadedlevellightengine = this.level.getChunkSource().getLightEngine();
 
-        for (BlockPos blockpos : targetBlocks) {
-            this.level.getBlockState(blockpos).onExplosionHit(this.level, blockpos, this, (itemstack, blockpos1) -> {
-                addOrAppendStack(list1, itemstack, blockpos1);
-            });
+        threadedlevellightengine.startBulkUpdate();
+
+        try {
+            for (BlockPos blockpos : targetBlocks) {
+                this.level.getBlockState(blockpos).onExplosionHit(this.level, blockpos, this, (itemstack, blockpos1) -> {
+                    addOrAppendStack(list1, itemstack, blockpos1);
+                });
+            }
+        } finally {
+            threadedlevellightengine.endBulkUpdate();
         }
 
         for (ServerExplosion.StackCollector serverexplosion_stackcollector : list1) {
@@ -330,6 +361,62 @@ public class ServerExplosion implements Explosion {
         return this.radius < 2.0F || !this.interactsWithBlocks();
     }
 
+    private static class BlockCache {
+
+        private final ServerLevel level;
+        private final Long2ObjectMap<ServerExplosion.CachedBlock> blocks = new Long2ObjectOpenHashMap();
+        private long sectionPos = Long.MAX_VALUE;
+        private @Nullable LevelChunkSection section;
+
+        private BlockCache(ServerLevel level) {
+            this.level = level;
+        }
+
+        public ServerExplosion.CachedBlock get(BlockPos pos) {
+            long i = pos.asLong();
+            ServerExplosion.CachedBlock serverexplosion_cachedblock = (ServerExplosion.CachedBlock) this.blocks.get(i);
+
+            if (serverexplosion_cachedblock == null) {
+                BlockPos blockpos1 = pos.immutable();
+
+                serverexplosion_cachedblock = new ServerExplosion.CachedBlock(blockpos1, this.getBlockState(blockpos1));
+                this.blocks.put(i, serverexplosion_cachedblock);
+            }
+
+            return serverexplosion_cachedblock;
+        }
+
+        private BlockState getBlockState(BlockPos pos) {
+            if (this.level.isDebug()) {
+                return this.level.getBlockState(pos);
+            } else {
+                long i = SectionPos.asLong(pos);
+
+                if (i != this.sectionPos || this.section == null) {
+                    LevelChunk levelchunk = this.level.getChunk(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+
+                    this.section = levelchunk.getSection(levelchunk.getSectionIndex(pos.getY()));
+                    this.sectionPos = i;
+                }
+
+                return this.section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+            }
+        }
+    }
+
+    private static class CachedBlock {
+
+        final BlockPos pos;
+        final BlockState state;
+        @Nullable Optional<Float> resistance;
+        boolean exploded;
+
+        CachedBlock(BlockPos pos, BlockState state) {
+            this.pos = pos;
+            this.state = state;
+        }
+    }
+
     private static class StackCollector {
 
         private final BlockPos pos;
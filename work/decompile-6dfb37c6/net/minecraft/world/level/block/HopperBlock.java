@@ -122,6 +122,12 @@ public class HopperBlock extends BaseEntityBlock {
 
     @Override
     protected void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, @Nullable Orientation orientation, boolean movedByPiston) {
+        BlockEntity blockentity = level.getBlockEntity(pos);
+
+        if (blockentity instanceof HopperBlockEntity hopperblockentity) {
+            hopperblockentity.invalidateContainerLinks();
+        }
+
         this.checkPoweredState(level, pos, state);
     }
 
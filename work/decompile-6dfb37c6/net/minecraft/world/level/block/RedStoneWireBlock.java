@@ -33,6 +33,7 @@ import net.minecraft.world.level.block.state.properties.RedstoneSide;
 import net.minecraft.world.level.redstone.DefaultRedstoneWireEvaluator;
 import net.minecraft.world.level.redstone.ExperimentalRedstoneUtils;
 import net.minecraft.world.level.redstone.ExperimentalRedstoneWireEvaluator;
+import net.minecraft.world.level.redstone.GraphRedstoneWireEvaluator;
 import net.minecraft.world.level.redstone.Orientation;
 import net.minecraft.world.level.redstone.RedstoneWireEvaluator;
 import net.minecraft.world.phys.BlockHitResult;
@@ -260,6 +261,8 @@ public class RedStoneWireBlock extends Block {
     private void updatePowerStrength(Level level, BlockPos pos, BlockState state, @Nullable Orientation orientation, boolean shapeUpdateWiresAroundInitialPosition) {
         if (useExperimentalEvaluator(level)) {
             (new ExperimentalRedstoneWireEvaluator(this)).updatePowerStrength(level, pos, state, orientation, shapeUpdateWiresAroundInitialPosition);
+        } else if (useGraphEvaluator(level)) {
+            (new GraphRedstoneWireEvaluator(this)).updatePowerStrength(level, pos, state, orientation, shapeUpdateWiresAroundInitialPosition);
         } else {
             this.evaluator.updatePowerStrength(level, pos, state, orientation, shapeUpdateWiresAroundInitialPosition);
         }
@@ -330,7 +333,7 @@ public class RedStoneWireBlock extends Block {
     @Override
     protected void neighborChanged(BlockState state, Level level, BlockPos pos, Block block, @Nullable Orientation orientation, boolean movedByPiston) {
         if (!level.isClientSide()) {
-            if (block != this || !useExperimentalEvaluator(level)) {
+            if (block != this || !useExperimentalEvaluator(level) && !useGraphEvaluator(level)) {
                 if (state.canSurvive(level, pos)) {
                     this.updatePowerStrength(level, pos, state, orientation, false);
                 } else {
@@ -346,6 +349,10 @@ public class RedStoneWireBlock extends Block {
         return level.enabledFeatures().contains(FeatureFlags.REDSTONE_EXPERIMENTS);
     }
 
+    private static boolean useGraphEvaluator(Level level) {
+        return level instanceof ServerLevel serverlevel && serverlevel.getServer().isRedstoneGraphEvaluator();
+    }
+
     @Override
     protected int getDirectSignal(BlockState state, BlockGetter level, BlockPos pos, Direction direction) {
         return !this.shouldSignal ? 0 : state.getSignal(level, pos, direction);
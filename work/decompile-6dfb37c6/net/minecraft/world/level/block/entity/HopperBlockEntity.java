@@ -7,6 +7,7 @@ import net.minecraft.core.Direction;
 import net.minecraft.core.NonNullList;
 import net.minecraft.network.chat.Component;
 import net.minecraft.tags.BlockTags;
+import net.minecraft.world.CompoundContainer;
 import net.minecraft.world.Container;
 import net.minecraft.world.ContainerHelper;
 import net.minecraft.world.WorldlyContainer;
@@ -40,6 +41,8 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
     private int cooldownTime;
     private long tickedGameTime;
     private Direction facing;
+    private final HopperBlockEntity.ContainerLink destination = new HopperBlockEntity.ContainerLink();
+    private final HopperBlockEntity.ContainerLink source = new HopperBlockEntity.ContainerLink();
 
     public HopperBlockEntity(BlockPos worldPosition, BlockState blockState) {
         super(BlockEntityType.HOPPER, worldPosition, blockState);
@@ -77,12 +80,14 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
     @Override
     public ItemStack removeItem(int slot, int count) {
         this.unpackLootTable((Player) null);
+        ++this.changeCount;
         return ContainerHelper.removeItem(this.getItems(), slot, count);
     }
 
     @Override
     public void setItem(int slot, ItemStack itemStack) {
         this.unpackLootTable((Player) null);
+        ++this.changeCount;
         this.getItems().set(slot, itemStack);
         itemStack.limitSize(this.getMaxStackSize(itemStack));
     }
@@ -91,6 +96,12 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
     public void setBlockState(BlockState blockState) {
         super.setBlockState(blockState);
         this.facing = (Direction) blockState.getValue(HopperBlock.FACING);
+        this.destination.invalidate();
+    }
+
+    public void invalidateContainerLinks() {
+        this.destination.invalidate();
+        this.source.invalidate();
     }
 
     @Override
@@ -127,7 +138,7 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
 
                 if (flag) {
                     entity.setCooldown(8);
-                    setChanged(level, pos, state);
+                    entity.setChanged();
                     return true;
                 }
             }
@@ -151,10 +162,13 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
 
         if (container == null) {
             return false;
+        } else if (self.destination.isBlocked(container, self)) {
+            return false;
         } else {
             Direction direction = self.facing.getOpposite();
 
             if (isFullContainer(container, direction)) {
+                self.destination.markBlocked(container, self);
                 return false;
             } else {
                 for (int i = 0; i < self.getContainerSize(); ++i) {
@@ -176,6 +190,7 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
                     }
                 }
 
+                self.destination.markBlocked(container, self);
                 return false;
             }
         }
@@ -234,15 +249,25 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
         Container container = getSourceContainer(level, hopper, blockpos, blockstate);
 
         if (container != null) {
-            Direction direction = Direction.DOWN;
+            HopperBlockEntity hopperblockentity = hopper instanceof HopperBlockEntity ? (HopperBlockEntity) hopper : null;
 
-            for (int i : getSlots(container, direction)) {
-                if (tryTakeInItemFromSlot(hopper, container, i, direction)) {
-                    return true;
+            if (hopperblockentity != null && hopperblockentity.source.isBlocked(container, hopperblockentity)) {
+                return false;
+            } else {
+                Direction direction = Direction.DOWN;
+
+                for (int i : getSlots(container, direction)) {
+                    if (tryTakeInItemFromSlot(hopper, container, i, direction)) {
+                        return true;
+                    }
                 }
-            }
 
-            return false;
+                if (hopperblockentity != null) {
+                    hopperblockentity.source.markBlocked(container, hopperblockentity);
+                }
+
+                return false;
+            }
         } else {
             boolean flag = hopper.isGridAligned() && blockstate.isCollisionShapeFullBlock(level, blockpos) && !blockstate.is(BlockTags.DOES_NOT_BLOCK_HOPPERS);
 
@@ -404,11 +429,20 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
     }
 
     private static @Nullable Container getAttachedContainer(Level level, BlockPos blockPos, HopperBlockEntity self) {
-        return getContainerAt(level, blockPos.relative(self.facing));
+        BlockPos blockpos1 = blockPos.relative(self.facing);
+        Container container = self.destination.resolve(level, blockpos1, level.getBlockState(blockpos1));
+
+        return container != null ? container : getEntityContainer(level, (double) blockpos1.getX() + 0.5D, (double) blockpos1.getY() + 0.5D, (double) blockpos1.getZ() + 0.5D);
     }
 
     private static @Nullable Container getSourceContainer(Level level, Hopper hopper, BlockPos pos, BlockState state) {
-        return getContainerAt(level, pos, state, hopper.getLevelX(), hopper.getLevelY() + 1.0D, hopper.getLevelZ());
+        if (hopper instanceof HopperBlockEntity hopperblockentity) {
+            Container container = hopperblockentity.source.resolve(level, pos, state);
+
+            return container != null ? container : getEntityContainer(level, hopper.getLevelX(), hopper.getLevelY() + 1.0D, hopper.getLevelZ());
+        } else {
+            return getContainerAt(level, pos, state, hopper.getLevelX(), hopper.getLevelY() + 1.0D, hopper.getLevelZ());
+        }
     }
 
     public static List<ItemEntity> getItemsAtAndAbove(Level level, Hopper hopper) {
@@ -522,4 +556,66 @@ public class HopperBlockEntity extends RandomizableContainerBlockEntity implemen
     protected AbstractContainerMenu createMenu(int containerId, Inventory inventory) {
         return new HopperMenu(containerId, inventory, this);
     }
+
+    private static class ContainerLink {
+
+        private @Nullable BlockState state;
+        private @Nullable Container container;
+        private @Nullable Container blockedContainer;
+        private long blockedChangeCount;
+        private long blockedSelfChangeCount;
+
+        ContainerLink() {}
+
+        @Nullable Container resolve(Level level, BlockPos pos, BlockState state) {
+            if (state.getBlock() instanceof WorldlyContainerHolder) {
+                this.invalidate();
+                return HopperBlockEntity.getBlockContainer(level, pos, state);
+            } else {
+                if (state != this.state || this.container != null && isRemoved(this.container)) {
+                    this.invalidate();
+                    this.state = state;
+                    this.container = HopperBlockEntity.getBlockContainer(level, pos, state);
+                    if (this.container == null && state.hasBlockEntity()) {
+                        this.state = null;
+                    }
+                }
+
+                return this.container;
+            }
+        }
+
+        void invalidate() {
+            this.state = null;
+            this.container = null;
+            this.blockedContainer = null;
+        }
+
+        boolean isBlocked(Container container, HopperBlockEntity self) {
+            return container == this.blockedContainer && container.getChangeCount() == this.blockedChangeCount && self.getChangeCount() == this.blockedSelfChangeCount;
+        }
+
+        void markBlocked(Container container, HopperBlockEntity self) {
+            long i = container.getChangeCount();
+
+            if (i != -1L) {
+                this.blockedContainer = container;
+                this.blockedChangeCount = i;
+                this.blockedSelfChangeCount = self.getChangeCount();
+            } else {
+                this.blockedContainer = null;
+            }
+
+        }
+
+        private static boolean isRemoved(Container container) {
+            if (container instanceof CompoundContainer compoundcontainer) {
+                return isRemoved(compoundcontainer.container1) || isRemoved(compoundcontainer.container2);
+            } else if (container instanceof BlockEntity blockentity) {
+                return blockentity.isRemoved();
+            } else {
+                return false;
+            }
+        }
+    }
 }
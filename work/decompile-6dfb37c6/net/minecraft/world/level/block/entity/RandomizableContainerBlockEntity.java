@@ -20,6 +20,7 @@ public abstract class RandomizableContainerBlockEntity extends BaseContainerBloc
 
     public @Nullable ResourceKey<LootTable> lootTable;
     public long lootTableSeed = 0L;
+    protected int changeCount;
 
     protected RandomizableContainerBlockEntity(BlockEntityType<?> type, BlockPos worldPosition, BlockState blockState) {
         super(type, worldPosition, blockState);
@@ -66,6 +67,7 @@ public abstract class RandomizableContainerBlockEntity extends BaseContainerBloc
     @Override
     public ItemStack removeItemNoUpdate(int slot) {
         this.unpackLootTable((Player) null);
+        ++this.changeCount;
         return super.removeItemNoUpdate(slot);
     }
 
@@ -75,6 +77,23 @@ public abstract class RandomizableContainerBlockEntity extends BaseContainerBloc
         super.setItem(slot, itemStack);
     }
 
+    @Override
+    public void clearContent() {
+        super.clearContent();
+        ++this.changeCount;
+    }
+
+    @Override
+    public void setChanged() {
+        ++this.changeCount;
+        super.setChanged();
+    }
+
+    @Override
+    public long getChangeCount() {
+        return (long) this.changeCount & 4294967295L;
+    }
+
     @Override
     public boolean canOpen(Player player) {
         return super.canOpen(player) && (this.lootTable == null || !player.isSpectator());
@@ -928,6 +928,10 @@ public abstract class BlockBehaviour implements FeatureElement {
             return this.cache == null || this.cache.largeCollisionShape;
         }
 
+        public boolean hasFullBlockCollision() {
+            return this.cache != null && this.cache.isCollisionShapeFullBlock;
+        }
+
         public boolean useShapeForLightOcclusion() {
             return this.useShapeForLightOcclusion;
         }
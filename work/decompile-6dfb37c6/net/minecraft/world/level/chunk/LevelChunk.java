@@ -189,7 +189,7 @@ public class LevelChunk extends ChunkAccess implements DebugValueSource {
 
         if (level instanceof ServerLevel serverlevel) {
             return (GameEventListenerRegistry) this.gameEventListenerRegistrySections.computeIfAbsent(section, (j) -> {
-                return new EuclideanGameEventListenerRegistry(serverlevel, section, this::removeGameEventListenerRegistry);
+                return new EuclideanGameEventListenerRegistry(serverlevel, this.chunkPos, section, this::removeGameEventListenerRegistry);
             });
         } else {
             return super.getListenerRegistry(section);
@@ -687,6 +687,13 @@ public class LevelChunk extends ChunkAccess implements DebugValueSource {
         this.fluidTicks.unpack(currentTick);
     }
 
+    public void indexRandomTickingBlocks() {
+        for (LevelChunkSection levelchunksection : this.getSections()) {
+            levelchunksection.indexRandomTickingBlocks();
+        }
+
+    }
+
     public void registerTickContainerInLevel(ServerLevel level) {
         level.getBlockTicks().addContainer(this.chunkPos, this.blockTicks);
         level.getFluidTicks().addContainer(this.chunkPos, this.fluidTicks);
@@ -1,5 +1,7 @@
 package net.minecraft.world.level.chunk;
 
+import it.unimi.dsi.fastutil.shorts.Short2ShortOpenHashMap;
+import java.util.Arrays;
 import java.util.function.Predicate;
 import net.minecraft.core.Holder;
 import net.minecraft.network.FriendlyByteBuf;
@@ -8,6 +10,7 @@ import net.minecraft.world.level.biome.BiomeResolver;
 import net.minecraft.world.level.biome.Climate;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.FluidState;
+import org.jspecify.annotations.Nullable;
 
 public class LevelChunkSection {
 
@@ -18,13 +21,19 @@ public class LevelChunkSection {
     private short nonEmptyBlockCount;
     private short tickingBlockCount;
     private short tickingFluidCount;
+    private short fullCollisionBlockCount;
     private final PalettedContainer<BlockState> states;
     private PalettedContainerRO<Holder<Biome>> biomes;
+    private byte @Nullable [] pathTypes;
+    private short @Nullable [] randomTickingBlocks;
+    private @Nullable Short2ShortOpenHashMap randomTickingBlockIndices;
+    private int randomTickingBlockCount;
 
     private LevelChunkSection(LevelChunkSection source) {
         this.nonEmptyBlockCount = source.nonEmptyBlockCount;
         this.tickingBlockCount = source.tickingBlockCount;
         this.tickingFluidCount = source.tickingFluidCount;
+        this.fullCollisionBlockCount = source.fullCollisionBlockCount;
         this.states = source.states.copy();
         this.biomes = source.biomes.copy();
     }
@@ -69,6 +78,24 @@ public class LevelChunkSection {
             blockstate1 = this.states.getAndSetUnchecked(sectionX, sectionY, sectionZ, state);
         }
 
+        int i = sectionY << 8 | sectionZ << 4 | sectionX;
+        byte[] abyte = this.pathTypes;
+
+        if (abyte != null) {
+            abyte[i] = 0;
+        }
+
+        if (this.randomTickingBlocks != null) {
+            boolean flag1 = isRandomlyTicking(blockstate1);
+            boolean flag2 = isRandomlyTicking(state);
+
+            if (flag2 && !flag1) {
+                this.addRandomTickingBlock(i);
+            } else if (flag1 && !flag2) {
+                this.removeRandomTickingBlock(i);
+            }
+        }
+
         FluidState fluidstate = blockstate1.getFluidState();
         FluidState fluidstate1 = state.getFluidState();
 
@@ -94,13 +121,77 @@ public class LevelChunkSection {
             ++this.tickingFluidCount;
         }
 
+        if (blockstate1.hasFullBlockCollision()) {
+            --this.fullCollisionBlockCount;
+        }
+
+        if (state.hasFullBlockCollision()) {
+            ++this.fullCollisionBlockCount;
+        }
+
         return blockstate1;
     }
 
+    private static boolean isRandomlyTicking(BlockState state) {
+        return state.isRandomlyTicking() || state.getFluidState().isRandomlyTicking();
+    }
+
+    private void addRandomTickingBlock(int index) {
+        if (this.randomTickingBlockCount == this.randomTickingBlocks.length) {
+            this.randomTickingBlocks = Arrays.copyOf(this.randomTickingBlocks, Math.min(Math.max(this.randomTickingBlocks.length * 2, 16), 4096));
+        }
+
+        this.randomTickingBlockIndices.put((short) index, (short) this.randomTickingBlockCount);
+        this.randomTickingBlocks[this.randomTickingBlockCount++] = (short) index;
+    }
+
+    private void removeRandomTickingBlock(int index) {
+        short short0 = this.randomTickingBlockIndices.remove((short) index);
+
+        if (short0 >= 0) {
+            short short1 = this.randomTickingBlocks[--this.randomTickingBlockCount];
+
+            this.randomTickingBlocks[short0] = short1;
+            if (short1 != index) {
+                this.randomTickingBlockIndices.put(short1, short0);
+            }
+        }
+
+    }
+
+    public void indexRandomTickingBlocks() {
+        if (this.randomTickingBlocks == null) {
+            this.randomTickingBlocks = new short[0];
+            this.randomTickingBlockIndices = new Short2ShortOpenHashMap();
+            this.randomTickingBlockIndices.defaultReturnValue((short) -1);
+            this.randomTickingBlockCount = 0;
+            if (this.isRandomlyTicking()) {
+                for (int i = 0; i < 4096; ++i) {
+                    if (isRandomlyTicking(this.getBlockState(i & 15, i >> 8 & 15, i >> 4 & 15))) {
+                        this.addRandomTickingBlock(i);
+                    }
+                }
+            }
+
+        }
+    }
+
+    public int getRandomTickingBlockCount() {
+        return this.randomTickingBlockCount;
+    }
+
+    public int getRandomTickingBlock(int index) {
+        return this.randomTickingBlocks[index];
+    }
+
     public boolean hasOnlyAir() {
         return this.nonEmptyBlockCount == 0;
     }
 
+    public boolean hasOnlyFullCollisionBlocks() {
+        return this.fullCollisionBlockCount == 4096;
+    }
+
     public boolean isRandomlyTicking() {
         return this.isRandomlyTickingBlocks() || this.isRandomlyTickingFluids();
     }
@@ -114,11 +205,15 @@ public class LevelChunkSection {
     }
 
     public void recalcBlockCounts() {
+        this.randomTickingBlocks = null;
+        this.randomTickingBlockIndices = null;
+        this.randomTickingBlockCount = 0;
         class 1BlockCounter implements PalettedContainer.CountConsumer<BlockState> {
 
             public int nonEmptyBlockCount;
             public int tickingBlockCount;
             public int tickingFluidCount;
+            public int fullCollisionBlockCount;
 
             _BlockCounter/* $FF was: 1BlockCounter*/() {
 }
@@ -140,6 +235,10 @@ public class LevelChunkSection {
                     }
                 }
 
+                if (state.hasFullBlockCollision()) {
+                    this.fullCollisionBlockCount += count;
+                }
+
             }
         }
 
@@ -149,6 +248,30 @@ public class LevelChunkSection {
         this.nonEmptyBlockCount = (short)1blockcounter.nonEmptyBlockCount;
         this.tickingBlockCount = (short)1blockcounter.tickingBlockCount;
         this.tickingFluidCount = (short)1blockcounter.tickingFluidCount;
+        this.fullCollisionBlockCount = (short)1blockcounter.fullCollisionBlockCount;
+    }
+
+    private void recalcFullCollisionBlockCount() {
+        int[] aint = new int[1];
+
+        this.states.count((blockstate, i) -> {
+            if (blockstate.hasFullBlockCollision()) {
+                aint[0] += i;
+            }
+
+        });
+        this.fullCollisionBlockCount = (short) aint[0];
+    }
+
+    public byte[] getPathTypes() {
+        byte[] abyte = this.pathTypes;
+
+        if (abyte == null) {
+            abyte = new byte[4096];
+            this.pathTypes = abyte;
+        }
+
+        return abyte;
     }
 
     public PalettedContainer<BlockState> getStates() {
@@ -162,6 +285,7 @@ public class LevelChunkSection {
     public void read(FriendlyByteBuf buffer) {
         this.nonEmptyBlockCount = buffer.readShort();
         this.states.read(buffer);
+        this.recalcFullCollisionBlockCount();
         PalettedContainer<Holder<Biome>> palettedcontainer = this.biomes.recreate();
 
         palettedcontainer.read(buffer);
@@ -175,6 +175,7 @@ public class ChunkStatusTasks {
             levelchunk.setLoaded(true);
             levelchunk.registerAllBlockEntitiesAfterLevelLoad();
             levelchunk.registerTickContainerInLevel(serverlevel);
+            levelchunk.indexRandomTickingBlocks();
             levelchunk.setUnsavedListener(context.unsavedListener());
             return levelchunk;
         }, context.mainThreadExecutor());
@@ -1,12 +1,15 @@
 package net.minecraft.world.level.chunk.storage;
 
+import com.mojang.datafixers.util.Either;
 import com.mojang.logging.LogUtils;
 import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.BitSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.SequencedMap;
 import java.util.concurrent.CompletableFuture;
@@ -41,7 +44,11 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
     private static final int REGION_CACHE_SIZE = 1024;
 
     protected IOWorker(RegionStorageInfo info, Path dir, boolean sync) {
-        this.storage = new RegionFileStorage(info, dir, sync);
+        this(info, dir, sync, false);
+    }
+
+    protected IOWorker(RegionStorageInfo info, Path dir, boolean sync, boolean memoryMappedReads) {
+        this.storage = new RegionFileStorage(info, dir, sync, memoryMappedReads);
         this.consecutiveExecutor = new PriorityConsecutiveExecutor(IOWorker.Priority.values().length, Util.ioPool(), "IOWorker-" + info.type());
     }
 
@@ -147,6 +154,13 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
         }).thenCompose(Function.identity());
     }
 
+    public CompletableFuture<Void> useDictionary(RegionFileDictionary dictionary) {
+        return this.submitTask(() -> {
+            this.storage.setDictionary(dictionary);
+            return null;
+        });
+    }
+
     public CompletableFuture<Optional<CompoundTag>> loadAsync(ChunkPos pos) {
         return this.<Optional<CompoundTag>>submitThrowingTask(() -> {
             IOWorker.PendingStore ioworker_pendingstore = (IOWorker.PendingStore) this.pendingWrites.get(pos);
@@ -166,6 +180,27 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
         });
     }
 
+    public CompletableFuture<Optional<Either<CompoundTag, byte[]>>> loadRawAsync(ChunkPos pos) {
+        return this.<Optional<Either<CompoundTag, byte[]>>>submitThrowingTask(() -> {
+            IOWorker.PendingStore ioworker_pendingstore = (IOWorker.PendingStore) this.pendingWrites.get(pos);
+
+            if (ioworker_pendingstore != null) {
+                CompoundTag compoundtag = ioworker_pendingstore.copyData();
+
+                return compoundtag != null ? Optional.of(Either.left(compoundtag)) : Optional.empty();
+            } else {
+                try {
+                    byte[] abyte = this.storage.readBytes(pos);
+
+                    return abyte != null ? Optional.of(Either.right(abyte)) : Optional.empty();
+                } catch (Exception exception) {
+                    IOWorker.LOGGER.warn("Failed to read chunk {}", pos, exception);
+                    throw exception;
+                }
+            }
+        });
+    }
+
     public CompletableFuture<Void> synchronize(boolean flush) {
         CompletableFuture<Void> completablefuture = this.submitTask(() -> {
             return CompletableFuture.allOf((CompletableFuture[]) this.pendingWrites.values().stream().map((ioworker_pendingstore) -> {
@@ -242,7 +277,28 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
         Map.Entry<ChunkPos, IOWorker.PendingStore> map_entry = this.pendingWrites.pollFirstEntry();
 
         if (map_entry != null) {
-            this.runStore((ChunkPos) map_entry.getKey(), (IOWorker.PendingStore) map_entry.getValue());
+            ChunkPos chunkpos = (ChunkPos) map_entry.getKey();
+            SequencedMap<ChunkPos, IOWorker.PendingStore> sequencedmap = new LinkedHashMap();
+
+            sequencedmap.put(chunkpos, (IOWorker.PendingStore) map_entry.getValue());
+            Iterator<Map.Entry<ChunkPos, IOWorker.PendingStore>> iterator = this.pendingWrites.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                Map.Entry<ChunkPos, IOWorker.PendingStore> map_entry1 = (Entry) iterator.next();
+                ChunkPos chunkpos1 = (ChunkPos) map_entry1.getKey();
+
+                if (chunkpos1.getRegionX() == chunkpos.getRegionX() && chunkpos1.getRegionZ() == chunkpos.getRegionZ()) {
+                    sequencedmap.put(chunkpos1, (IOWorker.PendingStore) map_entry1.getValue());
+                    iterator.remove();
+                }
+            }
+
+            if (sequencedmap.size() == 1) {
+                this.runStore(chunkpos, (IOWorker.PendingStore) map_entry.getValue());
+            } else {
+                this.runStore(chunkpos, sequencedmap);
+            }
+
             this.tellStorePending();
         }
     }
@@ -262,6 +318,27 @@ public class IOWorker implements AutoCloseable, ChunkScanAccess {
 
     }
 
+    private void runStore(ChunkPos pos, SequencedMap<ChunkPos, IOWorker.PendingStore> writes) {
+        Map<ChunkPos, CompoundTag> map = new LinkedHashMap();
+
+        writes.forEach((chunkpos1, ioworker_pendingstore) -> {
+            map.put(chunkpos1, ioworker_pendingstore.data);
+        });
+
+        try {
+            this.storage.write(map);
+            writes.values().forEach((ioworker_pendingstore) -> {
+                ioworker_pendingstore.result.complete((Object) null);
+            });
+        } catch (Exception exception) {
+            IOWorker.LOGGER.error("Failed to store {} chunks in region {}, {}", new Object[]{writes.size(), pos.getRegionX(), pos.getRegionZ(), exception});
+            writes.values().forEach((ioworker_pendingstore) -> {
+                ioworker_pendingstore.result.completeExceptionally(exception);
+            });
+        }
+
+    }
+
     public void close() throws IOException {
         if (this.shutdownRequested.compareAndSet(false, true)) {
             this.waitForShutdown();
@@ -21,6 +21,10 @@ public class RecreatingSimpleRegionStorage extends SimpleRegionStorage {
         this.writeWorker = new IOWorker(writeInfo, writeFolder, syncWrites);
     }
 
+    public void useDictionary(RegionFileDictionary dictionary) {
+        this.writeWorker.useDictionary(dictionary).join();
+    }
+
     @Override
     public CompletableFuture<Void> write(ChunkPos pos, Supplier<CompoundTag> supplier) {
         this.markChunkDone(pos);
@@ -2,6 +2,9 @@ package net.minecraft.world.level.chunk.storage;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
@@ -11,15 +14,20 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import net.minecraft.resources.Identifier;
 import net.minecraft.util.Util;
 import net.minecraft.util.profiling.jfr.JvmProfiler;
+import net.minecraft.util.profiling.jfr.callback.ProfiledDuration;
 import net.minecraft.world.level.ChunkPos;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -33,15 +41,22 @@ public class RegionFile implements AutoCloseable {
     private static final int CHUNK_HEADER_SIZE = 5;
     private static final int HEADER_OFFSET = 0;
     private static final ByteBuffer PADDING_BUFFER = ByteBuffer.allocateDirect(1);
+    private static final ByteBuffer EMPTY_SECTOR = ByteBuffer.allocateDirect(4096);
     private static final String EXTERNAL_FILE_EXTENSION = ".mcc";
     private static final int EXTERNAL_STREAM_FLAG = 128;
     private static final int EXTERNAL_CHUNK_THRESHOLD = 256;
     private static final int CHUNK_NOT_PRESENT = 0;
+    private static final int MAPPED_SEGMENT_SECTORS = 64;
+    private static final MappedByteBuffer[] NO_MAPPED_SEGMENTS = new MappedByteBuffer[0];
     private final RegionStorageInfo info;
     private final Path path;
     private final FileChannel file;
     private final Path externalFileDir;
     private final RegionFileVersion version;
+    private final boolean sync;
+    private RegionFileDictionary.Store dictionaries = new RegionFileDictionary.Store();
+    private final boolean mappedReads;
+    private @Nullable MappedByteBuffer[] mappedSegments;
     private final ByteBuffer header;
     private final IntBuffer offsets;
     private final IntBuffer timestamps;
@@ -53,11 +68,18 @@ public class RegionFile implements AutoCloseable {
     }
 
     public RegionFile(RegionStorageInfo info, Path path, Path externalFileDir, RegionFileVersion version, boolean sync) throws IOException {
+        this(info, path, externalFileDir, version, sync, false);
+    }
+
+    public RegionFile(RegionStorageInfo info, Path path, Path externalFileDir, RegionFileVersion version, boolean sync, boolean mappedReads) throws IOException {
+        this.mappedSegments = RegionFile.NO_MAPPED_SEGMENTS;
         this.header = ByteBuffer.allocateDirect(8192);
         this.usedSectors = new RegionBitmap();
         this.info = info;
         this.path = path;
         this.version = version;
+        this.sync = sync;
+        this.mappedReads = mappedReads;
         if (!Files.isDirectory(externalFileDir, new LinkOption[0])) {
             throw new IllegalArgumentException("Expected directory, got " + String.valueOf(externalFileDir.toAbsolutePath()));
         } else {
@@ -66,11 +88,7 @@ public class RegionFile implements AutoCloseable {
             this.offsets.limit(1024);
             this.header.position(4096);
             this.timestamps = this.header.asIntBuffer();
-            if (sync) {
-                this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
-            } else {
-                this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
-            }
+            this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
 
             this.usedSectors.force(0, 2);
             this.header.position(0);
@@ -128,10 +146,14 @@ public class RegionFile implements AutoCloseable {
             int j = getSectorNumber(i);
             int k = getNumSectors(i);
             int l = k * 4096;
-            ByteBuffer bytebuffer = ByteBuffer.allocate(l);
+            ByteBuffer bytebuffer = this.mappedReads ? this.mapSectors(j, l) : null;
+
+            if (bytebuffer == null) {
+                bytebuffer = ByteBuffer.allocate(l);
+                this.file.read(bytebuffer, (long) (j * 4096));
+                bytebuffer.flip();
+            }
 
-            this.file.read(bytebuffer, (long) (j * 4096));
-            bytebuffer.flip();
             if (bytebuffer.remaining() < 5) {
                 RegionFile.LOGGER.error("Chunk {} header is truncated: expected {} but read {}", new Object[]{pos, l, bytebuffer.remaining()});
                 return null;
@@ -166,6 +188,28 @@ public class RegionFile implements AutoCloseable {
         }
     }
 
+    private @Nullable ByteBuffer mapSectors(int sector, int length) throws IOException {
+        int i = sector / 64;
+        int j = sector % 64 * 4096;
+
+        if (j + length > 262144 || this.file.size() < (long) (i + 1) * 262144L) {
+            return null;
+        } else {
+            if (i >= this.mappedSegments.length) {
+                this.mappedSegments = (MappedByteBuffer[]) Arrays.copyOf(this.mappedSegments, i + 1);
+            }
+
+            MappedByteBuffer mappedbytebuffer = this.mappedSegments[i];
+
+            if (mappedbytebuffer == null) {
+                mappedbytebuffer = this.file.map(FileChannel.MapMode.READ_ONLY, (long) i * 262144L, 262144L);
+                this.mappedSegments[i] = mappedbytebuffer;
+            }
+
+            return mappedbytebuffer.slice(j, length);
+        }
+    }
+
     private static int getTimestamp() {
         return (int) (Util.getEpochMillis() / 1000L);
     }
@@ -196,7 +240,7 @@ public class RegionFile implements AutoCloseable {
             RegionFile.LOGGER.error("Chunk {} has invalid chunk stream version {}", pos, versionId);
             return null;
         } else {
-            return new DataInputStream(regionfileversion.wrap(chunkStream));
+            return new DataInputStream(regionfileversion.wrap(chunkStream, this.dictionaries));
         }
     }
 
@@ -211,8 +255,8 @@ public class RegionFile implements AutoCloseable {
         }
     }
 
-    private static ByteArrayInputStream createStream(ByteBuffer buffer, int length) {
-        return new ByteArrayInputStream(buffer.array(), buffer.position(), length);
+    private static InputStream createStream(ByteBuffer buffer, int length) {
+        return (InputStream) (buffer.hasArray() ? new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), length) : new RegionFile.MappedChunkInputStream(buffer.slice(buffer.position(), length)));
     }
 
     private int packSectorOffset(int index, int size) {
@@ -283,7 +327,15 @@ public class RegionFile implements AutoCloseable {
     }
 
     public DataOutputStream getChunkDataOutputStream(ChunkPos pos) throws IOException {
-        return new DataOutputStream(this.version.wrap((OutputStream) (new RegionFile.ChunkBuffer(pos))));
+        return new DataOutputStream(this.version.wrap((OutputStream) (new RegionFile.ChunkBuffer(pos, (RegionFile.WriteBatch) null)), this.dictionaries.latest()));
+    }
+
+    public void setDictionaries(RegionFileDictionary.Store dictionaries) {
+        this.dictionaries = dictionaries;
+    }
+
+    public RegionFile.WriteBatch startBatch() {
+        return new RegionFile.WriteBatch();
     }
 
     public void flush() throws IOException {
@@ -298,6 +350,7 @@ public class RegionFile implements AutoCloseable {
             this.offsets.put(i, 0);
             this.timestamps.put(i, getTimestamp());
             this.writeHeader();
+            this.syncIfNeeded();
             Files.deleteIfExists(this.getExternalChunkPath(pos));
             this.usedSectors.free(getSectorNumber(j), getNumSectors(j));
         }
@@ -331,9 +384,11 @@ public class RegionFile implements AutoCloseable {
             this.file.write(data, (long) (k1 * 4096));
         }
 
+        this.syncIfNeeded();
         this.offsets.put(i, this.packSectorOffset(k1, j1));
         this.timestamps.put(i, getTimestamp());
         this.writeHeader();
+        this.syncIfNeeded();
         regionfile_commitop.run();
         if (k != 0) {
             this.usedSectors.free(k, l);
@@ -341,6 +396,125 @@ public class RegionFile implements AutoCloseable {
 
     }
 
+    protected synchronized void write(RegionFile.WriteBatch batch) throws IOException {
+        List<RegionFile.PendingWrite> list = batch.writes;
+
+        if (!list.isEmpty() || !batch.clears.isEmpty()) {
+            int i = 0;
+            int j = 0;
+            List<ProfiledDuration> list1 = new ArrayList(list.size());
+
+            for (RegionFile.PendingWrite regionfile_pendingwrite : list) {
+                j += regionfile_pendingwrite.data.remaining();
+            }
+
+            for (RegionFile.PendingWrite regionfile_pendingwrite1 : list) {
+                int k = regionfile_pendingwrite1.data.remaining();
+                ProfiledDuration profiledduration = JvmProfiler.INSTANCE.onRegionFileBatchWrite(this.info, regionfile_pendingwrite1.pos, this.version, k - 5 + 1, list.size(), j);
+
+                if (profiledduration != null) {
+                    list1.add(profiledduration);
+                }
+
+                ChunkPos chunkpos = regionfile_pendingwrite1.pos;
+                int l = sizeToSectors(k);
+
+                if (l >= 256) {
+                    Path path = this.getExternalChunkPath(chunkpos);
+
+                    RegionFile.LOGGER.warn("Saving oversized chunk {} ({} bytes} to external file {}", new Object[]{chunkpos, k, path});
+                    regionfile_pendingwrite1.commitOp = this.writeToExternalFile(path, regionfile_pendingwrite1.data);
+                    regionfile_pendingwrite1.data = this.createExternalStub();
+                    l = 1;
+                } else {
+                    regionfile_pendingwrite1.commitOp = () -> {
+                        Files.deleteIfExists(this.getExternalChunkPath(chunkpos));
+                    };
+                }
+
+                regionfile_pendingwrite1.sectors = l;
+                i += l;
+            }
+
+            if (i > 0) {
+                int i1 = this.usedSectors.allocate(i);
+                ByteBuffer[] abytebuffer = new ByteBuffer[list.size() * 2];
+                long j1 = 0L;
+                int k1 = i1;
+
+                for (int l1 = 0; l1 < list.size(); ++l1) {
+                    RegionFile.PendingWrite regionfile_pendingwrite2 = (RegionFile.PendingWrite) list.get(l1);
+                    int i2 = regionfile_pendingwrite2.sectors * 4096;
+
+                    abytebuffer[l1 * 2] = regionfile_pendingwrite2.data;
+                    abytebuffer[l1 * 2 + 1] = RegionFile.EMPTY_SECTOR.duplicate().position(0).limit(i2 - regionfile_pendingwrite2.data.remaining());
+                    j1 += (long) i2;
+                    regionfile_pendingwrite2.sector = k1;
+                    k1 += regionfile_pendingwrite2.sectors;
+                }
+
+                this.file.position((long) i1 * 4096L);
+
+                while (j1 > 0L) {
+                    j1 -= this.file.write(abytebuffer);
+                }
+            }
+
+            this.syncIfNeeded();
+            int j2 = getTimestamp();
+            IntList intlist = new IntArrayList();
+
+            for (RegionFile.PendingWrite regionfile_pendingwrite3 : list) {
+                int k2 = getOffsetIndex(regionfile_pendingwrite3.pos);
+
+                intlist.add(this.offsets.get(k2));
+                this.offsets.put(k2, this.packSectorOffset(regionfile_pendingwrite3.sector, regionfile_pendingwrite3.sectors));
+                this.timestamps.put(k2, j2);
+            }
+
+            for (ChunkPos chunkpos1 : batch.clears) {
+                int l2 = getOffsetIndex(chunkpos1);
+
+                intlist.add(this.offsets.get(l2));
+                this.offsets.put(l2, 0);
+                this.timestamps.put(l2, j2);
+            }
+
+            this.writeHeader();
+            this.syncIfNeeded();
+
+            for (RegionFile.PendingWrite regionfile_pendingwrite4 : list) {
+                regionfile_pendingwrite4.commitOp.run();
+            }
+
+            for (ChunkPos chunkpos2 : batch.clears) {
+                Files.deleteIfExists(this.getExternalChunkPath(chunkpos2));
+            }
+
+            IntIterator intiterator = intlist.iterator();
+
+            while (intiterator.hasNext()) {
+                int i3 = intiterator.nextInt();
+
+                if (i3 != 0) {
+                    this.usedSectors.free(getSectorNumber(i3), getNumSectors(i3));
+                }
+            }
+
+            for (ProfiledDuration profiledduration1 : list1) {
+                profiledduration1.finish(true);
+            }
+
+        }
+    }
+
+    private void syncIfNeeded() throws IOException {
+        if (this.sync) {
+            this.file.force(false);
+        }
+
+    }
+
     private ByteBuffer createExternalStub() {
         ByteBuffer bytebuffer = ByteBuffer.allocate(5);
 
@@ -388,6 +562,7 @@ public class RegionFile implements AutoCloseable {
                 this.file.force(true);
             } finally {
                 this.file.close();
+                this.mappedSegments = RegionFile.NO_MAPPED_SEGMENTS;
             }
         }
 
@@ -409,8 +584,9 @@ public class RegionFile implements AutoCloseable {
     private class ChunkBuffer extends ByteArrayOutputStream {
 
         private final ChunkPos pos;
+        private final RegionFile.@Nullable WriteBatch batch;
 
-        public ChunkBuffer(ChunkPos pos) {
+        public ChunkBuffer(ChunkPos pos, RegionFile.@Nullable WriteBatch batch) {
             super(8096);
             super.write(0);
             super.write(0);
@@ -418,15 +594,95 @@ public class RegionFile implements AutoCloseable {
             super.write(0);
             super.write(RegionFile.this.version.getId());
             this.pos = pos;
+            this.batch = batch;
         }
 
         public void close() throws IOException {
             ByteBuffer bytebuffer = ByteBuffer.wrap(this.buf, 0, this.count);
             int i = this.count - 5 + 1;
 
-            JvmProfiler.INSTANCE.onRegionFileWrite(RegionFile.this.info, this.pos, RegionFile.this.version, i);
             bytebuffer.putInt(0, i);
-            RegionFile.this.write(this.pos, bytebuffer);
+            if (this.batch != null) {
+                this.batch.writes.add(new RegionFile.PendingWrite(this.pos, bytebuffer));
+            } else {
+                JvmProfiler.INSTANCE.onRegionFileWrite(RegionFile.this.info, this.pos, RegionFile.this.version, i);
+                RegionFile.this.write(this.pos, bytebuffer);
+            }
+
+        }
+    }
+
+    private static class MappedChunkInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        MappedChunkInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 255 : -1;
+        }
+
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            } else if (!this.buffer.hasRemaining()) {
+                return -1;
+            } else {
+                int k = Math.min(length, this.buffer.remaining());
+
+                this.buffer.get(bytes, offset, k);
+                return k;
+            }
+        }
+
+        public long skip(long count) {
+            int i = (int) Math.max(0L, Math.min(count, (long) this.buffer.remaining()));
+
+            this.buffer.position(this.buffer.position() + i);
+            return (long) i;
+        }
+
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+
+    public class WriteBatch {
+
+        final List<RegionFile.PendingWrite> writes = new ArrayList();
+        final List<ChunkPos> clears = new ArrayList();
+
+        WriteBatch() {}
+
+        public DataOutputStream getChunkDataOutputStream(ChunkPos pos) throws IOException {
+            return new DataOutputStream(RegionFile.this.version.wrap((OutputStream) (RegionFile.this.new ChunkBuffer(pos, this)), RegionFile.this.dictionaries.latest()));
+        }
+
+        public void clear(ChunkPos pos) {
+            if (RegionFile.this.hasChunk(pos)) {
+                this.clears.add(pos);
+            }
+
+        }
+
+        public void commit() throws IOException {
+            RegionFile.this.write(this);
+        }
+    }
+
+    static class PendingWrite {
+
+        final ChunkPos pos;
+        ByteBuffer data;
+        int sector;
+        int sectors;
+        RegionFile.CommitOp commitOp;
+
+        PendingWrite(ChunkPos pos, ByteBuffer data) {
+            this.pos = pos;
+            this.data = data;
         }
     }
 
@@ -0,0 +1,275 @@
+package net.minecraft.world.level.chunk.storage;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import net.minecraft.util.FileUtil;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public class RegionFileDictionary {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final String EXTENSION = ".dict";
+    public static final int MAX_SIZE = 32768;
+    private static final int KMER_SIZE = 8;
+    private static final int SEGMENT_SIZE = 64;
+    private static final int SEGMENT_STRIDE = 32;
+    private final int id;
+    private final byte[] data;
+
+    private RegionFileDictionary(byte[] data) {
+        Adler32 adler32 = new Adler32();
+
+        adler32.update(data);
+        this.id = (int) adler32.getValue();
+        this.data = data;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    private static String filePrefix(Path folder) {
+        return folder.getFileName().toString() + ".";
+    }
+
+    public static RegionFileDictionary.Store loadAll(Path folder) {
+        RegionFileDictionary.Store regionfiledictionary_store = new RegionFileDictionary.Store();
+        Path path1 = folder.toAbsolutePath().getParent();
+
+        if (path1 != null && Files.isDirectory(path1)) {
+            String s = filePrefix(folder);
+            FileTime filetime = null;
+
+            try (DirectoryStream<Path> directorystream = Files.newDirectoryStream(path1, s + "*.dict")) {
+                for (Path path2 : directorystream) {
+                    try {
+                        RegionFileDictionary regionfiledictionary = new RegionFileDictionary(Files.readAllBytes(path2));
+                        FileTime filetime1 = Files.getLastModifiedTime(path2);
+                        boolean flag = filetime == null || filetime1.compareTo(filetime) > 0;
+
+                        regionfiledictionary_store.add(regionfiledictionary, flag);
+                        if (flag) {
+                            filetime = filetime1;
+                        }
+                    } catch (IOException ioexception) {
+                        RegionFileDictionary.LOGGER.error("Failed to read region file dictionary {}", path2, ioexception);
+                    }
+                }
+            } catch (IOException ioexception1) {
+                RegionFileDictionary.LOGGER.error("Failed to list region file dictionaries for {}", folder, ioexception1);
+            }
+        }
+
+        return regionfiledictionary_store;
+    }
+
+    public void save(Path folder) throws IOException {
+        Path path1 = folder.toAbsolutePath().getParent();
+
+        FileUtil.createDirectoriesSafe(path1);
+        Files.write(path1.resolve(filePrefix(folder) + String.format(Locale.ROOT, "%08x", this.id) + ".dict"), this.data);
+    }
+
+    public static RegionFileDictionary train(List<byte[]> samples) {
+        Int2IntOpenHashMap int2intopenhashmap = new Int2IntOpenHashMap();
+
+        for (byte[] abyte : samples) {
+            IntSet intset = new IntOpenHashSet();
+
+            for (int i = 0; i + 8 <= abyte.length; ++i) {
+                int j = hashKmer(abyte, i);
+
+                if (intset.add(j)) {
+                    int2intopenhashmap.addTo(j, 1);
+                }
+            }
+        }
+
+        List<RegionFileDictionary.Segment> list1 = new ObjectArrayList();
+
+        for (byte[] abyte1 : samples) {
+            for (int k = 0; k + 64 <= abyte1.length; k += 32) {
+                int l = scoreSegment(int2intopenhashmap, abyte1, k);
+
+                if (l > 64) {
+                    list1.add(new RegionFileDictionary.Segment(abyte1, k, l));
+                }
+            }
+        }
+
+        list1.sort(Comparator.comparingInt(RegionFileDictionary.Segment::score).reversed());
+        List<RegionFileDictionary.Segment> list2 = new ObjectArrayList();
+        int i1 = 0;
+
+        for (RegionFileDictionary.Segment regionfiledictionary_segment : list1) {
+            if (i1 + 64 > 32768) {
+                break;
+            }
+
+            if (scoreSegment(int2intopenhashmap, regionfiledictionary_segment.sample, regionfiledictionary_segment.offset) * 2 >= regionfiledictionary_segment.score) {
+                list2.add(regionfiledictionary_segment);
+                i1 += 64;
+
+                for (int j1 = regionfiledictionary_segment.offset; j1 + 8 <= regionfiledictionary_segment.offset + 64; ++j1) {
+                    int2intopenhashmap.put(hashKmer(regionfiledictionary_segment.sample, j1), 0);
+                }
+            }
+        }
+
+        byte[] abyte2 = new byte[i1];
+        int k1 = i1;
+
+        for (RegionFileDictionary.Segment regionfiledictionary_segment1 : list2) {
+            k1 -= 64;
+            System.arraycopy(regionfiledictionary_segment1.sample, regionfiledictionary_segment1.offset, abyte2, k1, 64);
+        }
+
+        return new RegionFileDictionary(abyte2);
+    }
+
+    private static int hashKmer(byte[] data, int offset) {
+        int j = 1;
+
+        for (int k = 0; k < 8; ++k) {
+            j = j * 31 + data[offset + k];
+        }
+
+        return j;
+    }
+
+    private static int scoreSegment(Int2IntOpenHashMap counts, byte[] data, int offset) {
+        int j = 0;
+
+        for (int k = offset; k + 8 <= offset + 64; ++k) {
+            j += counts.get(hashKmer(data, k));
+        }
+
+        return j;
+    }
+
+    public OutputStream wrap(OutputStream out) {
+        final Deflater deflater = new Deflater();
+
+        deflater.setDictionary(this.data);
+        return new DeflaterOutputStream(out, deflater) {
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+
+            }
+        };
+    }
+
+    public static InputStream wrapInput(InputStream in, IntFunction<@Nullable RegionFileDictionary> dictionaries) {
+        return new RegionFileDictionary.DictionaryInflaterInputStream(in, new Inflater(), dictionaries);
+    }
+
+    public String toString() {
+        return "RegionFileDictionary[" + String.format(Locale.ROOT, "%08x", this.id) + ", " + this.data.length + " bytes]";
+    }
+
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other instanceof RegionFileDictionary) {
+            RegionFileDictionary regionfiledictionary = (RegionFileDictionary) other;
+
+            return this.id == regionfiledictionary.id && Arrays.equals(this.data, regionfiledictionary.data);
+        } else {
+            return false;
+        }
+    }
+
+    public int hashCode() {
+        return this.id;
+    }
+
+    public static class Store {
+
+        private final Int2ObjectMap<RegionFileDictionary> byId = new Int2ObjectOpenHashMap();
+        private volatile @Nullable RegionFileDictionary latest;
+
+        public synchronized void add(RegionFileDictionary dictionary, boolean latest) {
+            this.byId.putIfAbsent(dictionary.id, dictionary);
+            if (latest) {
+                this.latest = dictionary;
+            }
+
+        }
+
+        public synchronized @Nullable RegionFileDictionary get(int id) {
+            return (RegionFileDictionary) this.byId.get(id);
+        }
+
+        public @Nullable RegionFileDictionary latest() {
+            return this.latest;
+        }
+    }
+
+    private static record Segment(byte[] sample, int offset, int score) {
+
+    }
+
+    private static class DictionaryInflaterInputStream extends InflaterInputStream {
+
+        private final IntFunction<@Nullable RegionFileDictionary> dictionaries;
+
+        DictionaryInflaterInputStream(InputStream in, Inflater inflater, IntFunction<@Nullable RegionFileDictionary> dictionaries) {
+            super(in, inflater);
+            this.dictionaries = dictionaries;
+        }
+
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int k = super.read(buffer, offset, length);
+
+            if (k == -1 && this.inf.needsDictionary()) {
+                RegionFileDictionary regionfiledictionary = (RegionFileDictionary) this.dictionaries.apply(this.inf.getAdler());
+
+                if (regionfiledictionary == null) {
+                    throw new ZipException("Missing region file dictionary " + String.format(Locale.ROOT, "%08x", this.inf.getAdler()));
+                }
+
+                this.inf.setDictionary(regionfiledictionary.data);
+                k = super.read(buffer, offset, length);
+            }
+
+            return k;
+        }
+
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.inf.end();
+            }
+
+        }
+    }
+}
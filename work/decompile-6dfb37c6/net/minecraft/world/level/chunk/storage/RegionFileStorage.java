@@ -8,6 +8,7 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
 import net.minecraft.SharedConstants;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtAccounter;
@@ -26,11 +27,19 @@ public final class RegionFileStorage implements AutoCloseable {
     private final RegionStorageInfo info;
     private final Path folder;
     private final boolean sync;
+    private final boolean memoryMappedReads;
+    private final RegionFileDictionary.Store dictionaries;
 
-    RegionFileStorage(RegionStorageInfo info, Path folder, boolean sync) {
+    RegionFileStorage(RegionStorageInfo info, Path folder, boolean sync, boolean memoryMappedReads) {
         this.folder = folder;
         this.sync = sync;
+        this.memoryMappedReads = memoryMappedReads;
         this.info = info;
+        this.dictionaries = RegionFileDictionary.loadAll(folder);
+    }
+
+    public void setDictionary(RegionFileDictionary dictionary) {
+        this.dictionaries.add(dictionary, true);
     }
 
     private RegionFile getRegionFile(ChunkPos pos) throws IOException {
@@ -48,7 +57,9 @@ public final class RegionFileStorage implements AutoCloseable {
             Path path = this.folder;
             int j = pos.getRegionX();
             Path path1 = path.resolve("r." + j + "." + pos.getRegionZ() + ".mca");
-            RegionFile regionfile1 = new RegionFile(this.info, path1, this.folder, this.sync);
+            RegionFile regionfile1 = new RegionFile(this.info, path1, this.folder, RegionFileVersion.getSelected(), this.sync, this.memoryMappedReads);
+
+            regionfile1.setDictionaries(this.dictionaries);
 
             this.regionCache.putAndMoveToFirst(i, regionfile1);
             return regionfile1;
@@ -67,6 +78,14 @@ public final class RegionFileStorage implements AutoCloseable {
         }
     }
 
+    public byte @Nullable [] readBytes(ChunkPos pos) throws IOException {
+        RegionFile regionfile = this.getRegionFile(pos);
+
+        try (DataInputStream datainputstream = regionfile.getChunkDataInputStream(pos)) {
+            return datainputstream == null ? null : datainputstream.readAllBytes();
+        }
+    }
+
     public void scanChunk(ChunkPos pos, StreamTagVisitor scanner) throws IOException {
         RegionFile regionfile = this.getRegionFile(pos);
 
@@ -93,6 +112,28 @@ public final class RegionFileStorage implements AutoCloseable {
         }
     }
 
+    protected void write(Map<ChunkPos, @Nullable CompoundTag> values) throws IOException {
+        if (!SharedConstants.DEBUG_DONT_SAVE_WORLD && !values.isEmpty()) {
+            RegionFile regionfile = this.getRegionFile((ChunkPos) values.keySet().iterator().next());
+            RegionFile.WriteBatch regionfile_writebatch = regionfile.startBatch();
+
+            for (Map.Entry<ChunkPos, CompoundTag> map_entry : values.entrySet()) {
+                ChunkPos chunkpos = (ChunkPos) map_entry.getKey();
+                CompoundTag compoundtag = (CompoundTag) map_entry.getValue();
+
+                if (compoundtag == null) {
+                    regionfile_writebatch.clear(chunkpos);
+                } else {
+                    try (DataOutputStream dataoutputstream = regionfile_writebatch.getChunkDataOutputStream(chunkpos)) {
+                        NbtIo.write(compoundtag, (DataOutput) dataoutputstream);
+                    }
+                }
+            }
+
+            regionfile_writebatch.commit();
+        }
+    }
+
     public void close() throws IOException {
         ExceptionCollector<IOException> exceptioncollector = new ExceptionCollector<IOException>();
         ObjectIterator objectiterator = this.regionCache.values().iterator();
@@ -9,6 +9,7 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Objects;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -40,6 +41,13 @@ public class RegionFileVersion {
     }, (outputstream) -> {
         return new BufferedOutputStream(new LZ4BlockOutputStream(outputstream));
     }));
+    public static final RegionFileVersion VERSION_DEFLATE_DICTIONARY = register(new RegionFileVersion(64, "deflate_dictionary", (inputstream) -> {
+        return new FastBufferedInputStream(RegionFileDictionary.wrapInput(inputstream, (i) -> {
+            return null;
+        }));
+    }, (outputstream) -> {
+        return new BufferedOutputStream(new DeflaterOutputStream(outputstream));
+    }, true));
     public static final RegionFileVersion VERSION_CUSTOM = register(new RegionFileVersion(127, (String) null, (inputstream) -> {
         throw new UnsupportedOperationException();
     }, (outputstream) -> {
@@ -51,12 +59,18 @@ public class RegionFileVersion {
     private final @Nullable String optionName;
     private final RegionFileVersion.StreamWrapper<InputStream> inputWrapper;
     private final RegionFileVersion.StreamWrapper<OutputStream> outputWrapper;
+    private final boolean usesDictionary;
 
     private RegionFileVersion(int id, @Nullable String optionName, RegionFileVersion.StreamWrapper<InputStream> inputWrapper, RegionFileVersion.StreamWrapper<OutputStream> outputWrapper) {
+        this(id, optionName, inputWrapper, outputWrapper, false);
+    }
+
+    private RegionFileVersion(int id, @Nullable String optionName, RegionFileVersion.StreamWrapper<InputStream> inputWrapper, RegionFileVersion.StreamWrapper<OutputStream> outputWrapper, boolean usesDictionary) {
         this.id = id;
         this.optionName = optionName;
         this.inputWrapper = inputWrapper;
         this.outputWrapper = outputWrapper;
+        this.usesDictionary = usesDictionary;
     }
 
     private static RegionFileVersion register(RegionFileVersion version) {
@@ -95,14 +109,31 @@ public class RegionFileVersion {
         return this.id;
     }
 
+    public boolean usesDictionary() {
+        return this.usesDictionary;
+    }
+
     public OutputStream wrap(OutputStream is) throws IOException {
         return this.outputWrapper.wrap(is);
     }
 
+    public OutputStream wrap(OutputStream is, @Nullable RegionFileDictionary dictionary) throws IOException {
+        return this.usesDictionary && dictionary != null ? new BufferedOutputStream(dictionary.wrap(is)) : this.outputWrapper.wrap(is);
+    }
+
     public InputStream wrap(InputStream is) throws IOException {
         return this.inputWrapper.wrap(is);
     }
 
+    public InputStream wrap(InputStream is, RegionFileDictionary.Store dictionaries) throws IOException {
+        if (this.usesDictionary) {
+            Objects.requireNonNull(dictionaries);
+            return new FastBufferedInputStream(RegionFileDictionary.wrapInput(is, dictionaries::get));
+        } else {
+            return this.inputWrapper.wrap(is);
+        }
+    }
+
     @FunctionalInterface
     private interface StreamWrapper<O> {
 
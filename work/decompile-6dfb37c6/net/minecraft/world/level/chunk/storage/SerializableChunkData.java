@@ -89,6 +89,10 @@ public record SerializableChunkData(PalettedContainerFactory containerFactory, C
     public static final String SKY_LIGHT_TAG = "SkyLight";
 
     public static SerializableChunkData parse(LevelHeightAccessor levelHeight, PalettedContainerFactory containerFactory, CompoundTag chunkData) {
+        return parse(levelHeight, containerFactory, chunkData, (List) null);
+    }
+
+    public static SerializableChunkData parse(LevelHeightAccessor levelHeight, PalettedContainerFactory containerFactory, CompoundTag chunkData, @Nullable List<StreamingChunkDecoder.Section> decodedSections) {
         if (chunkData.getString("Status").isEmpty()) {
             return null;
         } else {
@@ -136,6 +140,11 @@ public record SerializableChunkData(PalettedContainerFactory containerFactory, C
             List<CompoundTag> list2 = chunkData.getList("entities").stream().flatMap(ListTag::compoundStream).toList();
             List<CompoundTag> list3 = chunkData.getList("block_entities").stream().flatMap(ListTag::compoundStream).toList();
             CompoundTag compoundtag1 = chunkData.getCompoundOrEmpty("structures");
+
+            if (decodedSections != null) {
+                return new SerializableChunkData(containerFactory, chunkpos, levelHeight.getMinSectionY(), i, j, chunkstatus, blendingdata_packed, belowzeroretrogen, upgradedata, along, map, chunkaccess_packedticks, ashortlist, flag, unpackSections(levelHeight, containerFactory, chunkpos, decodedSections), list2, list3, compoundtag1);
+            }
+
             ListTag listtag2 = chunkData.getListOrEmpty("sections");
             List<SerializableChunkData.SectionData> list4 = new ArrayList(listtag2.size());
             Codec<PalettedContainerRO<Holder<Biome>>> codec = containerFactory.biomeContainerCodec();
@@ -183,6 +192,35 @@ public record SerializableChunkData(PalettedContainerFactory containerFactory, C
         }
     }
 
+    private static List<SerializableChunkData.SectionData> unpackSections(LevelHeightAccessor levelHeight, PalettedContainerFactory containerFactory, ChunkPos pos, List<StreamingChunkDecoder.Section> sections) {
+        List<SerializableChunkData.SectionData> list1 = new ArrayList(sections.size());
+
+        for (StreamingChunkDecoder.Section streamingchunkdecoder_section : sections) {
+            int i = streamingchunkdecoder_section.y();
+            LevelChunkSection levelchunksection;
+
+            if (i >= levelHeight.getMinSectionY() && i <= levelHeight.getMaxSectionY()) {
+                PalettedContainer<BlockState> palettedcontainer = streamingchunkdecoder_section.blockStates() != null ? (PalettedContainer) PalettedContainer.unpack(containerFactory.blockStatesStrategy(), streamingchunkdecoder_section.blockStates()).promotePartial((s) -> {
+                    logErrors(pos, i, s);
+                }).getOrThrow(SerializableChunkData.ChunkReadException::new) : containerFactory.createForBlockStates();
+                PalettedContainerRO<Holder<Biome>> palettedcontainerro = (PalettedContainerRO<Holder<Biome>>) (streamingchunkdecoder_section.biomes() != null ? (PalettedContainerRO) PalettedContainer.unpack(containerFactory.biomeStrategy(), streamingchunkdecoder_section.biomes()).promotePartial((s) -> {
+                    logErrors(pos, i, s);
+                }).getOrThrow(SerializableChunkData.ChunkReadException::new) : containerFactory.createForBiomes());
+
+                levelchunksection = new LevelChunkSection(palettedcontainer, palettedcontainerro);
+            } else {
+                levelchunksection = null;
+            }
+
+            DataLayer datalayer = streamingchunkdecoder_section.blockLight() != null ? new DataLayer(streamingchunkdecoder_section.blockLight()) : null;
+            DataLayer datalayer1 = streamingchunkdecoder_section.skyLight() != null ? new DataLayer(streamingchunkdecoder_section.skyLight()) : null;
+
+            list1.add(new SerializableChunkData.SectionData(i, levelchunksection, datalayer, datalayer1));
+        }
+
+        return list1;
+    }
+
     public ProtoChunk read(ServerLevel level, PoiManager poiManager, RegionStorageInfo regionInfo, ChunkPos pos) {
         if (!Objects.equals(pos, this.chunkPos)) {
             SerializableChunkData.LOGGER.error("Chunk file at {} is in the wrong location; relocating. (Expected {}, got {})", new Object[]{pos, pos, this.chunkPos});
@@ -2,6 +2,7 @@ package net.minecraft.world.level.chunk.storage;
 
 import com.google.common.base.Suppliers;
 import com.mojang.datafixers.DataFixer;
+import com.mojang.datafixers.util.Either;
 import com.mojang.serialization.Dynamic;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -32,9 +33,13 @@ public class SimpleRegionStorage implements AutoCloseable {
     }
 
     public SimpleRegionStorage(RegionStorageInfo info, Path folder, DataFixer fixerUpper, boolean syncWrites, DataFixTypes dataFixType, Supplier<LegacyTagFixer> legacyFixer) {
+        this(info, folder, fixerUpper, syncWrites, false, dataFixType, legacyFixer);
+    }
+
+    public SimpleRegionStorage(RegionStorageInfo info, Path folder, DataFixer fixerUpper, boolean syncWrites, boolean memoryMappedReads, DataFixTypes dataFixType, Supplier<LegacyTagFixer> legacyFixer) {
         this.fixerUpper = fixerUpper;
         this.dataFixType = dataFixType;
-        this.worker = new IOWorker(info, folder, syncWrites);
+        this.worker = new IOWorker(info, folder, syncWrites, memoryMappedReads);
         Objects.requireNonNull(legacyFixer);
         this.legacyFixer = Suppliers.memoize(legacyFixer::get);
     }
@@ -47,6 +52,10 @@ public class SimpleRegionStorage implements AutoCloseable {
         return this.worker.loadAsync(pos);
     }
 
+    public CompletableFuture<Optional<Either<CompoundTag, byte[]>>> readRaw(ChunkPos pos) {
+        return this.worker.loadRawAsync(pos);
+    }
+
     public CompletableFuture<Void> write(ChunkPos pos, CompoundTag value) {
         return this.write(pos, () -> {
             return value;
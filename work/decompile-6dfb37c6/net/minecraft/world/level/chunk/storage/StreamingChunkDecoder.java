@@ -0,0 +1,329 @@
+package net.minecraft.world.level.chunk.storage;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.StreamTagVisitor;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.TagType;
+import net.minecraft.nbt.visitors.CollectToTag;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.Property;
+import net.minecraft.world.level.chunk.PalettedContainerRO;
+import org.jspecify.annotations.Nullable;
+
+public class StreamingChunkDecoder extends CollectToTag {
+
+    private final Registry<Biome> biomes;
+    private final List<StreamingChunkDecoder.Section> sections = new ObjectArrayList();
+    private StreamingChunkDecoder.@Nullable State state;
+    private String field = "";
+    private boolean decodingBiomes;
+    private boolean complete = true;
+    private int sectionY;
+    private byte @Nullable [] blockLight;
+    private byte @Nullable [] skyLight;
+    private PalettedContainerRO.@Nullable PackedData<BlockState> blockStates;
+    private PalettedContainerRO.@Nullable PackedData<Holder<Biome>> biomeStates;
+    private @Nullable List<BlockState> blockPalette;
+    private @Nullable List<Holder<Biome>> biomePalette;
+    private long @Nullable [] data;
+    private @Nullable String blockName;
+    private final List<String> properties = new ObjectArrayList();
+
+    public StreamingChunkDecoder(Registry<Biome> biomes) {
+        this.biomes = biomes;
+    }
+
+    public @Nullable CompoundTag getChunkTag() {
+        Tag tag = this.getResult();
+
+        return tag instanceof CompoundTag compoundtag ? compoundtag : null;
+    }
+
+    public List<StreamingChunkDecoder.Section> getSections() {
+        return this.sections;
+    }
+
+    public boolean isComplete() {
+        return this.complete;
+    }
+
+    private StreamTagVisitor.EntryResult enter(StreamingChunkDecoder.State state) {
+        this.state = state;
+        return StreamTagVisitor.EntryResult.ENTER;
+    }
+
+    private StreamTagVisitor.EntryResult giveUp() {
+        this.complete = false;
+        return StreamTagVisitor.EntryResult.HALT;
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(String value) {
+        if (this.state == null) {
+            return super.visit(value);
+        } else {
+            if (this.state == StreamingChunkDecoder.State.PALETTE) {
+                Identifier identifier = Identifier.tryParse(value);
+                Optional<Holder.Reference<Biome>> optional = identifier != null ? this.biomes.get(identifier) : Optional.empty();
+
+                if (optional.isEmpty()) {
+                    this.complete = false;
+                    return StreamTagVisitor.ValueResult.HALT;
+                }
+
+                this.biomePalette.add((Holder) optional.get());
+            } else if (this.state == StreamingChunkDecoder.State.BLOCK_STATE) {
+                this.blockName = value;
+            } else if (this.state == StreamingChunkDecoder.State.PROPERTIES) {
+                this.properties.add(this.field);
+                this.properties.add(value);
+            }
+
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(byte value) {
+        if (this.state == null) {
+            return super.visit(value);
+        } else {
+            this.sectionY = value;
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(byte[] value) {
+        if (this.state == null) {
+            return super.visit(value);
+        } else {
+            if (this.field.equals("BlockLight")) {
+                this.blockLight = value;
+            } else {
+                this.skyLight = value;
+            }
+
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visit(long[] value) {
+        if (this.state == null) {
+            return super.visit(value);
+        } else {
+            this.data = value;
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visitList(TagType<?> elementType, int size) {
+        if (this.state == null) {
+            return super.visitList(elementType, size);
+        } else if (this.state == StreamingChunkDecoder.State.SECTIONS) {
+            return elementType == CompoundTag.TYPE ? StreamTagVisitor.ValueResult.CONTINUE : StreamTagVisitor.ValueResult.BREAK;
+        } else if (this.decodingBiomes) {
+            this.biomePalette = new ObjectArrayList(size);
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        } else {
+            this.blockPalette = new ObjectArrayList(size);
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.EntryResult visitElement(TagType<?> type, int index) {
+        if (this.state == null) {
+            return super.visitElement(type, index);
+        } else if (this.state == StreamingChunkDecoder.State.SECTIONS) {
+            this.sectionY = 0;
+            this.blockLight = null;
+            this.skyLight = null;
+            this.blockStates = null;
+            this.biomeStates = null;
+            return this.enter(StreamingChunkDecoder.State.SECTION);
+        } else if (this.decodingBiomes) {
+            return type == StringTag.TYPE ? StreamTagVisitor.EntryResult.ENTER : this.giveUp();
+        } else if (type == CompoundTag.TYPE) {
+            this.blockName = null;
+            this.properties.clear();
+            return this.enter(StreamingChunkDecoder.State.BLOCK_STATE);
+        } else {
+            return this.giveUp();
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.EntryResult visitEntry(TagType<?> type) {
+        return this.state == null ? super.visitEntry(type) : StreamTagVisitor.EntryResult.ENTER;
+    }
+
+    @Override
+    public StreamTagVisitor.EntryResult visitEntry(TagType<?> type, String id) {
+        if (this.state == null) {
+            return this.depth() == 1 && type == ListTag.TYPE && id.equals("sections") ? this.enter(StreamingChunkDecoder.State.SECTIONS) : super.visitEntry(type, id);
+        } else {
+            this.field = id;
+            switch (this.state) {
+                case SECTION:
+                    if (type == ByteTag.TYPE && id.equals("Y")) {
+                        return StreamTagVisitor.EntryResult.ENTER;
+                    } else if (type == ByteArrayTag.TYPE && (id.equals("BlockLight") || id.equals("SkyLight"))) {
+                        return StreamTagVisitor.EntryResult.ENTER;
+                    } else if (type == CompoundTag.TYPE && (id.equals("block_states") || id.equals("biomes"))) {
+                        this.decodingBiomes = id.equals("biomes");
+                        this.blockPalette = null;
+                        this.biomePalette = null;
+                        this.data = null;
+                        return this.enter(StreamingChunkDecoder.State.CONTAINER);
+                    }
+
+                    return StreamTagVisitor.EntryResult.SKIP;
+                case CONTAINER:
+                    if (type == ListTag.TYPE && id.equals("palette")) {
+                        return this.enter(StreamingChunkDecoder.State.PALETTE);
+                    } else {
+                        if (type == LongArrayTag.TYPE && id.equals("data")) {
+                            return StreamTagVisitor.EntryResult.ENTER;
+                        }
+
+                        return StreamTagVisitor.EntryResult.SKIP;
+                    }
+                case PALETTE:
+                default:
+                    return this.giveUp();
+                case BLOCK_STATE:
+                    if (type == StringTag.TYPE && id.equals("Name")) {
+                        return StreamTagVisitor.EntryResult.ENTER;
+                    } else {
+                        if (type == CompoundTag.TYPE && id.equals("Properties")) {
+                            return this.enter(StreamingChunkDecoder.State.PROPERTIES);
+                        }
+
+                        return StreamTagVisitor.EntryResult.SKIP;
+                    }
+                case PROPERTIES:
+                    return type == StringTag.TYPE ? StreamTagVisitor.EntryResult.ENTER : this.giveUp();
+            }
+        }
+    }
+
+    @Override
+    public StreamTagVisitor.ValueResult visitContainerEnd() {
+        if (this.state == null) {
+            return super.visitContainerEnd();
+        } else {
+            switch (this.state) {
+                case SECTIONS:
+                    this.state = null;
+                    break;
+                case SECTION:
+                    this.sections.add(new StreamingChunkDecoder.Section(this.sectionY, this.blockStates, this.biomeStates, this.blockLight, this.skyLight));
+                    this.state = StreamingChunkDecoder.State.SECTIONS;
+                    break;
+                case CONTAINER:
+                    Optional<LongStream> optional = this.data != null ? Optional.of(LongStream.of(this.data)) : Optional.empty();
+
+                    if (this.decodingBiomes) {
+                        if (this.biomePalette == null) {
+                            this.complete = false;
+                            return StreamTagVisitor.ValueResult.HALT;
+                        }
+
+                        this.biomeStates = new PalettedContainerRO.PackedData<Holder<Biome>>(this.biomePalette, optional);
+                    } else {
+                        if (this.blockPalette == null) {
+                            this.complete = false;
+                            return StreamTagVisitor.ValueResult.HALT;
+                        }
+
+                        this.blockStates = new PalettedContainerRO.PackedData<BlockState>(this.blockPalette, optional);
+                    }
+
+                    this.state = StreamingChunkDecoder.State.SECTION;
+                    break;
+                case PALETTE:
+                    this.state = StreamingChunkDecoder.State.CONTAINER;
+                    break;
+                case BLOCK_STATE:
+                    BlockState blockstate = this.resolveBlockState();
+
+                    if (blockstate == null) {
+                        this.complete = false;
+                        return StreamTagVisitor.ValueResult.HALT;
+                    }
+
+                    this.blockPalette.add(blockstate);
+                    this.state = StreamingChunkDecoder.State.PALETTE;
+                    break;
+                case PROPERTIES:
+                    this.state = StreamingChunkDecoder.State.BLOCK_STATE;
+            }
+
+            return StreamTagVisitor.ValueResult.CONTINUE;
+        }
+    }
+
+    private @Nullable BlockState resolveBlockState() {
+        Identifier identifier = this.blockName != null ? Identifier.tryParse(this.blockName) : null;
+        Optional<Holder.Reference<Block>> optional = identifier != null ? BuiltInRegistries.BLOCK.get(identifier) : Optional.empty();
+
+        if (optional.isEmpty()) {
+            return null;
+        } else {
+            Block block = (Block) ((Holder.Reference) optional.get()).value();
+            BlockState blockstate = block.defaultBlockState();
+            StateDefinition<Block, BlockState> statedefinition = block.getStateDefinition();
+
+            for (int i = 0; i < this.properties.size(); i += 2) {
+                Property<?> property = statedefinition.getProperty((String) this.properties.get(i));
+
+                if (property == null) {
+                    return null;
+                }
+
+                blockstate = setValue(blockstate, property, (String) this.properties.get(i + 1));
+                if (blockstate == null) {
+                    return null;
+                }
+            }
+
+            return blockstate;
+        }
+    }
+
+    private static <T extends Comparable<T>> @Nullable BlockState setValue(BlockState state, Property<T> property, String value) {
+        Optional<T> optional = property.getValue(value);
+
+        return optional.isPresent() ? (BlockState) state.setValue(property, optional.get()) : null;
+    }
+
+    public static record Section(int y, PalettedContainerRO.@Nullable PackedData<BlockState> blockStates, PalettedContainerRO.@Nullable PackedData<Holder<Biome>> biomes, byte @Nullable [] blockLight, byte @Nullable [] skyLight) {
+
+    }
+
+    private static enum State {
+
+        SECTIONS, SECTION, CONTAINER, PALETTE, BLOCK_STATE, PROPERTIES;
+
+        private State() {}
+    }
+}
@@ -15,9 +15,9 @@ public class EntitySection<T extends EntityAccess> {
     private final ClassInstanceMultiMap<T> storage;
     private Visibility chunkStatus;
 
-    public EntitySection(Class<T> entityClass, Visibility chunkStatus) {
+    public EntitySection(Class<T> entityClass, Visibility chunkStatus, boolean concurrentLookups) {
         this.chunkStatus = chunkStatus;
-        this.storage = new ClassInstanceMultiMap<T>(entityClass);
+        this.storage = new ClassInstanceMultiMap<T>(entityClass, concurrentLookups);
     }
 
     public void add(T entity) {
@@ -64,6 +64,10 @@ public class EntitySection<T extends EntityAccess> {
         return this.storage.stream();
     }
 
+    public <U extends T> Collection<U> find(Class<U> type) {
+        return this.storage.<U>find(type);
+    }
+
     public Visibility getStatus() {
         return this.chunkStatus;
     }
@@ -26,12 +26,14 @@ public class EntitySectionStorage<T extends EntityAccess> {
     public static final int CHONKY_ENTITY_SEARCH_GRACE = 2;
     public static final int MAX_NON_CHONKY_ENTITY_SIZE = 4;
     private final Class<T> entityClass;
+    private final boolean concurrentLookups;
     private final Long2ObjectFunction<Visibility> intialSectionVisibility;
     private final Long2ObjectMap<EntitySection<T>> sections = new Long2ObjectOpenHashMap();
     private final LongSortedSet sectionIds = new LongAVLTreeSet();
 
-    public EntitySectionStorage(Class<T> entityClass, Long2ObjectFunction<Visibility> intialSectionVisibility) {
+    public EntitySectionStorage(Class<T> entityClass, Long2ObjectFunction<Visibility> intialSectionVisibility, boolean concurrentLookups) {
         this.entityClass = entityClass;
+        this.concurrentLookups = concurrentLookups;
         this.intialSectionVisibility = intialSectionVisibility;
     }
 
@@ -111,7 +113,7 @@ public class EntitySectionStorage<T extends EntityAccess> {
         Visibility visibility = (Visibility) this.intialSectionVisibility.get(j);
 
         this.sectionIds.add(sectionPos);
-        return new EntitySection<T>(this.entityClass, visibility);
+        return new EntitySection<T>(this.entityClass, visibility, this.concurrentLookups);
     }
 
     public LongSet getAllChunksWithExistingSections() {
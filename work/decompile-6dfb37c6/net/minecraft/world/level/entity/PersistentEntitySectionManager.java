@@ -30,6 +30,7 @@ import net.minecraft.util.CsvOutput;
 import net.minecraft.util.VisibleForDebug;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.ChunkPos;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 
 public class PersistentEntitySectionManager<T extends EntityAccess> implements AutoCloseable {
@@ -46,8 +47,8 @@ public class PersistentEntitySectionManager<T extends EntityAccess> implements A
     private final LongSet chunksToUnload = new LongOpenHashSet();
     private final Queue<ChunkEntities<T>> loadingInbox = Queues.newConcurrentLinkedQueue();
 
-    public PersistentEntitySectionManager(Class<T> entityClass, LevelCallback<T> callbacks, EntityPersistentStorage<T> permanentStorage) {
-        this.sectionStorage = new EntitySectionStorage<T>(entityClass, this.chunkVisibility);
+    public PersistentEntitySectionManager(Class<T> entityClass, LevelCallback<T> callbacks, EntityPersistentStorage<T> permanentStorage, boolean concurrentLookups) {
+        this.sectionStorage = new EntitySectionStorage<T>(entityClass, this.chunkVisibility, concurrentLookups);
         this.chunkVisibility.defaultReturnValue(Visibility.HIDDEN);
         this.chunkLoadStatuses.defaultReturnValue(PersistentEntitySectionManager.ChunkLoadStatus.FRESH);
         this.callbacks = callbacks;
@@ -339,6 +340,12 @@ public class PersistentEntitySectionManager<T extends EntityAccess> implements A
         return this.entityGetter;
     }
 
+    public @Nullable EntitySection<T> getAccessibleSection(long sectionKey) {
+        EntitySection<T> entitysection = this.sectionStorage.getSection(sectionKey);
+
+        return entitysection != null && entitysection.getStatus().isAccessible() ? entitysection : null;
+    }
+
     public boolean canPositionTick(BlockPos pos) {
         return ((Visibility) this.chunkVisibility.get(ChunkPos.asLong(pos))).isTicking();
     }
@@ -24,7 +24,7 @@ public class TransientEntitySectionManager<T extends EntityAccess> {
     public TransientEntitySectionManager(Class<T> entityClass, LevelCallback<T> callbacks) {
         this.sectionStorage = new EntitySectionStorage<T>(entityClass, (i) -> {
             return this.tickingChunks.contains(i) ? Visibility.TICKING : Visibility.TRACKED;
-        });
+        }, false);
         this.callbacks = callbacks;
         this.entityGetter = new LevelEntityGetterAdapter<T>(this.entityStorage, this.sectionStorage);
     }
@@ -9,10 +9,12 @@ import java.util.Set;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Position;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.debug.DebugGameEventListenerInfo;
 import net.minecraft.util.debug.DebugSubscriptions;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.phys.Vec3;
 
 public class EuclideanGameEventListenerRegistry implements GameEventListenerRegistry {
@@ -23,11 +25,14 @@ public class EuclideanGameEventListenerRegistry implements GameEventListenerRegi
     private boolean processing;
     private final ServerLevel level;
     private final int sectionY;
+    private final long sectionPos;
     private final EuclideanGameEventListenerRegistry.OnEmptyAction onEmptyAction;
+    private boolean indexed;
 
-    public EuclideanGameEventListenerRegistry(ServerLevel level, int sectionY, EuclideanGameEventListenerRegistry.OnEmptyAction onEmptyAction) {
+    public EuclideanGameEventListenerRegistry(ServerLevel level, ChunkPos chunkPos, int sectionY, EuclideanGameEventListenerRegistry.OnEmptyAction onEmptyAction) {
         this.level = level;
         this.sectionY = sectionY;
+        this.sectionPos = SectionPos.asLong(chunkPos.x, sectionY, chunkPos.z);
         this.onEmptyAction = onEmptyAction;
     }
 
@@ -44,6 +49,11 @@ public class EuclideanGameEventListenerRegistry implements GameEventListenerRegi
             this.listeners.add(listener);
         }
 
+        if (!this.indexed) {
+            this.indexed = true;
+            this.level.getGameEventDispatcher().addListenerSection(this.sectionPos);
+        }
+
         sendDebugInfo(this.level, listener);
     }
 
@@ -77,6 +87,11 @@ public class EuclideanGameEventListenerRegistry implements GameEventListenerRegi
         }
 
         if (this.listeners.isEmpty()) {
+            if (this.indexed) {
+                this.indexed = false;
+                this.level.getGameEventDispatcher().removeListenerSection(this.sectionPos);
+            }
+
             this.onEmptyAction.apply(this.sectionY);
         }
 
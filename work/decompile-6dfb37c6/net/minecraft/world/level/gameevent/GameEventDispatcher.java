@@ -1,65 +1,149 @@
 package net.minecraft.world.level.gameevent;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Holder;
 import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.debug.DebugGameEventInfo;
 import net.minecraft.util.debug.DebugSubscriptions;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.gameevent.vibrations.VibrationSystem;
 import net.minecraft.world.phys.Vec3;
+import org.jspecify.annotations.Nullable;
 
 public class GameEventDispatcher {
 
     private final ServerLevel level;
+    private final LongSet listenerSections = new LongOpenHashSet();
+    private final Set<GameEventDispatcher.PostedEvent> postedEvents = new HashSet();
+    private int postedEventsTick = -1;
 
     public GameEventDispatcher(ServerLevel level) {
         this.level = level;
     }
 
-    public void post(Holder<GameEvent> gameEvent, Vec3 position, GameEvent.Context context) {
-        int i = ((GameEvent) gameEvent.value()).notificationRadius();
-        BlockPos blockpos = BlockPos.containing(position);
-        int j = SectionPos.blockToSectionCoord(blockpos.getX() - i);
-        int k = SectionPos.blockToSectionCoord(blockpos.getY() - i);
-        int l = SectionPos.blockToSectionCoord(blockpos.getZ() - i);
-        int i1 = SectionPos.blockToSectionCoord(blockpos.getX() + i);
-        int j1 = SectionPos.blockToSectionCoord(blockpos.getY() + i);
-        int k1 = SectionPos.blockToSectionCoord(blockpos.getZ() + i);
-        List<GameEvent.ListenerInfo> list = new ArrayList();
-        GameEventListenerRegistry.ListenerVisitor gameeventlistenerregistry_listenervisitor = (gameeventlistener, vec31) -> {
-            if (gameeventlistener.getDeliveryMode() == GameEventListener.DeliveryMode.BY_DISTANCE) {
-                list.add(new GameEvent.ListenerInfo(gameEvent, position, context, gameeventlistener, vec31));
-            } else {
-                gameeventlistener.handleGameEvent(this.level, gameEvent, context, position);
+    public void addListenerSection(long sectionPos) {
+        this.listenerSections.add(sectionPos);
+    }
+
+    public void removeListenerSection(long sectionPos) {
+        this.listenerSections.remove(sectionPos);
+    }
+
+    public void removeListenerSections(ChunkPos chunkPos) {
+        if (!this.listenerSections.isEmpty()) {
+            for (int i = this.level.getMinSectionY(); i <= this.level.getMaxSectionY(); ++i) {
+                this.listenerSections.remove(SectionPos.asLong(chunkPos.x, i, chunkPos.z));
             }
 
-        };
-        boolean flag = false;
+        }
+    }
+
+    public void post(Holder<GameEvent> gameEvent, Vec3 position, GameEvent.Context context) {
+        if (!this.listenerSections.isEmpty()) {
+            int i = ((GameEvent) gameEvent.value()).notificationRadius();
+            BlockPos blockpos = BlockPos.containing(position);
+            int j = SectionPos.blockToSectionCoord(blockpos.getX() - i);
+            int k = SectionPos.blockToSectionCoord(blockpos.getY() - i);
+            int l = SectionPos.blockToSectionCoord(blockpos.getZ() - i);
+            int i1 = SectionPos.blockToSectionCoord(blockpos.getX() + i);
+            int j1 = SectionPos.blockToSectionCoord(blockpos.getY() + i);
+            int k1 = SectionPos.blockToSectionCoord(blockpos.getZ() + i);
+
+            if (this.hasListenerSection(j, k, l, i1, j1, k1)) {
+                List<GameEvent.ListenerInfo> list = new ArrayList();
+                GameEventListenerRegistry.ListenerVisitor gameeventlistenerregistry_listenervisitor = (gameeventlistener, vec31) -> {
+                    if (!(gameeventlistener instanceof VibrationSystem.Listener) || this.markPosted(gameeventlistener, gameEvent, position, context)) {
+                        if (gameeventlistener.getDeliveryMode() == GameEventListener.DeliveryMode.BY_DISTANCE) {
+                            list.add(new GameEvent.ListenerInfo(gameEvent, position, context, gameeventlistener, vec31));
+                        } else {
+                            gameeventlistener.handleGameEvent(this.level, gameEvent, context, position);
+                        }
+                    }
+
+                };
+                boolean flag = false;
 
-        for (int l1 = j; l1 <= i1; ++l1) {
-            for (int i2 = l; i2 <= k1; ++i2) {
-                ChunkAccess chunkaccess = this.level.getChunkSource().getChunkNow(l1, i2);
+                for (int l1 = j; l1 <= i1; ++l1) {
+                    for (int i2 = l; i2 <= k1; ++i2) {
+                        ChunkAccess chunkaccess = null;
 
-                if (chunkaccess != null) {
-                    for (int j2 = k; j2 <= j1; ++j2) {
-                        flag |= chunkaccess.getListenerRegistry(j2).visitInRangeListeners(gameEvent, position, context, gameeventlistenerregistry_listenervisitor);
+                        for (int j2 = k; j2 <= j1; ++j2) {
+                            if (this.listenerSections.contains(SectionPos.asLong(l1, j2, i2))) {
+                                if (chunkaccess == null) {
+                                    chunkaccess = this.level.getChunkSource().getChunkNow(l1, i2);
+                                    if (chunkaccess == null) {
+                                        break;
+                                    }
+                                }
+
+                                flag |= chunkaccess.getListenerRegistry(j2).visitInRangeListeners(gameEvent, position, context, gameeventlistenerregistry_listenervisitor);
+                            }
+                        }
                     }
                 }
+
+                if (!list.isEmpty()) {
+                    this.handleGameEventMessagesInQueue(list);
+                }
+
+                if (flag) {
+                    this.level.debugSynchronizers().broadcastEventToTracking(BlockPos.containing(position), DebugSubscriptions.GAME_EVENTS, new DebugGameEventInfo(gameEvent, position));
+                }
+
             }
         }
+    }
+
+    private boolean hasListenerSection(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        if ((long) (maxX - minX + 1) * (long) (maxY - minY + 1) * (long) (maxZ - minZ + 1) > (long) this.listenerSections.size()) {
+            LongIterator longiterator = this.listenerSections.iterator();
 
-        if (!list.isEmpty()) {
-            this.handleGameEventMessagesInQueue(list);
+            while (longiterator.hasNext()) {
+                long i = longiterator.nextLong();
+                int j = SectionPos.x(i);
+                int k = SectionPos.y(i);
+                int l = SectionPos.z(i);
+
+                if (j >= minX && j <= maxX && k >= minY && k <= maxY && l >= minZ && l <= maxZ) {
+                    return true;
+                }
+            }
+        } else {
+            for (int i1 = minX; i1 <= maxX; ++i1) {
+                for (int j1 = minZ; j1 <= maxZ; ++j1) {
+                    for (int k1 = minY; k1 <= maxY; ++k1) {
+                        if (this.listenerSections.contains(SectionPos.asLong(i1, k1, j1))) {
+                            return true;
+                        }
+                    }
+                }
+            }
         }
 
-        if (flag) {
-            this.level.debugSynchronizers().broadcastEventToTracking(BlockPos.containing(position), DebugSubscriptions.GAME_EVENTS, new DebugGameEventInfo(gameEvent, position));
+        return false;
+    }
+
+    private boolean markPosted(GameEventListener listener, Holder<GameEvent> gameEvent, Vec3 position, GameEvent.Context context) {
+        int i = this.level.getServer().getTickCount();
+
+        if (i != this.postedEventsTick) {
+            this.postedEvents.clear();
+            this.postedEventsTick = i;
         }
 
+        return this.postedEvents.add(new GameEventDispatcher.PostedEvent(listener, gameEvent, position, context.sourceEntity(), context.affectedState()));
     }
 
     private void handleGameEventMessagesInQueue(List<GameEvent.ListenerInfo> listenerInfos) {
@@ -72,4 +156,8 @@ public class GameEventDispatcher {
         }
 
     }
+
+    private static record PostedEvent(GameEventListener listener, Holder<GameEvent> gameEvent, Vec3 position, @Nullable Entity sourceEntity, @Nullable BlockState affectedState) {
+
+    }
 }
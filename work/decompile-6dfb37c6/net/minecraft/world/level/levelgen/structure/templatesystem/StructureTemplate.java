@@ -30,6 +30,8 @@ import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtUtils;
 import net.minecraft.resources.Identifier;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
 import net.minecraft.util.ProblemReporter;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.RandomizableContainer;
@@ -276,6 +278,11 @@ public class StructureTemplate {
                 int j1 = Integer.MIN_VALUE;
                 int k1 = Integer.MIN_VALUE;
                 List<StructureTemplate.StructureBlockInfo> list4 = processBlockInfos(level, position, referencePos, settings, list);
+                ThreadedLevelLightEngine threadedlevellightengine = level instanceof ServerLevel serverlevel ? serverlevel.getChunkSource().getLightEngine() : null;
+
+                if (threadedlevellightengine != null) {
+                    threadedlevellightengine.startBulkUpdate();
+                }
 
                 try (ProblemReporter.ScopedCollector problemreporter_scopedcollector = new ProblemReporter.ScopedCollector(StructureTemplate.LOGGER)) {
                     for (StructureTemplate.StructureBlockInfo structuretemplate_structureblockinfo : list4) {
@@ -399,6 +406,11 @@ public class StructureTemplate {
                     if (!settings.isIgnoreEntities()) {
                         this.placeEntities(level, position, settings.getMirror(), settings.getRotation(), settings.getRotationPivot(), boundingbox, settings.shouldFinalizeEntities(), problemreporter_scopedcollector);
                     }
+                } finally {
+                    if (threadedlevellightengine != null) {
+                        threadedlevellightengine.endBulkUpdate();
+                    }
+
                 }
 
                 return true;
@@ -47,6 +47,56 @@ public final class BlockLightEngine extends LightEngine<BlockLightSectionStorage
         }
     }
 
+    @Override
+    protected void relightSection(long sectionNode) {
+        int j = SectionPos.sectionToBlockCoord(SectionPos.x(sectionNode));
+        int k = SectionPos.sectionToBlockCoord(SectionPos.y(sectionNode));
+        int l = SectionPos.sectionToBlockCoord(SectionPos.z(sectionNode));
+
+        for (int i1 = 0; i1 < 16; ++i1) {
+            for (int j1 = 0; j1 < 16; ++j1) {
+                for (int k1 = 0; k1 < 16; ++k1) {
+                    long l1 = BlockPos.asLong(j + k1, k + i1, l + j1);
+                    int i2 = ((BlockLightSectionStorage) this.storage).getStoredLevel(l1);
+
+                    if (i2 > 0) {
+                        ((BlockLightSectionStorage) this.storage).setStoredLevel(l1, 0);
+                        if (i1 == 0 || i1 == 15 || j1 == 0 || j1 == 15 || k1 == 0 || k1 == 15) {
+                            this.enqueueDecrease(l1, LightEngine.QueueEntry.decreaseAllDirections(i2));
+                        }
+                    }
+
+                    BlockState blockstate = this.getState(this.mutablePos.set(l1));
+                    int j2 = this.getEmission(l1, blockstate);
+
+                    if (j2 > 0) {
+                        this.enqueueIncrease(l1, LightEngine.QueueEntry.increaseLightFromEmission(j2, isEmptyShape(blockstate)));
+                    }
+                }
+            }
+        }
+
+        for (Direction direction : BlockLightEngine.PROPAGATION_DIRECTIONS) {
+            if (((BlockLightSectionStorage) this.storage).storingLightForSection(SectionPos.offset(sectionNode, direction))) {
+                Direction.Axis direction_axis = direction.getAxis();
+                int k2 = direction.getAxisDirection() == Direction.AxisDirection.POSITIVE ? 16 : -1;
+                Direction direction1 = direction.getOpposite();
+
+                for (int l2 = 0; l2 < 16; ++l2) {
+                    for (int i3 = 0; i3 < 16; ++i3) {
+                        long j3 = BlockPos.asLong(j + direction_axis.choose(k2, l2, l2), k + direction_axis.choose(l2, k2, i3), l + direction_axis.choose(i3, i3, k2));
+                        int k3 = ((BlockLightSectionStorage) this.storage).getStoredLevel(j3);
+
+                        if (k3 > 1) {
+                            this.enqueueIncrease(j3, LightEngine.QueueEntry.increaseOnlyOneDirection(k3, false, direction1));
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
     @Override
     protected void propagateIncrease(long fromNode, long increaseData, int fromLevel) {
         BlockState blockstate = null;
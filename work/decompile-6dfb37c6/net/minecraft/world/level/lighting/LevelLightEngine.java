@@ -1,5 +1,11 @@
 package net.minecraft.world.level.lighting;
 
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import net.minecraft.ReportedException;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.ChunkPos;
@@ -41,6 +47,32 @@ public class LevelLightEngine implements LightEventListener {
 
     }
 
+    public void checkSection(SectionPos pos) {
+        if (this.blockEngine != null) {
+            this.blockEngine.checkSection(pos.asLong());
+        }
+
+        if (this.skyEngine != null) {
+            this.skyEngine.checkSection(pos.asLong());
+        }
+
+    }
+
+    public void checkSection(SectionPos pos, LongList blockNodes) {
+        if (this.blockEngine != null) {
+            this.blockEngine.checkSection(pos.asLong());
+        }
+
+        if (this.skyEngine != null) {
+            LongIterator longiterator = blockNodes.iterator();
+
+            while (longiterator.hasNext()) {
+                this.skyEngine.checkBlock(BlockPos.of(longiterator.nextLong()));
+            }
+        }
+
+    }
+
     @Override
     public boolean hasLightWork() {
         return this.skyEngine != null && this.skyEngine.hasLightWork() ? true : this.blockEngine != null && this.blockEngine.hasLightWork();
@@ -61,6 +93,38 @@ public class LevelLightEngine implements LightEventListener {
         return i;
     }
 
+    protected int runLightUpdatesConcurrently(Executor executor) {
+        if (this.blockEngine != null && this.skyEngine != null && this.blockEngine.hasLightWork() && this.skyEngine.hasLightWork()) {
+            LightEngine<?, ?> lightengine = this.blockEngine;
+            CompletableFuture<Integer> completablefuture = CompletableFuture.supplyAsync(lightengine::runLightUpdates, executor);
+            int i = this.skyEngine.runLightUpdates();
+
+            try {
+                return i + (Integer) completablefuture.join();
+            } catch (CompletionException completionexception) {
+                Throwable throwable = completionexception.getCause();
+
+                if (throwable instanceof ReportedException reportedexception) {
+                    throw reportedexception;
+                }
+
+                throw completionexception;
+            }
+        } else {
+            int j = 0;
+
+            if (this.blockEngine != null) {
+                j += this.blockEngine.runLightUpdates();
+            }
+
+            if (this.skyEngine != null) {
+                j += this.skyEngine.runLightUpdates();
+            }
+
+            return j;
+        }
+    }
+
     @Override
     public void updateSectionStatus(SectionPos pos, boolean sectionEmpty) {
         if (this.blockEngine != null) {
@@ -27,6 +27,7 @@ public abstract class LightEngine<M extends DataLayerStorageMap<M>, S extends La
     protected final LightChunkGetter chunkSource;
     protected final S storage;
     private final LongOpenHashSet blockNodesToCheck = new LongOpenHashSet(512, 0.5F);
+    private final LongOpenHashSet sectionsToCheck = new LongOpenHashSet();
     private final LongArrayFIFOQueue decreaseQueue = new LongArrayFIFOQueue();
     private final LongArrayFIFOQueue increaseQueue = new LongArrayFIFOQueue();
     private static final int CACHE_SIZE = 2;
@@ -115,6 +116,10 @@ public abstract class LightEngine<M extends DataLayerStorageMap<M>, S extends La
         this.blockNodesToCheck.add(pos.asLong());
     }
 
+    public void checkSection(long sectionNode) {
+        this.sectionsToCheck.add(sectionNode);
+    }
+
     public void queueSectionData(long pos, @Nullable DataLayer data) {
         this.storage.queueSectionData(pos, data);
     }
@@ -135,12 +140,28 @@ public abstract class LightEngine<M extends DataLayerStorageMap<M>, S extends La
 
     @Override
     public int runLightUpdates() {
-        LongIterator longiterator = this.blockNodesToCheck.iterator();
+        LongIterator longiterator = this.sectionsToCheck.iterator();
 
         while (longiterator.hasNext()) {
-            this.checkNode(longiterator.nextLong());
+            long j = longiterator.nextLong();
+
+            if (this.storage.storingLightForSection(j)) {
+                this.relightSection(j);
+            }
         }
 
+        boolean flag = !this.sectionsToCheck.isEmpty();
+        LongIterator longiterator1 = this.blockNodesToCheck.iterator();
+
+        while (longiterator1.hasNext()) {
+            long k = longiterator1.nextLong();
+
+            if (!flag || !this.sectionsToCheck.contains(SectionPos.blockToSection(k))) {
+                this.checkNode(k);
+            }
+        }
+
+        this.sectionsToCheck.clear();
         this.blockNodesToCheck.clear();
         this.blockNodesToCheck.trim(512);
         int i = 0;
@@ -153,6 +174,21 @@ public abstract class LightEngine<M extends DataLayerStorageMap<M>, S extends La
         return i;
     }
 
+    protected void relightSection(long sectionNode) {
+        int j = SectionPos.sectionToBlockCoord(SectionPos.x(sectionNode));
+        int k = SectionPos.sectionToBlockCoord(SectionPos.y(sectionNode));
+        int l = SectionPos.sectionToBlockCoord(SectionPos.z(sectionNode));
+
+        for (int i1 = 0; i1 < 16; ++i1) {
+            for (int j1 = 0; j1 < 16; ++j1) {
+                for (int k1 = 0; k1 < 16; ++k1) {
+                    this.checkNode(BlockPos.asLong(j + k1, k + i1, l + j1));
+                }
+            }
+        }
+
+    }
+
     private int propagateIncreases() {
         int i;
 
@@ -200,7 +236,7 @@ public abstract class LightEngine<M extends DataLayerStorageMap<M>, S extends La
 
     @Override
     public boolean hasLightWork() {
-        return this.storage.hasInconsistencies() || !this.blockNodesToCheck.isEmpty() || !this.decreaseQueue.isEmpty() || !this.increaseQueue.isEmpty();
+        return this.storage.hasInconsistencies() || !this.blockNodesToCheck.isEmpty() || !this.sectionsToCheck.isEmpty() || !this.decreaseQueue.isEmpty() || !this.increaseQueue.isEmpty();
     }
 
     @Override
@@ -84,6 +84,17 @@ public abstract class NodeEvaluator {
         this.canWalkOverFences = canWalkOverFences;
     }
 
+    public void copySettings(NodeEvaluator nodeEvaluator) {
+        this.canPassDoors = nodeEvaluator.canPassDoors;
+        this.canOpenDoors = nodeEvaluator.canOpenDoors;
+        this.canFloat = nodeEvaluator.canFloat;
+        this.canWalkOverFences = nodeEvaluator.canWalkOverFences;
+    }
+
+    public int getSettings() {
+        return (this.canPassDoors ? 1 : 0) | (this.canOpenDoors ? 2 : 0) | (this.canFloat ? 4 : 0) | (this.canWalkOverFences ? 8 : 0);
+    }
+
     public boolean canPassDoors() {
         return this.canPassDoors;
     }
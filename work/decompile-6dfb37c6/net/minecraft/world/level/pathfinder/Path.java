@@ -1,7 +1,10 @@
 package net.minecraft.world.level.pathfinder;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
@@ -197,6 +200,29 @@ public final class Path {
         return path;
     }
 
+    public Path deepCopy() {
+        List<Node> list = new ArrayList(this.nodes.size());
+        Map<Node, Node> map = new IdentityHashMap();
+
+        for (Node node : this.nodes) {
+            Node node1 = node.cloneAndMove(node.x, node.y, node.z);
+
+            map.put(node, node1);
+            list.add(node1);
+        }
+
+        for (Node node2 : list) {
+            if (node2.cameFrom != null) {
+                node2.cameFrom = (Node) map.get(node2.cameFrom);
+            }
+        }
+
+        Path path = new Path(list, this.target, this.reached);
+
+        path.debugData = this.debugData;
+        return path;
+    }
+
     public static record DebugData(Node[] openSet, Node[] closedSet, Set<Target> targetNodes) {
 
         public void write(FriendlyByteBuf output) {
@@ -43,6 +43,10 @@ public class PathFinder {
         this.maxVisitedNodes = maxVisitedNodes;
     }
 
+    public int getMaxVisitedNodes() {
+        return this.maxVisitedNodes;
+    }
+
     public @Nullable Path findPath(PathNavigationRegion level, Mob entity, Set<BlockPos> targets, float maxPathLength, int reachRange, float maxVisitedNodesMultiplier) {
         this.openSet.clear();
         this.nodeEvaluator.prepare(level, entity);
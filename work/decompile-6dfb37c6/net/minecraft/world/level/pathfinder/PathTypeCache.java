@@ -1,50 +1,42 @@
 package net.minecraft.world.level.pathfinder;
 
-import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.BlockGetter;
-import org.jspecify.annotations.Nullable;
+import net.minecraft.world.level.CollisionGetter;
+import net.minecraft.world.level.chunk.EmptyLevelChunk;
+import net.minecraft.world.level.chunk.LevelChunk;
 
 public class PathTypeCache {
 
-    private static final int SIZE = 4096;
-    private static final int MASK = 4095;
-    private final long[] positions = new long[4096];
-    private final PathType[] pathTypes = new PathType[4096];
+    private static final PathType[] PATH_TYPES = PathType.values();
 
     public PathTypeCache() {}
 
-    public PathType getOrCompute(BlockGetter level, BlockPos pos) {
-        long i = pos.asLong();
-        int j = index(i);
-        PathType pathtype = this.get(j, i);
+    public PathType getOrCompute(CollisionGetter level, BlockPos pos) {
+        BlockGetter blockgetter = level.getChunkForCollisions(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
 
-        return pathtype != null ? pathtype : this.compute(level, pos, j, i);
-    }
-
-    private @Nullable PathType get(int index, long key) {
-        return this.positions[index] == key ? this.pathTypes[index] : null;
-    }
+        if (blockgetter instanceof LevelChunk levelchunk) {
+            if (!(levelchunk instanceof EmptyLevelChunk) && !levelchunk.isOutsideBuildHeight(pos.getY())) {
+                byte[] abyte = levelchunk.getSection(levelchunk.getSectionIndex(pos.getY())).getPathTypes();
+                int i = index(pos);
+                int j = abyte[i];
 
-    private PathType compute(BlockGetter level, BlockPos pos, int index, long key) {
-        PathType pathtype = WalkNodeEvaluator.getPathTypeFromState(level, pos);
-
-        this.positions[index] = key;
-        this.pathTypes[index] = pathtype;
-        return pathtype;
-    }
+                if (j != 0) {
+                    return PathTypeCache.PATH_TYPES[j - 1];
+                }
 
-    public void invalidate(BlockPos pos) {
-        long i = pos.asLong();
-        int j = index(i);
+                PathType pathtype = WalkNodeEvaluator.getPathTypeFromState(levelchunk, pos);
 
-        if (this.positions[j] == i) {
-            this.pathTypes[j] = null;
+                abyte[i] = (byte) (pathtype.ordinal() + 1);
+                return pathtype;
+            }
         }
 
+        return WalkNodeEvaluator.getPathTypeFromState(level, pos);
     }
 
-    private static int index(long pos) {
-        return (int) HashCommon.mix(pos) & 4095;
+    private static int index(BlockPos pos) {
+        return (pos.getY() & 15) << 8 | (pos.getZ() & 15) << 4 | pos.getX() & 15;
     }
 }
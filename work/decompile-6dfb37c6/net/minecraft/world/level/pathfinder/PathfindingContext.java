@@ -5,6 +5,7 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.level.CollisionGetter;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.PathNavigationSnapshot;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jspecify.annotations.Nullable;
 
@@ -19,7 +20,7 @@ public class PathfindingContext {
         this.level = level;
         Level level1 = mob.level();
 
-        if (level1 instanceof ServerLevel serverlevel) {
+        if (level1 instanceof ServerLevel serverlevel && !(level instanceof PathNavigationSnapshot)) {
             this.cache = serverlevel.getPathTypeCache();
         } else {
             this.cache = null;
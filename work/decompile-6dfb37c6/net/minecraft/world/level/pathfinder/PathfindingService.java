@@ -0,0 +1,112 @@
+package net.minecraft.world.level.pathfinder;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Util;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+public class PathfindingService {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int RESULT_LIFETIME = 20;
+    private final Map<PathfindingService.Request, PathfindingService.Job> jobs = new ConcurrentHashMap();
+    private final Long2ObjectMap<PalettedContainer<BlockState>> sectionCopies = new Long2ObjectOpenHashMap();
+
+    public PathfindingService() {}
+
+    public void tick(long gameTime) {
+        synchronized (this.sectionCopies) {
+            this.sectionCopies.clear();
+        }
+
+        this.jobs.values().removeIf((pathfindingservice_job) -> {
+            return pathfindingservice_job.isExpired(gameTime);
+        });
+    }
+
+    public CompletableFuture<@Nullable Path> findPath(PathfindingService.Request request, Supplier<? extends @Nullable Mob> mobSnapshot, Supplier<? extends PathNavigationRegion> region, Supplier<PathFinder> pathFinder) {
+        PathfindingService.Job pathfindingservice_job = (PathfindingService.Job) this.jobs.get(request);
+
+        if (pathfindingservice_job == null) {
+            PathfindingService.Job pathfindingservice_job1 = new PathfindingService.Job();
+
+            pathfindingservice_job = (PathfindingService.Job) this.jobs.putIfAbsent(request, pathfindingservice_job1);
+            if (pathfindingservice_job == null) {
+                pathfindingservice_job = pathfindingservice_job1;
+                Mob mob = (Mob) mobSnapshot.get();
+
+                if (mob == null) {
+                    pathfindingservice_job1.future.complete((Path) null);
+                } else {
+                    PathNavigationRegion pathnavigationregion = (PathNavigationRegion) region.get();
+                    PathFinder pathfinder = (PathFinder) pathFinder.get();
+
+                    CompletableFuture.supplyAsync(() -> {
+                        return pathfinder.findPath(pathnavigationregion, mob, request.targets(), request.maxPathLength(), request.reachRange(), 1.0F);
+                    }, Util.pathfindingExecutor()).whenComplete((path, throwable) -> {
+                        if (throwable != null) {
+                            PathfindingService.LOGGER.error("Failed to find path for {}", mob, throwable);
+                            pathfindingservice_job1.future.complete((Path) null);
+                        } else {
+                            pathfindingservice_job1.future.complete(path);
+                        }
+
+                    });
+                }
+            }
+        }
+
+        return pathfindingservice_job.future;
+    }
+
+    public PalettedContainer<BlockState> copySection(long sectionPos, LevelChunkSection section) {
+        synchronized (this.sectionCopies) {
+            PalettedContainer<BlockState> palettedcontainer = (PalettedContainer) this.sectionCopies.get(sectionPos);
+
+            if (palettedcontainer == null) {
+                palettedcontainer = section.getStates().copy();
+                this.sectionCopies.put(sectionPos, palettedcontainer);
+            }
+
+            return palettedcontainer;
+        }
+    }
+
+    public static record Request(EntityType<?> entityType, Class<?> nodeEvaluator, int settings, float width, float height, Map<PathType, Float> pathfindingMalus, BlockPos start, BlockPos origin, int radius, Set<BlockPos> targets, int reachRange, float maxPathLength, int maxVisitedNodes) {
+
+    }
+
+    private static class Job {
+
+        final CompletableFuture<@Nullable Path> future = new CompletableFuture();
+        private long expireTime = Long.MAX_VALUE;
+
+        Job() {}
+
+        boolean isExpired(long gameTime) {
+            if (!this.future.isDone()) {
+                return false;
+            } else {
+                if (this.expireTime == Long.MAX_VALUE) {
+                    this.expireTime = gameTime + 20L;
+                }
+
+                return gameTime >= this.expireTime;
+            }
+        }
+    }
+}
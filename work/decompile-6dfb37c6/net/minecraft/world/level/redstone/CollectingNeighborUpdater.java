@@ -3,7 +3,9 @@ package net.minecraft.world.level.redstone;
 import com.mojang.logging.LogUtils;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -22,6 +24,8 @@ public class CollectingNeighborUpdater implements NeighborUpdater {
     private final ArrayDeque<CollectingNeighborUpdater.NeighborUpdates> stack = new ArrayDeque();
     private final List<CollectingNeighborUpdater.NeighborUpdates> addedThisLayer = new ArrayList();
     private int count = 0;
+    private boolean mergeDuplicateUpdates;
+    private final Set<CollectingNeighborUpdater.PendingMultiUpdate> pendingMultiUpdates = new HashSet();
     private @Nullable Consumer<BlockPos> debugListener;
 
     public CollectingNeighborUpdater(Level level, int maxChainedNeighborUpdates) {
@@ -50,9 +54,17 @@ public class CollectingNeighborUpdater implements NeighborUpdater {
 
     @Override
     public void updateNeighborsAtExceptFromFacing(BlockPos pos, Block block, @Nullable Direction skipDirection, @Nullable Orientation orientation) {
+        if (this.mergeDuplicateUpdates && this.count > 0 && !this.pendingMultiUpdates.add(new CollectingNeighborUpdater.PendingMultiUpdate(pos.immutable(), block, skipDirection, orientation))) {
+            return;
+        }
+
         this.addAndRun(pos, new CollectingNeighborUpdater.MultiNeighborUpdate(pos.immutable(), block, orientation, skipDirection));
     }
 
+    public void setMergeDuplicateUpdates(boolean mergeDuplicateUpdates) {
+        this.mergeDuplicateUpdates = mergeDuplicateUpdates;
+    }
+
     private void addAndRun(BlockPos pos, CollectingNeighborUpdater.NeighborUpdates update) {
         boolean flag = this.count > 0;
         boolean flag1 = this.maxChainedNeighborUpdates >= 0 && this.count >= this.maxChainedNeighborUpdates;
@@ -82,6 +94,7 @@ public class CollectingNeighborUpdater implements NeighborUpdater {
                 }
 
                 this.addedThisLayer.clear();
+                this.pendingMultiUpdates.clear();
                 CollectingNeighborUpdater.NeighborUpdates collectingneighborupdater_neighborupdates = (CollectingNeighborUpdater.NeighborUpdates) this.stack.peek();
 
                 if (this.debugListener != null) {
@@ -98,11 +111,16 @@ public class CollectingNeighborUpdater implements NeighborUpdater {
         } finally {
             this.stack.clear();
             this.addedThisLayer.clear();
+            this.pendingMultiUpdates.clear();
             this.count = 0;
         }
 
     }
 
+    static record PendingMultiUpdate(BlockPos pos, Block block, @Nullable Direction skipDirection, @Nullable Orientation orientation) {
+
+    }
+
     static record SimpleNeighborUpdate(BlockPos pos, Block block, @Nullable Orientation orientation) implements CollectingNeighborUpdater.NeighborUpdates {
 
         @Override
@@ -0,0 +1,182 @@
+package net.minecraft.world.level.redstone;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.RedStoneWireBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jspecify.annotations.Nullable;
+
+public class GraphRedstoneWireEvaluator extends RedstoneWireEvaluator {
+
+    private final Map<BlockPos, GraphRedstoneWireEvaluator.Node> nodes = new Object2ObjectLinkedOpenHashMap();
+    private final Deque<GraphRedstoneWireEvaluator.Node> nodesToLink = new ArrayDeque();
+
+    public GraphRedstoneWireEvaluator(RedStoneWireBlock wireBlock) {
+        super(wireBlock);
+    }
+
+    @Override
+    public void updatePowerStrength(Level level, BlockPos pos, BlockState state, @Nullable Orientation orientation, boolean shapeUpdateWiresAroundInitialPosition) {
+        if (this.addNode(level, pos) == null) {
+            for (Direction direction : Direction.Plane.HORIZONTAL) {
+                BlockPos blockpos1 = pos.relative(direction);
+
+                this.addNode(level, blockpos1);
+                this.addNode(level, blockpos1.above());
+                this.addNode(level, blockpos1.below());
+            }
+        }
+
+        while (!this.nodesToLink.isEmpty()) {
+            this.linkNode(level, (GraphRedstoneWireEvaluator.Node) this.nodesToLink.removeFirst());
+        }
+
+        this.resolvePower(level);
+        List<BlockPos> list = this.applyPower(level, pos, shapeUpdateWiresAroundInitialPosition);
+
+        if (!list.isEmpty()) {
+            this.causeNeighborUpdates(level, list);
+        }
+
+    }
+
+    private GraphRedstoneWireEvaluator.@Nullable Node addNode(Level level, BlockPos pos) {
+        GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node = (GraphRedstoneWireEvaluator.Node) this.nodes.get(pos);
+
+        if (graphredstonewireevaluator_node == null) {
+            if (!level.getBlockState(pos).is(this.wireBlock)) {
+                return null;
+            }
+
+            BlockPos blockpos1 = pos.immutable();
+
+            graphredstonewireevaluator_node = new GraphRedstoneWireEvaluator.Node(blockpos1);
+            this.nodes.put(blockpos1, graphredstonewireevaluator_node);
+            this.nodesToLink.add(graphredstonewireevaluator_node);
+        }
+
+        return graphredstonewireevaluator_node;
+    }
+
+    private void linkNode(Level level, GraphRedstoneWireEvaluator.Node node) {
+        BlockPos blockpos = node.pos.above();
+        boolean flag = level.getBlockState(blockpos).isRedstoneConductor(level, blockpos);
+
+        for (Direction direction : Direction.Plane.HORIZONTAL) {
+            BlockPos blockpos1 = node.pos.relative(direction);
+            boolean flag1 = level.getBlockState(blockpos1).isRedstoneConductor(level, blockpos1);
+            GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node1 = this.addNode(level, blockpos1);
+            GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node2 = this.addNode(level, blockpos1.above());
+            GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node3 = this.addNode(level, blockpos1.below());
+
+            if (graphredstonewireevaluator_node1 != null) {
+                graphredstonewireevaluator_node1.readers.add(node);
+            }
+
+            if (flag1 && !flag) {
+                if (graphredstonewireevaluator_node2 != null) {
+                    graphredstonewireevaluator_node2.readers.add(node);
+                }
+            } else if (!flag1 && graphredstonewireevaluator_node3 != null) {
+                graphredstonewireevaluator_node3.readers.add(node);
+            }
+        }
+
+    }
+
+    private void resolvePower(Level level) {
+        List<GraphRedstoneWireEvaluator.Node>[] alist = new List[16];
+
+        for (int i = 0; i < alist.length; ++i) {
+            alist[i] = new ArrayList();
+        }
+
+        for (GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node : this.nodes.values()) {
+            graphredstonewireevaluator_node.power = this.getBlockSignal(level, graphredstonewireevaluator_node.pos);
+            alist[graphredstonewireevaluator_node.power].add(graphredstonewireevaluator_node);
+        }
+
+        for (int j = 15; j > 1; --j) {
+            for (GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node1 : alist[j]) {
+                if (graphredstonewireevaluator_node1.power == j) {
+                    for (GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node2 : graphredstonewireevaluator_node1.readers) {
+                        if (graphredstonewireevaluator_node2.power < j - 1) {
+                            graphredstonewireevaluator_node2.power = j - 1;
+                            alist[j - 1].add(graphredstonewireevaluator_node2);
+                        }
+                    }
+                }
+            }
+        }
+
+    }
+
+    private List<BlockPos> applyPower(Level level, BlockPos initialPos, boolean shapeUpdateWiresAroundInitialPosition) {
+        List<BlockPos> list = new ArrayList();
+
+        for (GraphRedstoneWireEvaluator.Node graphredstonewireevaluator_node : this.nodes.values()) {
+            BlockState blockstate = level.getBlockState(graphredstonewireevaluator_node.pos);
+
+            if (blockstate.is(this.wireBlock) && (Integer) blockstate.getValue(RedStoneWireBlock.POWER) != graphredstonewireevaluator_node.power) {
+                int i = 2;
+
+                if (!shapeUpdateWiresAroundInitialPosition || !graphredstonewireevaluator_node.pos.equals(initialPos)) {
+                    i |= 128;
+                }
+
+                level.setBlock(graphredstonewireevaluator_node.pos, (BlockState) blockstate.setValue(RedStoneWireBlock.POWER, graphredstonewireevaluator_node.power), i);
+                list.add(graphredstonewireevaluator_node.pos);
+            }
+        }
+
+        return list;
+    }
+
+    private void causeNeighborUpdates(Level level, List<BlockPos> changedWires) {
+        Set<BlockPos> set = new ObjectLinkedOpenHashSet();
+
+        for (BlockPos blockpos : changedWires) {
+            this.collectNeighbors(blockpos, set);
+
+            for (Direction direction : NeighborUpdater.UPDATE_ORDER) {
+                this.collectNeighbors(blockpos.relative(direction), set);
+            }
+        }
+
+        for (BlockPos blockpos1 : set) {
+            level.neighborChanged(blockpos1, this.wireBlock, (Orientation) null);
+        }
+
+    }
+
+    private void collectNeighbors(BlockPos pos, Set<BlockPos> output) {
+        for (Direction direction : NeighborUpdater.UPDATE_ORDER) {
+            BlockPos blockpos1 = pos.relative(direction);
+
+            if (!this.nodes.containsKey(blockpos1)) {
+                output.add(blockpos1);
+            }
+        }
+
+    }
+
+    private static class Node {
+
+        final BlockPos pos;
+        final List<GraphRedstoneWireEvaluator.Node> readers = new ArrayList(4);
+        int power;
+
+        Node(BlockPos pos) {
+            this.pos = pos;
+        }
+    }
+}
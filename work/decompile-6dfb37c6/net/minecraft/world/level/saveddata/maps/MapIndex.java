@@ -25,7 +25,7 @@ public class MapIndex extends SavedData {
         this.lastMapId = lastMapId;
     }
 
-    public MapId getNextMapId() {
+    public synchronized MapId getNextMapId() {
         MapId mapid = new MapId(++this.lastMapId);
 
         this.setDirty();
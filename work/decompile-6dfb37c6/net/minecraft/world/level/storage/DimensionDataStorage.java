@@ -56,7 +56,7 @@ public class DimensionDataStorage implements AutoCloseable {
         return this.dataFolder.resolve(id + ".dat");
     }
 
-    public <T extends SavedData> T computeIfAbsent(SavedDataType<T> type) {
+    public synchronized <T extends SavedData> T computeIfAbsent(SavedDataType<T> type) {
         T t0 = this.get(type);
 
         if (t0 != null) {
@@ -69,7 +69,7 @@ public class DimensionDataStorage implements AutoCloseable {
         }
     }
 
-    public <T extends SavedData> @Nullable T get(SavedDataType<T> type) {
+    public synchronized <T extends SavedData> @Nullable T get(SavedDataType<T> type) {
         Optional<SavedData> optional = (Optional) this.cache.get(type);
 
         if (optional == null) {
@@ -99,7 +99,7 @@ public class DimensionDataStorage implements AutoCloseable {
         return null;
     }
 
-    public <T extends SavedData> void set(SavedDataType<T> type, T data) {
+    public synchronized <T extends SavedData> void set(SavedDataType<T> type, T data) {
         this.cache.put(type, Optional.of(data));
         data.setDirty();
     }
@@ -189,7 +189,7 @@ public class DimensionDataStorage implements AutoCloseable {
         }
     }
 
-    private Map<SavedDataType<?>, CompoundTag> collectDirtyTagsToSave() {
+    private synchronized Map<SavedDataType<?>, CompoundTag> collectDirtyTagsToSave() {
         Map<SavedDataType<?>, CompoundTag> map = new Object2ObjectArrayMap();
         RegistryOps<Tag> registryops = this.registries.<Tag>createSerializationContext(NbtOps.INSTANCE);
 
@@ -82,4 +82,8 @@ public interface CollisionContext {
     default boolean isPlacement() {
         return false;
     }
+
+    default boolean overridesBlockShapes() {
+        return false;
+    }
 }
@@ -53,6 +53,11 @@ public class MinecartCollisionContext extends EntityCollisionContext {
 
     }
 
+    @Override
+    public boolean overridesBlockShapes() {
+        return true;
+    }
+
     @Override
     public VoxelShape getCollisionShape(BlockState state, CollisionGetter collisionGetter, BlockPos pos) {
         return !pos.equals(this.ingoreBelow) && !pos.equals(this.slopeIgnore) ? super.getCollisionShape(state, collisionGetter, pos) : Shapes.empty();
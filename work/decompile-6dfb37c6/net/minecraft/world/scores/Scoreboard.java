@@ -60,7 +60,7 @@ public class Scoreboard {
         }
     }
 
-    public final void forAllObjectives(ObjectiveCriteria criteria, ScoreHolder name, Consumer<ScoreAccess> operation) {
+    public void forAllObjectives(ObjectiveCriteria criteria, ScoreHolder name, Consumer<ScoreAccess> operation) {
         ((List) this.objectivesByCriteria.getOrDefault(criteria, Collections.emptyList())).forEach((objective) -> {
             operation.accept(this.getOrCreatePlayerScore(name, objective, true));
         });
@@ -1,11 +1,10 @@
 package net.minecraft.world.ticks;
 
 import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
@@ -15,18 +14,18 @@ import org.jspecify.annotations.Nullable;
 
 public class LevelChunkTicks<T> implements TickContainerAccess<T>, SerializableTickContainer<T> {
 
-    private final Queue<ScheduledTick<T>> tickQueue;
+    private final Set<ScheduledTick<T>> ticks;
     private @Nullable List<SavedTick<T>> pendingTicks;
     private final Set<ScheduledTick<?>> ticksPerPosition;
     private @Nullable BiConsumer<LevelChunkTicks<T>, ScheduledTick<T>> onTickAdded;
 
     public LevelChunkTicks() {
-        this.tickQueue = new PriorityQueue(ScheduledTick.DRAIN_ORDER);
+        this.ticks = new ObjectOpenHashSet();
         this.ticksPerPosition = new ObjectOpenCustomHashSet(ScheduledTick.UNIQUE_TICK_HASH);
     }
 
     public LevelChunkTicks(List<SavedTick<T>> pendingTicks) {
-        this.tickQueue = new PriorityQueue(ScheduledTick.DRAIN_ORDER);
+        this.ticks = new ObjectOpenHashSet();
         this.ticksPerPosition = new ObjectOpenCustomHashSet(ScheduledTick.UNIQUE_TICK_HASH);
         this.pendingTicks = pendingTicks;
 
@@ -40,18 +39,17 @@ public class LevelChunkTicks<T> implements TickContainerAccess<T>, SerializableT
         this.onTickAdded = onTickAdded;
     }
 
-    public @Nullable ScheduledTick<T> peek() {
-        return (ScheduledTick) this.tickQueue.peek();
+    public boolean isScheduled(ScheduledTick<T> tick) {
+        return this.ticks.contains(tick);
     }
 
-    public @Nullable ScheduledTick<T> poll() {
-        ScheduledTick<T> scheduledtick = (ScheduledTick) this.tickQueue.poll();
-
-        if (scheduledtick != null) {
-            this.ticksPerPosition.remove(scheduledtick);
+    public boolean remove(ScheduledTick<T> tick) {
+        if (this.ticks.remove(tick)) {
+            this.ticksPerPosition.remove(tick);
+            return true;
+        } else {
+            return false;
         }
-
-        return scheduledtick;
     }
 
     @Override
@@ -63,7 +61,7 @@ public class LevelChunkTicks<T> implements TickContainerAccess<T>, SerializableT
     }
 
     private void scheduleUnchecked(ScheduledTick<T> tick) {
-        this.tickQueue.add(tick);
+        this.ticks.add(tick);
         if (this.onTickAdded != null) {
             this.onTickAdded.accept(this, tick);
         }
@@ -76,7 +74,7 @@ public class LevelChunkTicks<T> implements TickContainerAccess<T>, SerializableT
     }
 
     public void removeIf(Predicate<ScheduledTick<T>> test) {
-        Iterator<ScheduledTick<T>> iterator = this.tickQueue.iterator();
+        Iterator<ScheduledTick<T>> iterator = this.ticks.iterator();
 
         while (iterator.hasNext()) {
             ScheduledTick<T> scheduledtick = (ScheduledTick) iterator.next();
@@ -90,23 +88,27 @@ public class LevelChunkTicks<T> implements TickContainerAccess<T>, SerializableT
     }
 
     public Stream<ScheduledTick<T>> getAll() {
-        return this.tickQueue.stream();
+        return this.ticks.stream();
     }
 
     @Override
     public int count() {
-        return this.tickQueue.size() + (this.pendingTicks != null ? this.pendingTicks.size() : 0);
+        return this.ticks.size() + (this.pendingTicks != null ? this.pendingTicks.size() : 0);
     }
 
     @Override
     public List<SavedTick<T>> pack(long currentTick) {
-        List<SavedTick<T>> list = new ArrayList(this.tickQueue.size());
+        List<SavedTick<T>> list = new ArrayList(this.ticks.size());
 
         if (this.pendingTicks != null) {
             list.addAll(this.pendingTicks);
         }
 
-        for (ScheduledTick<T> scheduledtick : this.tickQueue) {
+        List<ScheduledTick<T>> list1 = new ArrayList(this.ticks);
+
+        list1.sort(ScheduledTick.DRAIN_ORDER);
+
+        for (ScheduledTick<T> scheduledtick : list1) {
             list.add(scheduledtick.toSavedTick(currentTick));
         }
 
@@ -1,16 +1,13 @@
 package net.minecraft.world.ticks;
 
-import it.unimi.dsi.fastutil.longs.Long2LongMap;
-import it.unimi.dsi.fastutil.longs.Long2LongMap.Entry;
-import it.unimi.dsi.fastutil.longs.Long2LongMaps;
-import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
 import java.util.LongSummaryStatistics;
 import java.util.Objects;
@@ -32,44 +29,41 @@ import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 public class LevelTicks<T> implements LevelTickAccess<T> {
 
-    private static final Comparator<LevelChunkTicks<?>> CONTAINER_DRAIN_ORDER = (levelchunkticks, levelchunkticks1) -> {
-        return ScheduledTick.INTRA_TICK_DRAIN_ORDER.compare(levelchunkticks.peek(), levelchunkticks1.peek());
-    };
+    private static final int WHEEL_SIZE = 256;
     private final LongPredicate tickCheck;
     private final Long2ObjectMap<LevelChunkTicks<T>> allContainers = new Long2ObjectOpenHashMap();
-    private final Long2LongMap nextTickForContainer = (Long2LongMap) Util.make(new Long2LongOpenHashMap(), (long2longopenhashmap) -> {
-        long2longopenhashmap.defaultReturnValue(Long.MAX_VALUE);
-    });
-    private final Queue<LevelChunkTicks<T>> containersToTick;
+    private final List<ScheduledTick<T>>[] wheel;
+    private final Queue<ScheduledTick<T>> farTicks;
+    private final List<ScheduledTick<T>> dueTicks;
+    private final Long2ObjectMap<List<ScheduledTick<T>>> waitingTicks;
+    private long lastCollectedTick = -1L;
     private final Queue<ScheduledTick<T>> toRunThisTick;
     private final List<ScheduledTick<T>> alreadyRunThisTick;
     private final Set<ScheduledTick<?>> toRunThisTickSet;
     private final BiConsumer<LevelChunkTicks<T>, ScheduledTick<T>> chunkScheduleUpdater;
 
     public LevelTicks(LongPredicate tickCheck) {
-        this.containersToTick = new PriorityQueue(LevelTicks.CONTAINER_DRAIN_ORDER);
+        this.wheel = new List[256];
+
+        for (int i = 0; i < this.wheel.length; ++i) {
+            this.wheel[i] = new ArrayList();
+        }
+
+        this.farTicks = new PriorityQueue(ScheduledTick.DRAIN_ORDER);
+        this.dueTicks = new ArrayList();
+        this.waitingTicks = new Long2ObjectOpenHashMap();
         this.toRunThisTick = new ArrayDeque();
         this.alreadyRunThisTick = new ArrayList();
         this.toRunThisTickSet = new ObjectOpenCustomHashSet(ScheduledTick.UNIQUE_TICK_HASH);
         this.chunkScheduleUpdater = (levelchunkticks, scheduledtick) -> {
-            if (scheduledtick.equals(levelchunkticks.peek())) {
-                this.updateContainerScheduling(scheduledtick);
-            }
-
+            this.addToWheel(scheduledtick);
         };
         this.tickCheck = tickCheck;
     }
 
     public void addContainer(ChunkPos pos, LevelChunkTicks<T> container) {
-        long i = pos.toLong();
-
-        this.allContainers.put(i, container);
-        ScheduledTick<T> scheduledtick = container.peek();
-
-        if (scheduledtick != null) {
-            this.nextTickForContainer.put(i, scheduledtick.triggerTick());
-        }
-
+        this.allContainers.put(pos.toLong(), container);
+        container.getAll().forEach(this::addToWheel);
         container.setOnTickAdded(this.chunkScheduleUpdater);
     }
 
@@ -77,7 +71,7 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
         long i = pos.toLong();
         LevelChunkTicks<T> levelchunkticks = (LevelChunkTicks) this.allContainers.remove(i);
 
-        this.nextTickForContainer.remove(i);
+        this.waitingTicks.remove(i);
         if (levelchunkticks != null) {
             levelchunkticks.setOnTickAdded((BiConsumer) null);
         }
@@ -96,6 +90,58 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
         }
     }
 
+    private void addToWheel(ScheduledTick<T> tick) {
+        long i = tick.triggerTick();
+
+        if (i <= this.lastCollectedTick) {
+            addSorted(this.dueTicks, tick);
+        } else if (i - this.lastCollectedTick <= 256L) {
+            addSorted(this.wheel[(int) (i & 255L)], tick);
+        } else {
+            this.farTicks.add(tick);
+        }
+
+    }
+
+    private static <T> void addSorted(List<ScheduledTick<T>> ticks, ScheduledTick<T> tick) {
+        int i = ticks.size();
+
+        if (i > 0 && ScheduledTick.DRAIN_ORDER.compare((ScheduledTick) ticks.get(i - 1), tick) > 0) {
+            int j = Collections.binarySearch(ticks, tick, ScheduledTick.DRAIN_ORDER);
+
+            ticks.add(j < 0 ? -j - 1 : j, tick);
+        } else {
+            ticks.add(tick);
+        }
+
+    }
+
+    private void mergeIntoDueTicks(List<ScheduledTick<T>> ticks) {
+        int i = this.dueTicks.size();
+
+        if (i == 0 || ScheduledTick.DRAIN_ORDER.compare((ScheduledTick) this.dueTicks.get(i - 1), (ScheduledTick) ticks.get(0)) <= 0) {
+            this.dueTicks.addAll(ticks);
+        } else {
+            List<ScheduledTick<T>> list1 = new ArrayList(this.dueTicks);
+            int j = 0;
+            int k = 0;
+
+            this.dueTicks.clear();
+
+            while (j < list1.size() && k < ticks.size()) {
+                if (ScheduledTick.DRAIN_ORDER.compare((ScheduledTick) list1.get(j), (ScheduledTick) ticks.get(k)) <= 0) {
+                    this.dueTicks.add((ScheduledTick) list1.get(j++));
+                } else {
+                    this.dueTicks.add((ScheduledTick) ticks.get(k++));
+                }
+            }
+
+            this.dueTicks.addAll(list1.subList(j, list1.size()));
+            this.dueTicks.addAll(ticks.subList(k, ticks.size()));
+        }
+
+    }
+
     public void tick(long currentTick, int maxTicksToProcess, BiConsumer<BlockPos, T> output) {
         ProfilerFiller profilerfiller = Profiler.get();
 
@@ -110,99 +156,90 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
     }
 
     private void collectTicks(long currentTick, int maxTicksToProcess, ProfilerFiller profiler) {
-        this.sortContainersToTick(currentTick);
-        profiler.incrementCounter("containersToTick", this.containersToTick.size());
-        this.drainContainers(currentTick, maxTicksToProcess);
-        this.rescheduleLeftoverContainers();
+        this.advanceWheel(currentTick);
+        profiler.incrementCounter("dueTicks", this.dueTicks.size());
+        this.filterDueTicks();
+        this.drainDueTicks(maxTicksToProcess);
     }
 
-    private void sortContainersToTick(long currentTick) {
-        ObjectIterator<Entry> objectiterator = Long2LongMaps.fastIterator(this.nextTickForContainer);
-
-        while (objectiterator.hasNext()) {
-            Entry entry = (Entry) objectiterator.next();
-            long j = entry.getLongKey();
-            long k = entry.getLongValue();
+    private void advanceWheel(long currentTick) {
+        if (currentTick > this.lastCollectedTick) {
+            long j = Math.max(this.lastCollectedTick + 1L, currentTick - 256L + 1L);
 
-            if (k <= currentTick) {
-                LevelChunkTicks<T> levelchunkticks = (LevelChunkTicks) this.allContainers.get(j);
+            for (long k = j; k <= currentTick; ++k) {
+                List<ScheduledTick<T>> list = this.wheel[(int) (k & 255L)];
 
-                if (levelchunkticks == null) {
-                    objectiterator.remove();
-                } else {
-                    ScheduledTick<T> scheduledtick = levelchunkticks.peek();
-
-                    if (scheduledtick == null) {
-                        objectiterator.remove();
-                    } else if (scheduledtick.triggerTick() > currentTick) {
-                        entry.setValue(scheduledtick.triggerTick());
-                    } else if (this.tickCheck.test(j)) {
-                        objectiterator.remove();
-                        this.containersToTick.add(levelchunkticks);
-                    }
+                if (!list.isEmpty()) {
+                    this.mergeIntoDueTicks(list);
+                    list.clear();
                 }
             }
-        }
 
-    }
+            this.lastCollectedTick = currentTick;
 
-    private void drainContainers(long currentTick, int maxTicksToProcess) {
-        LevelChunkTicks<T> levelchunkticks;
+            ScheduledTick<T> scheduledtick;
 
-        while (this.canScheduleMoreTicks(maxTicksToProcess) && (levelchunkticks = (LevelChunkTicks) this.containersToTick.poll()) != null) {
-            ScheduledTick<T> scheduledtick = levelchunkticks.poll();
+            while ((scheduledtick = (ScheduledTick) this.farTicks.peek()) != null && scheduledtick.triggerTick() - currentTick <= 256L) {
+                this.farTicks.poll();
+                if (this.isScheduled(scheduledtick)) {
+                    this.addToWheel(scheduledtick);
+                }
+            }
+        }
 
-            this.scheduleForThisTick(scheduledtick);
-            this.drainFromCurrentContainer(this.containersToTick, levelchunkticks, currentTick, maxTicksToProcess);
-            ScheduledTick<T> scheduledtick1 = levelchunkticks.peek();
+        if (!this.waitingTicks.isEmpty()) {
+            ObjectIterator<Long2ObjectMap.Entry<List<ScheduledTick<T>>>> objectiterator = Long2ObjectMaps.fastIterator(this.waitingTicks);
 
-            if (scheduledtick1 != null) {
-                if (scheduledtick1.triggerTick() <= currentTick && this.canScheduleMoreTicks(maxTicksToProcess)) {
-                    this.containersToTick.add(levelchunkticks);
-                } else {
-                    this.updateContainerScheduling(scheduledtick1);
+            while (objectiterator.hasNext()) {
+                Long2ObjectMap.Entry<List<ScheduledTick<T>>> long2objectmap_entry = (Long2ObjectMap.Entry) objectiterator.next();
+
+                if (this.tickCheck.test(long2objectmap_entry.getLongKey())) {
+                    this.mergeIntoDueTicks((List) long2objectmap_entry.getValue());
+                    objectiterator.remove();
                 }
             }
         }
 
     }
 
-    private void rescheduleLeftoverContainers() {
-        for (LevelChunkTicks<T> levelchunkticks : this.containersToTick) {
-            this.updateContainerScheduling(levelchunkticks.peek());
-        }
+    private boolean isScheduled(ScheduledTick<T> tick) {
+        LevelChunkTicks<T> levelchunkticks = (LevelChunkTicks) this.allContainers.get(ChunkPos.asLong(tick.pos()));
 
+        return levelchunkticks != null && levelchunkticks.isScheduled(tick);
     }
 
-    private void updateContainerScheduling(ScheduledTick<T> nextTick) {
-        this.nextTickForContainer.put(ChunkPos.asLong(nextTick.pos()), nextTick.triggerTick());
-    }
+    private void filterDueTicks() {
+        this.dueTicks.removeIf((scheduledtick) -> {
+            long i = ChunkPos.asLong(scheduledtick.pos());
+            LevelChunkTicks<T> levelchunkticks = (LevelChunkTicks) this.allContainers.get(i);
 
-    private void drainFromCurrentContainer(Queue<LevelChunkTicks<T>> containersToTick, LevelChunkTicks<T> currentContainer, long currentTick, int maxTicksToProcess) {
-        if (this.canScheduleMoreTicks(maxTicksToProcess)) {
-            LevelChunkTicks<T> levelchunkticks1 = (LevelChunkTicks) containersToTick.peek();
-            ScheduledTick<T> scheduledtick = levelchunkticks1 != null ? levelchunkticks1.peek() : null;
+            if (levelchunkticks != null && levelchunkticks.isScheduled(scheduledtick)) {
+                if (this.tickCheck.test(i)) {
+                    return false;
+                } else {
+                    ((List) this.waitingTicks.computeIfAbsent(i, (j) -> {
+                        return new ArrayList();
+                    })).add(scheduledtick);
+                    return true;
+                }
+            } else {
+                return true;
+            }
+        });
+    }
 
-            while (this.canScheduleMoreTicks(maxTicksToProcess)) {
-                ScheduledTick<T> scheduledtick1 = currentContainer.peek();
+    private void drainDueTicks(int maxTicksToProcess) {
+        int j = Math.min(this.dueTicks.size(), maxTicksToProcess);
 
-                if (scheduledtick1 == null || scheduledtick1.triggerTick() > currentTick || scheduledtick != null && ScheduledTick.INTRA_TICK_DRAIN_ORDER.compare(scheduledtick1, scheduledtick) > 0) {
-                    break;
-                }
+        for (int k = 0; k < j; ++k) {
+            ScheduledTick<T> scheduledtick = (ScheduledTick) this.dueTicks.get(k);
 
-                currentContainer.poll();
-                this.scheduleForThisTick(scheduledtick1);
+            if (((LevelChunkTicks) this.allContainers.get(ChunkPos.asLong(scheduledtick.pos()))).remove(scheduledtick)) {
+                this.toRunThisTick.add(scheduledtick);
             }
-
         }
-    }
 
-    private void scheduleForThisTick(ScheduledTick<T> tick) {
-        this.toRunThisTick.add(tick);
-    }
-
-    private boolean canScheduleMoreTicks(int maxTicksToProcess) {
-        return this.toRunThisTick.size() < maxTicksToProcess;
+        this.dueTicks.subList(0, j).clear();
     }
 
     private void runCollectedTicks(BiConsumer<BlockPos, T> output) {
@@ -221,7 +258,6 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
 
     private void cleanupAfterTick() {
         this.toRunThisTick.clear();
-        this.containersToTick.clear();
         this.alreadyRunThisTick.clear();
         this.toRunThisTickSet.clear();
     }
@@ -271,19 +307,7 @@ public class LevelTicks<T> implements LevelTickAccess<T> {
         };
 
         this.forContainersInArea(area, (i, levelchunkticks) -> {
-            ScheduledTick<T> scheduledtick = levelchunkticks.peek();
-
             levelchunkticks.removeIf(predicate);
-            ScheduledTick<T> scheduledtick1 = levelchunkticks.peek();
-
-            if (scheduledtick1 != scheduledtick) {
-                if (scheduledtick1 != null) {
-                    this.updateContainerScheduling(scheduledtick1);
-                } else {
-                    this.nextTickForContainer.remove(i);
-                }
-            }
-
         });
         this.alreadyRunThisTick.removeIf(predicate);
         this.toRunThisTick.removeIf(predicate);